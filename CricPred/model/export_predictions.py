@@ -0,0 +1,85 @@
+"""
+Writes the ODI model's predictions for the matches held out by the Java OdiModelAccuracyTest
+(match id % 5 == 0) to src/test/resources/cricpred/python_predictions.csv, the fixture the test reads, so the
+two models can be compared on the same states. Commit the regenerated file whenever either model changes.
+
+States are first-innings scores at the 10, 20, 30 and 40 over marks taken from cricket_match_analysis.csv,
+asked about the side that batted first (as team1). The Python model is trained on all matches, so it has
+seen these ones; the comparison favours it.
+"""
+import csv
+import os
+import sys
+
+import pandas as pd
+
+ROOT_DIR = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+sys.path.insert(0, ROOT_DIR)
+
+from model.cricket_prediction_system import CricketPredictionSystem
+
+DATA_DIR = os.path.join(ROOT_DIR, 'data')
+MODEL_FILE = os.path.join(ROOT_DIR, 'model', 'cricket_prediction_system.pkl')
+OUTPUT_FILE = os.path.join(os.path.dirname(ROOT_DIR), 'src', 'test', 'resources', 'cricpred',
+                           'python_predictions.csv')
+
+
+def batting_first(match):
+    """The side that batted first, from the toss"""
+    other = match['team2'] if match['toss_winner'] == match['team1'] else match['team1']
+    return match['toss_winner'] if match['toss_decision'] == 'bat' else other
+
+
+def load_predictor(analysis_df, match_details_df):
+    if os.path.exists(MODEL_FILE):
+        return CricketPredictionSystem.load_models(MODEL_FILE)
+    predictor = CricketPredictionSystem()
+    realtime_df, final_scores_df = predictor.prepare_enhanced_dataset(analysis_df, match_details_df)
+    predictor.train_models(realtime_df, final_scores_df)
+    return predictor
+
+
+def main():
+    analysis_df = pd.read_csv(os.path.join(DATA_DIR, 'cricket_match_analysis.csv'), low_memory=False)
+    match_details_df = pd.read_csv(os.path.join(DATA_DIR, 'ODI_Match_info.csv'), low_memory=False)
+    predictor = load_predictor(analysis_df, match_details_df)
+    matches = match_details_df.set_index('id')
+
+    rows = []
+    for _, row in analysis_df.iterrows():
+        match_id = int(row['Match ID'])
+        if match_id % 5 != 0 or match_id not in matches.index:
+            continue
+        match = matches.loc[match_id]
+        if match['result'] != 'normal' or pd.isna(match['winner']) or pd.isna(match['city']):
+            continue
+        first = batting_first(match)
+        second = match['team2'] if first == match['team1'] else match['team1']
+
+        runs, wickets = 0, 0
+        for over in (10, 20, 30, 40):
+            runs += int(row[f'{over - 10}-{over} Team 1 Runs'])
+            wickets += int(row[f'{over - 10}-{over} Team 1 Wickets'])
+            if wickets >= 10:
+                break
+            try:
+                prediction = predictor.predict(
+                    team1=first, team2=second, city=match['city'], batting_team=first,
+                    current_score=runs, current_wickets=wickets, current_over=over, target=None,
+                    toss_winner=match['toss_winner'], toss_decision=match['toss_decision'], batting_first=1)
+            except ValueError:
+                continue  # a label the encoders have not seen
+            rows.append([match_id, over, runs, wickets,
+                         prediction['win_probability'][first], prediction['predicted_final_score']])
+
+    os.makedirs(os.path.dirname(OUTPUT_FILE), exist_ok=True)
+    with open(OUTPUT_FILE, 'w', newline='') as f:
+        writer = csv.writer(f)
+        writer.writerow(['match_id', 'over', 'runs', 'wickets',
+                         'batting_first_win_probability', 'predicted_final_score'])
+        writer.writerows(rows)
+    print(f"Wrote {len(rows)} predictions to {OUTPUT_FILE}")
+
+
+if __name__ == '__main__':
+    main()
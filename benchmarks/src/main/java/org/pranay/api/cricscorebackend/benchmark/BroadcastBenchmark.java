@@ -0,0 +1,183 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.websocket.LiveScoreFeed;
+import org.pranay.api.cricscorebackend.websocket.WebSocketHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One score change fanned out to every connected client: the delta is encoded once and queued on each
+// session's sender, and the operation ends when the last session has been handed the frame. Sessions are
+// in-memory stand-ins that only count what they are sent, so this measures the handler, not the network.
+// Run with: java -jar benchmarks/target/benchmarks.jar BroadcastBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int sessions;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private long expected;
+    private WebSocketHandler handler;
+    private Match match;
+    private int runs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = new WebSocketHandler(new LiveScoreFeed(new ObjectMapper()), new SimpleMeterRegistry(),
+                4, 64, 512 * 1024, 5000, 3);
+        match = new Match();
+        match.setMatchId(101234);
+        match.setMatchLink("/live-cricket-scores/101234/ind-vs-aus-2nd-odi");
+        match.setTeamHeading("India vs Australia");
+        match.setMatchNumberVenue("2nd ODI • Indore, Holkar Cricket Stadium");
+        match.setMatchFormat("ODI");
+        match.setBattingTeam("IND");
+        match.setBowlingTeam("AUS");
+        match.setBowlingTeamScore("");
+        match.setLiveText("India need 46 runs");
+        match.setStatus(matchStatus.LIVE);
+        match.setBattingTeamScore("0-0 (0 Ovs)");
+        handler.publishMatch(match);
+
+        for (int i = 0; i < sessions; i++) {
+            handler.afterConnectionEstablished(new CountingSession("session-" + i, delivered));
+        }
+        expected = sessions; // one snapshot each on connect
+        awaitDelivery();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        handler.shutdown();
+    }
+
+    @Benchmark
+    public long broadcast() {
+        runs++;
+        match.setBattingTeamScore(runs + "-" + (runs / 60) % 10 + " (" + runs / 6 + "." + runs % 6 + " Ovs)");
+        handler.publishMatch(match);
+        expected += sessions;
+        awaitDelivery();
+        return expected;
+    }
+
+    private void awaitDelivery() {
+        while (delivered.get() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class CountingSession implements WebSocketSession {
+        private final String id;
+        private final AtomicLong delivered;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        CountingSession(String id, AtomicLong delivered) {
+            this.id = id;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            delivered.incrementAndGet();
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("ws://localhost/live-scores");
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+        }
+    }
+}
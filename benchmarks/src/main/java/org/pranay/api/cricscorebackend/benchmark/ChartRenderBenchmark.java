@@ -0,0 +1,75 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.config.CacheConfig;
+import org.pranay.api.cricscorebackend.dto.ChartDataDTO;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.services.ChartService;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore;
+
+import java.util.concurrent.TimeUnit;
+
+// Chart output for a match with a full first innings and a chase in progress: the JFreeChart PNG rendered on
+// every cache miss, the JSON series with and without the SVG worm (cached per score version), and the score
+// update (parse plus unchanged-history check) done for every match on each refresh.
+// Run with: java -jar benchmarks/target/benchmarks.jar ChartRenderBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChartRenderBenchmark {
+
+    private static final String MATCH_ID = "101234";
+
+    private ChartService chartService;
+    private Match match;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chartService = new ChartService(new CacheConfig().cacheManager(16 << 20, 30),
+                new ScoreHistoryStore(new SimpleMeterRegistry(), 120, 720, 500, 4 << 20));
+        match = new Match();
+        match.setMatchId(Integer.parseInt(MATCH_ID));
+        match.setBattingTeam("IND");
+        match.setBowlingTeam("AUS");
+        match.setBowlingTeamScore("");
+        // AUS 50 overs, then IND 40 overs into the chase, one update per over
+        for (int over = 1; over <= 50; over++) {
+            match.setBattingTeam("AUS");
+            match.setBowlingTeam("IND");
+            match.setBattingTeamScore((over * 6 - over % 4) + "-" + over / 6 + " (" + over + " Ovs)");
+            chartService.updateMatchScore(match);
+        }
+        match.setBattingTeam("IND");
+        match.setBowlingTeam("AUS");
+        match.setBowlingTeamScore("290-8 (50 Ovs)");
+        for (int over = 1; over <= 40; over++) {
+            match.setBattingTeamScore((over * 6 + over % 3) + "-" + over / 8 + " (" + over + " Ovs)");
+            chartService.updateMatchScore(match);
+        }
+    }
+
+    @Benchmark
+    public byte[] renderPng() {
+        return chartService.generateRunsProgressionChart(MATCH_ID);
+    }
+
+    @Benchmark
+    public ChartDataDTO chartData() {
+        return chartService.getChartData(MATCH_ID, false);
+    }
+
+    @Benchmark
+    public ChartDataDTO chartDataWithSvg() {
+        return chartService.getChartData(MATCH_ID, true);
+    }
+
+    @Benchmark
+    public long updateMatchScore() {
+        chartService.updateMatchScore(match);
+        return chartService.scoreVersion(MATCH_ID);
+    }
+}
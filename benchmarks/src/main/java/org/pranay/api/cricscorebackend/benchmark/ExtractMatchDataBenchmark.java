@@ -0,0 +1,50 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.helper.LiveMatchCard;
+import org.pranay.api.cricscorebackend.helper.LiveScoresExtractor;
+import org.pranay.api.cricscorebackend.services.PredictionService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PredictionService.extractMatchData (team validation, venue lookup, score parsing) for the live matches of
+// the saved live-scores page that yield prediction input, the work done per refresh before any prediction.
+// Matches rejected up front (domestic and women's sides the registry does not know) are left out.
+// Run with: java -jar benchmarks/target/benchmarks.jar ExtractMatchDataBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractMatchDataBenchmark {
+
+    private PredictionService predictionService;
+    private List<Match> liveMatches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // only the extraction is measured, so no predictor is needed
+        predictionService = new PredictionService(null, null, "native");
+        liveMatches = LiveScoresExtractor.extractCards(Fixtures.page("live-scores.html"), Fixtures.LIVE_SCORES_URL)
+                .stream()
+                .map(LiveMatchCard::toMatch)
+                .filter(match -> match.getStatus() == matchStatus.LIVE)
+                .filter(match -> predictionService.extractMatchData(match) != null)
+                .toList();
+        if (liveMatches.isEmpty()) {
+            throw new IllegalStateException("No live matches in the fixture");
+        }
+    }
+
+    @Benchmark
+    public void extractMatchData(Blackhole blackhole) {
+        for (Match match : liveMatches) {
+            blackhole.consume(predictionService.extractMatchData(match));
+        }
+    }
+}
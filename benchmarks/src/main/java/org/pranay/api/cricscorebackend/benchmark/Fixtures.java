@@ -0,0 +1,41 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Inputs shared by the benchmarks: saved cricbuzz pages on the classpath and the CricPred data directory,
+// found whether the jar is run from the repository root or from benchmarks/
+final class Fixtures {
+    static final String LIVE_SCORES_URL = "https://www.cricbuzz.com/cricket-match/live-scores";
+
+    private Fixtures() {
+    }
+
+    static String page(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/cricbuzz/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture cricbuzz/" + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Path dataDir() {
+        String configured = System.getProperty("cricpred.data-dir");
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        for (Path candidate : new Path[]{Path.of("CricPred/data"), Path.of("../CricPred/data")}) {
+            if (Files.isDirectory(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("CricPred/data not found; pass -Dcricpred.data-dir=...");
+    }
+}
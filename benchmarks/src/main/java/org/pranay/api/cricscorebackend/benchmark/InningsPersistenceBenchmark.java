@@ -0,0 +1,140 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.entities.BatsmanPerformance;
+import org.pranay.api.cricscorebackend.entities.BowlerPerformance;
+import org.pranay.api.cricscorebackend.entities.Innings;
+import org.pranay.api.cricscorebackend.helper.ScorecardParser;
+import org.pranay.api.cricscorebackend.repositeries.InningsRowRepo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Write volume of storing one live innings per poll, where each poll is one more ball: the striker's line and
+// the bowler's figures change, the rest of the card (8 batters and 5 bowlers from the saved scorecard) doesn't.
+// elementCollection does what Hibernate does for a dirty @ElementCollection bag: delete the owner's rows and
+// insert every element again, batched as with hibernate.jdbc.batch_size. incrementalRows is InningsRowRepo,
+// which reads the stored rows back and upserts only the changed ones. Rows written (deleted + inserted or
+// upserted) and round trips per poll are printed after each iteration. Runs against H2 in MySQL mode;
+// roundTripMicros adds a simulated network round trip per statement as in MatchPersistenceBenchmark.
+// Run with: java -jar benchmarks/target/benchmarks.jar InningsPersistenceBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InningsPersistenceBenchmark {
+
+    private static final int INNINGS_ID = 1;
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private RoundTripCountingConnection counting;
+    private JdbcTemplate jdbcTemplate;
+    private InningsRowRepo rowRepo;
+    private Innings innings;
+    private long polls;
+    private long rowsWritten;
+    private int ball;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Connection raw = DriverManager.getConnection("jdbc:h2:mem:innings;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        counting = new RoundTripCountingConnection(raw, roundTripMicros);
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(counting.connection(), true));
+        // the old collection tables as Hibernate generates them: no key, owner id column only
+        jdbcTemplate.execute("CREATE TABLE innings_batting_details (innings_innings_id INT NOT NULL, " +
+                "batsman_name VARCHAR(255), runs_scored INT, balls_faced INT, fours INT, sixes INT, " +
+                "strike_rate INT, dismissal_info VARCHAR(255))");
+        jdbcTemplate.execute("CREATE INDEX idx_batting_details_innings ON innings_batting_details (innings_innings_id)");
+        jdbcTemplate.execute("CREATE TABLE innings_bowling_details (innings_innings_id INT NOT NULL, " +
+                "bowler_name VARCHAR(255), over_bowled VARCHAR(255), runs_scored INT, wickets_taken INT, " +
+                "economy_rate DOUBLE)");
+        jdbcTemplate.execute("CREATE INDEX idx_bowling_details_innings ON innings_bowling_details (innings_innings_id)");
+        jdbcTemplate.execute("CREATE TABLE innings_batting (innings_id INT NOT NULL, " +
+                "batsman_name VARCHAR(255) NOT NULL, position INT, runs_scored INT, balls_faced INT, fours INT, " +
+                "sixes INT, strike_rate INT, dismissal_info VARCHAR(255), PRIMARY KEY (innings_id, batsman_name))");
+        jdbcTemplate.execute("CREATE TABLE innings_bowling (innings_id INT NOT NULL, " +
+                "bowler_name VARCHAR(255) NOT NULL, position INT, over_bowled VARCHAR(255), runs_scored INT, " +
+                "wickets_taken INT, economy_rate DOUBLE, PRIMARY KEY (innings_id, bowler_name))");
+        rowRepo = new InningsRowRepo(jdbcTemplate);
+
+        innings = ScorecardParser.parse(Fixtures.page("scorecard.html")).get(0).toInnings();
+        // steady state: the card is stored once before the polls being measured
+        elementCollection();
+        rowRepo.syncRows(INNINGS_ID, innings.getBattingDetails(), innings.getBowlingDetails());
+        resetCounts();
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBall() {
+        ball++;
+        BatsmanPerformance striker = innings.getBattingDetails().get(6 + ball % 2);
+        striker.setRunsScored(striker.getRunsScored() + 1);
+        striker.setBallsFaced(striker.getBallsFaced() + 1);
+        striker.setStrikeRate(striker.getRunsScored() * 100 / striker.getBallsFaced());
+        BowlerPerformance bowler = innings.getBowlingDetails().get((ball / 6) % 2);
+        bowler.setRunsScored(bowler.getRunsScored() + 1);
+        bowler.setOverBowled((ball / 6) + "." + (ball % 6));
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportWriteVolume() {
+        if (polls > 0) {
+            System.out.printf("%n  rows written per poll: %.1f, round trips per poll: %.1f%n",
+                    (double) rowsWritten / polls, (double) counting.roundTrips() / polls);
+        }
+        resetCounts();
+    }
+
+    @Benchmark
+    public void elementCollection() {
+        polls++;
+        rowsWritten += jdbcTemplate.update("DELETE FROM innings_batting_details WHERE innings_innings_id = ?",
+                INNINGS_ID);
+        jdbcTemplate.batchUpdate("INSERT INTO innings_batting_details (innings_innings_id, batsman_name, " +
+                        "runs_scored, balls_faced, fours, sixes, strike_rate, dismissal_info) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", innings.getBattingDetails(), 50, (ps, row) -> {
+                    ps.setInt(1, INNINGS_ID);
+                    ps.setString(2, row.getBatsmanName());
+                    ps.setInt(3, row.getRunsScored());
+                    ps.setInt(4, row.getBallsFaced());
+                    ps.setInt(5, row.getFours());
+                    ps.setInt(6, row.getSixes());
+                    ps.setInt(7, row.getStrikeRate());
+                    ps.setString(8, row.getDismissalInfo());
+                });
+        rowsWritten += innings.getBattingDetails().size();
+        rowsWritten += jdbcTemplate.update("DELETE FROM innings_bowling_details WHERE innings_innings_id = ?",
+                INNINGS_ID);
+        jdbcTemplate.batchUpdate("INSERT INTO innings_bowling_details (innings_innings_id, bowler_name, " +
+                        "over_bowled, runs_scored, wickets_taken, economy_rate) VALUES (?, ?, ?, ?, ?, ?)",
+                innings.getBowlingDetails(), 50, (ps, row) -> {
+                    ps.setInt(1, INNINGS_ID);
+                    ps.setString(2, row.getBowlerName());
+                    ps.setString(3, row.getOverBowled());
+                    ps.setInt(4, row.getRunsScored());
+                    ps.setInt(5, row.getWicketsTaken());
+                    ps.setDouble(6, row.getEconomyRate());
+                });
+        rowsWritten += innings.getBowlingDetails().size();
+    }
+
+    @Benchmark
+    public void incrementalRows() {
+        polls++;
+        rowsWritten += rowRepo.syncRows(INNINGS_ID, innings.getBattingDetails(), innings.getBowlingDetails());
+    }
+
+    private void resetCounts() {
+        counting.reset();
+        polls = 0;
+        rowsWritten = 0;
+    }
+}
@@ -0,0 +1,64 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.helper.LiveMatchCard;
+import org.pranay.api.cricscorebackend.helper.LiveScoresExtractor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One pass of the live-scores scrape over a saved cricbuzz page (12 match cards): the card scan with
+// precompiled selectors against the full-document parse with selector strings it replaced, plus the Jsoup
+// parse of the whole page on its own for reference.
+// Run with: java -jar benchmarks/target/benchmarks.jar LiveScoresExtractionBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveScoresExtractionBenchmark {
+
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        html = Fixtures.page("live-scores.html");
+    }
+
+    @Benchmark
+    public List<LiveMatchCard> cardScan() {
+        return LiveScoresExtractor.extractCards(html, Fixtures.LIVE_SCORES_URL);
+    }
+
+    @Benchmark
+    public List<LiveMatchCard> fullDocument() {
+        List<LiveMatchCard> cards = new ArrayList<>();
+        Document document = Jsoup.parse(html, Fixtures.LIVE_SCORES_URL);
+        for (Element card : document.select("div.cb-mtch-lst.cb-tms-itm")) {
+            String heading = card.select("h3.cb-lv-scr-mtch-hdr").select("a").text();
+            String venue = card.select("span").text();
+            String link = card.select("a.cb-lv-scrs-well.cb-lv-scrs-well-live").attr("href");
+            if (link.isEmpty()) {
+                continue;
+            }
+            cards.add(new LiveMatchCard(heading, venue,
+                    card.select("div.cb-hmscg-bat-txt").select("div.cb-hmscg-tm-nm").text(),
+                    card.select("div.cb-hmscg-bat-txt").select("div.cb-hmscg-tm-nm+div").text(),
+                    card.select("div.cb-hmscg-bwl-txt").select("div.cb-hmscg-tm-nm").text(),
+                    card.select("div.cb-hmscg-bwl-txt").select("div.cb-hmscg-tm-nm+div").text(),
+                    card.select("div.cb-text-live").text(), card.select("div.cb-text-complete").text(),
+                    link, "UNKNOWN"));
+        }
+        return cards;
+    }
+
+    @Benchmark
+    public Document parseOnly() {
+        return Jsoup.parse(html, Fixtures.LIVE_SCORES_URL);
+    }
+}
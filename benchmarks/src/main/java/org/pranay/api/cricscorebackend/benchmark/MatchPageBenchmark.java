@@ -0,0 +1,102 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.dto.MatchCursor;
+import org.pranay.api.cricscorebackend.dto.MatchSummary;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.repositeries.MatchPageRepo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// One 50-match page of GET /api/prediction as cric_matches grows: the findAll the endpoint used to do
+// (every row loaded, filtered by status in Java), an OFFSET page halfway down the completed ODIs, and the
+// keyset page MatchPageRepo serves at the same depth. Runs against H2 in MySQL mode with the indexes declared
+// on Match.
+// Run with: java -jar benchmarks/target/benchmarks.jar MatchPageBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchPageBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final String[] FORMATS = {"ODI", "T20", "TEST"};
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private JdbcTemplate jdbcTemplate;
+    private MatchPageRepo pageRepo;
+    private int offset;
+    private MatchCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:pages;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE");
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cric_matches");
+        jdbcTemplate.execute("CREATE TABLE cric_matches (" +
+                "match_id INT AUTO_INCREMENT PRIMARY KEY, team_heading VARCHAR(255), " +
+                "match_number_venue VARCHAR(255), batting_team VARCHAR(255), batting_team_score VARCHAR(255), " +
+                "bowling_team VARCHAR(255), bowling_team_score VARCHAR(255), live_text VARCHAR(255), " +
+                "text_complete VARCHAR(255), match_link VARCHAR(255), status TINYINT, match_type VARCHAR(255), " +
+                "date TIMESTAMP, toss_winner VARCHAR(255), toss_decision VARCHAR(255), match_format VARCHAR(255), " +
+                "CONSTRAINT uk_cric_matches_match_link UNIQUE (match_link))");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_date_id ON cric_matches (date, match_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_status_date_id ON cric_matches (status, date, match_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_format_date_id ON cric_matches (match_format, date, match_id)");
+
+        // a few live matches among years of completed ones, one a minute apart
+        long start = 1_500_000_000_000L;
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"Team A" + i + " vs Team B" + i, i + "th match • Stadium " + (i % 50),
+                    "TA" + i, "245-6 (42.3 Ovs)", "TB" + i, "", i % 1000 == 0 ? "TA" + i + " opt to bat" : "",
+                    i % 1000 == 0 ? "" : "TA" + i + " won by 5 wkts", "/live-cricket-scores/" + i + "/a-vs-b",
+                    i % 1000 == 0 ? matchStatus.LIVE.ordinal() : matchStatus.COMPLETED.ordinal(),
+                    FORMATS[i % FORMATS.length], new Timestamp(start + i * 60_000L)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cric_matches (team_heading, match_number_venue, batting_team, " +
+                "batting_team_score, bowling_team, bowling_team_score, live_text, text_complete, match_link, status, " +
+                "match_format, date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+
+        pageRepo = new MatchPageRepo(jdbcTemplate);
+        // halfway down the completed ODIs
+        offset = rows / FORMATS.length / 2 / PAGE_SIZE * PAGE_SIZE;
+        List<MatchSummary> before = pageRepo.findPage(matchStatus.COMPLETED, "ODI", null, offset);
+        cursor = MatchCursor.after(before.get(before.size() - 1));
+    }
+
+    @Benchmark
+    public long findAllAndFilter() {
+        // the old endpoint: whole table, filtered by status in Java
+        return jdbcTemplate.queryForList("SELECT * FROM cric_matches").stream()
+                .filter(row -> ((Number) row.get("status")).intValue() == matchStatus.LIVE.ordinal())
+                .count();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> offsetPage() {
+        return jdbcTemplate.queryForList("SELECT match_id, team_heading, match_number_venue, batting_team, " +
+                "batting_team_score, bowling_team, bowling_team_score, live_text, match_link, status, match_format, " +
+                "date FROM cric_matches WHERE status = ? AND match_format = ? ORDER BY date DESC, match_id DESC " +
+                "LIMIT ? OFFSET ?", matchStatus.COMPLETED.ordinal(), "ODI", PAGE_SIZE, offset);
+    }
+
+    @Benchmark
+    public List<MatchSummary> keysetPage() {
+        return pageRepo.findPage(matchStatus.COMPLETED, "ODI", cursor, PAGE_SIZE);
+    }
+}
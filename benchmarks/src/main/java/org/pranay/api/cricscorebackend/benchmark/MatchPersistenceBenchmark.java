@@ -0,0 +1,137 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.repositeries.MatchUpsertRepo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Round trips and latency of one scrape cycle's DB writes: the old findByTeamHeading + save per match
+// (SELECT, then merge SELECT + UPDATE for an existing row) against one batched upsert plus an id lookup.
+// Runs against H2 in MySQL mode; roundTripMicros adds a simulated network round trip per statement
+// (0 = in-process only, 500 = a typical same-datacenter MySQL hop). H2 implements ON DUPLICATE KEY UPDATE
+// as insert-then-catch-and-update, so the in-process upsert cost is pessimistic compared to MySQL.
+// Run with: java -jar benchmarks/target/benchmarks.jar MatchPersistenceBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchPersistenceBenchmark {
+
+    @Param({"10", "30"})
+    public int matchesPerCycle;
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private RoundTripCountingConnection counting;
+    private JdbcTemplate jdbcTemplate;
+    private MatchUpsertRepo upsertRepo;
+    private List<Match> matches;
+    private long cycles;
+    private int ball;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Connection raw = DriverManager.getConnection(
+                "jdbc:h2:mem:persistence;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE");
+        counting = new RoundTripCountingConnection(raw, roundTripMicros);
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(counting.connection(), true));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cric_matches");
+        jdbcTemplate.execute("CREATE TABLE cric_matches (" +
+                "match_id INT AUTO_INCREMENT PRIMARY KEY, team_heading VARCHAR(255), " +
+                "match_number_venue VARCHAR(255), batting_team VARCHAR(255), batting_team_score VARCHAR(255), " +
+                "bowling_team VARCHAR(255), bowling_team_score VARCHAR(255), live_text VARCHAR(255), " +
+                "text_complete VARCHAR(255), match_link VARCHAR(255), status TINYINT, match_type VARCHAR(255), " +
+                "date TIMESTAMP, toss_winner VARCHAR(255), toss_decision VARCHAR(255), match_format VARCHAR(255), " +
+                "CONSTRAINT uk_cric_matches_match_link UNIQUE (match_link))");
+        jdbcTemplate.execute("CREATE INDEX idx_team_heading ON cric_matches (team_heading)");
+        upsertRepo = new MatchUpsertRepo(jdbcTemplate);
+
+        matches = new ArrayList<>();
+        for (int i = 0; i < matchesPerCycle; i++) {
+            Match match = new Match();
+            match.setTeamHeading("Team A" + i + " vs Team B" + i);
+            match.setMatchNumberVenue(i + "th T20I • Stadium " + i);
+            match.setBattingTeam("TA" + i);
+            match.setBowlingTeam("TB" + i);
+            match.setBowlingTeamScore("180-7 (20 Ovs)");
+            match.setLiveText("TA" + i + " need 40 runs");
+            match.setTextComplete("");
+            match.setMatchLink("/live-cricket-scores/" + (100000 + i) + "/team-a-vs-team-b");
+            match.setMatchFormat("T20");
+            match.setStatus(matchStatus.LIVE);
+            matches.add(match);
+        }
+        // steady state: every match already has a row, as after the first scrape of the day
+        upsertRepo.upsertAll(matches);
+        counting.reset();
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBall() {
+        ball++;
+        for (Match match : matches) {
+            match.setBattingTeamScore(ball + "-2 (" + (ball / 6) + "." + (ball % 6) + " Ovs)");
+            match.setMatchId(0);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRoundTrips() {
+        if (cycles > 0) {
+            System.out.printf("%n  round trips per cycle: %.1f (%d matches)%n",
+                    (double) counting.roundTrips() / cycles, matchesPerCycle);
+        }
+        counting.reset();
+        cycles = 0;
+    }
+
+    @Benchmark
+    public void perMatchFindAndSave() {
+        cycles++;
+        for (Match match : matches) {
+            List<Integer> existing = jdbcTemplate.queryForList(
+                    "SELECT match_id FROM cric_matches WHERE team_heading = ?", Integer.class, match.getTeamHeading());
+            if (existing.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO cric_matches (team_heading, batting_team_score, match_link, date) " +
+                        "VALUES (?, ?, ?, ?)", match.getTeamHeading(), match.getBattingTeamScore(),
+                        match.getMatchLink(), new Timestamp(System.currentTimeMillis()));
+            } else {
+                // Hibernate merge of a detached entity loads it by id before updating every column
+                int id = existing.get(0);
+                jdbcTemplate.queryForMap("SELECT * FROM cric_matches WHERE match_id = ?", id);
+                jdbcTemplate.update("UPDATE cric_matches SET team_heading = ?, match_number_venue = ?, " +
+                        "batting_team = ?, batting_team_score = ?, bowling_team = ?, bowling_team_score = ?, " +
+                        "live_text = ?, text_complete = ?, match_link = ?, status = ?, match_format = ?, date = ?, " +
+                        "toss_winner = ?, toss_decision = ?, match_type = ? WHERE match_id = ?",
+                        match.getTeamHeading(), match.getMatchNumberVenue(), match.getBattingTeam(),
+                        match.getBattingTeamScore(), match.getBowlingTeam(), match.getBowlingTeamScore(),
+                        match.getLiveText(), match.getTextComplete(), match.getMatchLink(),
+                        match.getStatus().ordinal(), match.getMatchFormat(),
+                        new Timestamp(match.getDate().getTime()), null, null, null, id);
+                match.setMatchId(id);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batchedUpsert(Blackhole blackhole) {
+        cycles++;
+        upsertRepo.upsertAll(matches);
+        // cold id cache: worst case, every match needs its id resolved
+        blackhole.consume(upsertRepo.findIdsByMatchLinks(matches.stream().map(Match::getMatchLink).toList()));
+    }
+}
@@ -0,0 +1,92 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.client.FlaskPredictionClient;
+import org.pranay.api.cricscorebackend.dto.Prediction;
+import org.pranay.api.cricscorebackend.prediction.FlaskPredictor;
+import org.pranay.api.cricscorebackend.prediction.NativePredictor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one prediction: the in-process ODI model against the Flask hop. The Flask side talks to a stub on
+// loopback that answers instantly with a canned response, so it measures only the HTTP round trip and JSON
+// handling, a lower bound for the real service (which also runs a 300-tree random forest per call).
+// Run with: java -jar benchmarks/target/benchmarks.jar PredictorBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredictorBenchmark {
+
+    private static final String FLASK_RESPONSE = "{\"status\":\"success\",\"match_format\":\"ODI\"," +
+            "\"likely_winner\":\"India\",\"win_probability\":{\"India\":0.64,\"Australia\":0.36}," +
+            "\"predicted_final_score\":291.4,\"batting_team\":\"India\",\"bowling_team\":\"Australia\"}";
+
+    private NativePredictor nativePredictor;
+    private FlaskPredictor flaskPredictor;
+    private HttpServer stub;
+    private Map<String, Object> matchData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        nativePredictor = new NativePredictor(Fixtures.dataDir().toString());
+        nativePredictor.load();
+
+        // without TCP_NODELAY the stub's small writes hit delayed ACKs and every call costs ~40ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/predict", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = FLASK_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        FlaskPredictionClient client = new FlaskPredictionClient(new RestTemplate(), new SimpleMeterRegistry(),
+                "http://127.0.0.1:" + stub.getAddress().getPort(), 3, 30, "flask", false);
+        flaskPredictor = new FlaskPredictor(client, new ObjectMapper());
+
+        matchData = new HashMap<>();
+        matchData.put("team1", "India");
+        matchData.put("team2", "Australia");
+        matchData.put("city", "Mumbai");
+        matchData.put("batting_team", "India");
+        matchData.put("toss_winner", "india");
+        matchData.put("toss_decision", "bat");
+        matchData.put("current_score", 187);
+        matchData.put("current_wickets", 3);
+        matchData.put("current_over", 32.4);
+        matchData.put("match_format", "ODI");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public Optional<Prediction> nativeModel() {
+        return nativePredictor.predict(matchData);
+    }
+
+    @Benchmark
+    public Optional<Prediction> flaskRoundTrip() {
+        return flaskPredictor.predict(matchData);
+    }
+}
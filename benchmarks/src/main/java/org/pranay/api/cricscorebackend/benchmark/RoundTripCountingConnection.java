@@ -0,0 +1,72 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Wraps a JDBC connection and counts statement executions, i.e. client/server round trips.
+// A JDBC batch counts once, as it does with MySQL's rewriteBatchedStatements=true.
+// An optional simulated network latency is added to every round trip, since in-process H2 has none.
+final class RoundTripCountingConnection {
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final Connection connection;
+    private final long roundTripNanos;
+
+    RoundTripCountingConnection(Connection target, long roundTripMicros) {
+        this.roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        this.connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (result instanceof PreparedStatement statement) {
+                        return wrap(statement, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement statement) {
+                        return wrap(statement, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    long roundTrips() {
+        return roundTrips.get();
+    }
+
+    void reset() {
+        roundTrips.set(0);
+    }
+
+    private <T extends Statement> T wrap(T statement, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                roundTrips.incrementAndGet();
+                if (roundTripNanos > 0) {
+                    LockSupport.parkNanos(roundTripNanos);
+                }
+            }
+            return invoke(statement, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
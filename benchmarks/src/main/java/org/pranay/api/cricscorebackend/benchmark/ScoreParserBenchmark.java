@@ -0,0 +1,73 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pranay.api.cricscorebackend.helper.ParsedScore;
+import org.pranay.api.cricscorebackend.helper.ScoreParser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// ScoreParser against the regex paths it replaced: the chart history parse (a Pattern compiled per innings)
+// and the prediction parse (a shared Pattern plus Double.parseDouble).
+// Run with: java -jar benchmarks/target/benchmarks.jar ScoreParserBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreParserBenchmark {
+
+    private static final Pattern PREDICTION_PATTERN = Pattern.compile("(\\d+)-(\\d+)\\s*\\((\\d+(?:\\.\\d+)?)\\s*Ovs\\)");
+
+    @Param({"245-6 (42.3 Ovs)", "310 & 150-3 d", "180 & 220-7 (60 Ovs) f/o"})
+    public String score;
+
+    private final ParsedScore parsed = new ParsedScore();
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) {
+        ScoreParser.parse(score, parsed);
+        for (int i = 0; i < parsed.inningsCount(); i++) {
+            blackhole.consume(parsed.runs(i));
+            blackhole.consume(parsed.wickets(i));
+            blackhole.consume(parsed.declared(i));
+        }
+        blackhole.consume(parsed.followOn());
+    }
+
+    @Benchmark
+    public void chartRegex(Blackhole blackhole) {
+        String[] innings = score.split("&");
+        blackhole.consume(score.contains("f/o"));
+        for (String part : innings) {
+            Matcher matcher = Pattern.compile("(\\d+)(?:[-/](\\d+))?(\\s*d)?").matcher(part.trim());
+            if (matcher.find()) {
+                blackhole.consume(Integer.parseInt(matcher.group(1)));
+                blackhole.consume(matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 10);
+                blackhole.consume(matcher.group(3) != null);
+            }
+        }
+    }
+
+    @Benchmark
+    public void predictionRegex(Blackhole blackhole) {
+        Matcher matcher = PREDICTION_PATTERN.matcher(score);
+        if (matcher.find()) {
+            blackhole.consume(Integer.parseInt(matcher.group(1)));
+            blackhole.consume(Integer.parseInt(matcher.group(2)));
+            blackhole.consume(Double.parseDouble(matcher.group(3)));
+        }
+    }
+
+    @Benchmark
+    public double predictionHandWritten() {
+        if (!ScoreParser.parse(score, parsed) || parsed.balls(parsed.lastInnings()) < 0) {
+            return 0;
+        }
+        int innings = parsed.lastInnings();
+        return parsed.runs(innings) + parsed.wickets(innings) + parsed.overs(innings);
+    }
+}
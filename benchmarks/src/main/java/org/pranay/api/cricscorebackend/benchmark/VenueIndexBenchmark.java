@@ -0,0 +1,60 @@
+package org.pranay.api.cricscorebackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pranay.api.cricscorebackend.config.VenueMappingConfig;
+import org.pranay.api.cricscorebackend.helper.StadiumCityMapper;
+import org.pranay.api.cricscorebackend.helper.VenueIndex;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Venue lookup with the full set of known venues (hardcoded plus the CricPred match data, ~400 names):
+// the Aho-Corasick index against the two replaceAll calls and linear contains() scan it replaced.
+// Run with: java -jar benchmarks/target/benchmarks.jar VenueIndexBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VenueIndexBenchmark {
+
+    @Param({"3rd ODI • at Holkar Cricket Stadium, Indore", "1st Test • at Shere Bangla National Stadium, Mirpur",
+            "2nd T20I • at Some New Ground, Nowhere"})
+    public String venue;
+
+    private Map<String, String> venues;
+    private VenueIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StadiumCityMapper.addVenues(VenueMappingConfig.venuesFromMatchInfo(Fixtures.dataDir()));
+        venues = StadiumCityMapper.getAllMappings();
+        index = VenueIndex.build(venues);
+    }
+
+    @Benchmark
+    public String index() {
+        return StadiumCityMapper.getCityFromVenue(venue);
+    }
+
+    @Benchmark
+    public String linearScan() {
+        String[] parts = venue.split("•");
+        String stadium = parts.length > 1 ? parts[1].trim() : venue.trim();
+        stadium = stadium.replaceAll("(?i)^\\s*at\\s+", "").trim();
+        for (Map.Entry<String, String> entry : venues.entrySet()) {
+            if (stadium.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        String[] venueParts = stadium.split(",");
+        return venueParts[venueParts.length - 1].replaceAll("\\s*\\(.*\\)", "").trim();
+    }
+
+    @Benchmark
+    public VenueIndex build() {
+        return VenueIndex.build(venues);
+    }
+}
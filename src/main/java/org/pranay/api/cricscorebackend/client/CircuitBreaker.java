@@ -0,0 +1,89 @@
+package org.pranay.api.cricscorebackend.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// Minimal closed/open/half-open breaker.
+// CLOSED lets calls through and counts consecutive failures; at the threshold it OPENs and rejects calls until
+// the open duration has passed, then lets a single probe through (HALF_OPEN). The probe's outcome closes or reopens it.
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    // Whether a call may go out now; a caller that gets true must report onSuccess or onFailure
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    // Trip immediately, e.g. when a health check fails
+    public synchronized void forceOpen() {
+        if (state != State.OPEN) {
+            open();
+        }
+    }
+
+    // Let the next call probe the service without waiting for the open duration, e.g. after a good health check
+    public synchronized void allowProbe() {
+        if (state == State.OPEN) {
+            state = State.HALF_OPEN;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,133 @@
+package org.pranay.api.cricscorebackend.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+// HTTP client for the Flask prediction service.
+// Calls go through a circuit breaker so an outage costs one failed connect per open period instead of one per
+// prediction, and service health is polled in the background rather than checked before every call.
+// Disabled when Flask is neither the engine nor the native engine's fallback: no health polls and no calls.
+@Component
+public class FlaskPredictionClient {
+    private static final Logger logger = LoggerFactory.getLogger(FlaskPredictionClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejectedCalls;
+    private final boolean enabled;
+
+    private volatile boolean healthy;
+
+    @Autowired
+    public FlaskPredictionClient(RestTemplate restTemplate, MeterRegistry registry,
+                                 @Value("${prediction.flask.base-url:http://localhost:5000}") String baseUrl,
+                                 @Value("${prediction.flask.failure-threshold:3}") int failureThreshold,
+                                 @Value("${prediction.flask.open-seconds:30}") long openSeconds,
+                                 @Value("${prediction.engine:native}") String engine,
+                                 @Value("${prediction.flask.fallback:true}") boolean fallback) {
+        this(restTemplate, registry, baseUrl, new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds)),
+                "flask".equalsIgnoreCase(engine) || fallback);
+    }
+
+    FlaskPredictionClient(RestTemplate restTemplate, MeterRegistry registry, String baseUrl,
+                          CircuitBreaker circuitBreaker, boolean enabled) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.healthy = enabled;
+        this.rejectedCalls = Counter.builder("prediction.flask.rejected").register(registry);
+        Gauge.builder("prediction.flask.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+        Gauge.builder("prediction.flask.healthy", this, client -> client.healthy ? 1 : 0).register(registry);
+    }
+
+    public ResponseEntity<String> predict(Map<String, Object> matchData) {
+        if (!enabled) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Prediction service is not enabled");
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCalls.increment();
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Prediction service is currently unavailable");
+        }
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(matchData, headers);
+
+            ResponseEntity<String> response = restTemplate.exchange(
+                    baseUrl + "/predict",
+                    HttpMethod.POST,
+                    requestEntity,
+                    String.class
+            );
+            circuitBreaker.onSuccess();
+            return response;
+
+        } catch (HttpClientErrorException e) {
+            // a 4xx means the service is up but rejected our request
+            circuitBreaker.onSuccess();
+            logger.error("HTTP error during prediction request: {}", e.getMessage());
+            return ResponseEntity
+                    .status(e.getStatusCode())
+                    .body("Error from prediction service: " + e.getResponseBodyAsString());
+        } catch (Exception e) {
+            circuitBreaker.onFailure();
+            logger.error("Error getting prediction: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Error getting prediction: " + e.getMessage());
+        }
+    }
+
+    // Last health check result; never makes a request
+    public boolean isAvailable() {
+        return healthy && circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @Scheduled(fixedDelayString = "${prediction.flask.health-interval-ms:15000}")
+    public void refreshHealth() {
+        if (!enabled) {
+            return;
+        }
+        boolean up;
+        try {
+            up = restTemplate.getForEntity(baseUrl + "/health", String.class).getStatusCode() == HttpStatus.OK;
+        } catch (Exception e) {
+            logger.debug("Flask health check failed: {}", e.getMessage());
+            up = false;
+        }
+        if (up != healthy) {
+            logger.info("Flask prediction service is now {}", up ? "available" : "unavailable");
+        }
+        healthy = up;
+        if (up) {
+            circuitBreaker.allowProbe();
+        } else {
+            circuitBreaker.forceOpen();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.pranay.api.cricscorebackend.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+// Fetches HTML pages for the scraper over the shared pooled RestTemplate. Pages are requested gzip-compressed
+// (decoded here, so page.fetch.bytes counts what actually crossed the wire), and polled pages can be fetched
+// conditionally so an unchanged page is never parsed again.
+@Component
+public class PageFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(PageFetcher.class);
+
+    // same browser user agent Jsoup.connect sends by default
+    static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 " +
+            "(KHTML, like Gecko) Chrome/116.0.0.0 Safari/537.36";
+
+    // What the last fetch of a URL returned: the server's validators and a digest of the decoded body
+    private record PageVersion(String etag, String lastModified, byte[] digest) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final Map<String, PageVersion> versions = new ConcurrentHashMap<>();
+    private final Counter bytesFetched;
+    private final Counter notModified;
+    private final Counter sameBody;
+
+    public PageFetcher(RestTemplate restTemplate, MeterRegistry registry) {
+        this.restTemplate = restTemplate;
+        this.bytesFetched = Counter.builder("page.fetch.bytes").baseUnit("bytes").register(registry);
+        this.notModified = Counter.builder("page.fetch.parses.avoided").tag("reason", "not-modified")
+                .register(registry);
+        this.sameBody = Counter.builder("page.fetch.parses.avoided").tag("reason", "same-body")
+                .register(registry);
+    }
+
+    public String fetch(String url) {
+        ResponseEntity<byte[]> response = exchange(url, new HttpHeaders());
+        return new String(decode(response), charsetOf(response.getHeaders()));
+    }
+
+    // The page if it changed since the last call for this URL, empty if the server answered 304 or sent the
+    // same body again
+    public Optional<String> fetchIfChanged(String url) {
+        PageVersion previous = versions.get(url);
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null) {
+            if (previous.etag() != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        }
+        ResponseEntity<byte[]> response = exchange(url, headers);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            notModified.increment();
+            logger.debug("{} not modified", url);
+            return Optional.empty();
+        }
+
+        byte[] body = decode(response);
+        byte[] digest = sha256(body);
+        HttpHeaders responseHeaders = response.getHeaders();
+        versions.put(url, new PageVersion(responseHeaders.getETag(),
+                responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED), digest));
+        if (previous != null && Arrays.equals(previous.digest(), digest)) {
+            sameBody.increment();
+            logger.debug("{} unchanged ({} bytes)", url, body.length);
+            return Optional.empty();
+        }
+        return Optional.of(new String(body, charsetOf(responseHeaders)));
+    }
+
+    // Drop what is known about the URL so the next fetchIfChanged returns the page, for when it was not processed
+    public void forget(String url) {
+        versions.remove(url);
+    }
+
+    private ResponseEntity<byte[]> exchange(String url, HttpHeaders headers) {
+        headers.set(HttpHeaders.USER_AGENT, USER_AGENT);
+        headers.setAccept(List.of(MediaType.TEXT_HTML, MediaType.ALL));
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                byte[].class);
+        if (response.getBody() != null) {
+            bytesFetched.increment(response.getBody().length);
+        }
+        return response;
+    }
+
+    private static byte[] decode(ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        if (body == null) {
+            return new byte[0];
+        }
+        if (!"gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            return body;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt gzip response", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The String converter would fall back to ISO-8859-1; cricbuzz pages are UTF-8
+    private static Charset charsetOf(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+    }
+}
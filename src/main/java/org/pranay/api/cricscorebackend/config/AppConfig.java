@@ -1,14 +1,79 @@
 package org.pranay.api.cricscorebackend.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+// Shared outbound HTTP: one pool of keep-alive connections for the Flask service and the cricbuzz scraper.
+// Built through RestTemplateBuilder so every call is timed as http.client.requests, tagged by target host.
 @Configuration
 public class AppConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${http.client.max-connections:20}") int maxConnections,
+            @Value("${http.client.max-connections-per-route:10}") int maxConnectionsPerRoute,
+            @Value("${http.client.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMillis,
+            @Value("${http.client.time-to-live-seconds:300}") long timeToLiveSeconds,
+            MeterRegistry registry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        // re-check pooled connections the server may have closed while idle
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        Gauge.builder("http.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .register(registry);
+        Gauge.builder("http.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .register(registry);
+        Gauge.builder("http.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .register(registry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          @Value("${http.client.connection-request-timeout-ms:1000}") long leaseTimeoutMillis,
+                                          @Value("${http.client.read-timeout-ms:10000}") long readTimeoutMillis,
+                                          @Value("${http.client.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // waiting for a pooled connection fails fast instead of queueing behind a slow target
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(leaseTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                // PageFetcher asks for gzip and decodes it itself, so it can count the compressed bytes
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
     }
 
 }
@@ -1,16 +1,31 @@
 package org.pranay.api.cricscorebackend.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @EnableCaching
 @Configuration
 public class CacheConfig {
+    public static final String PROGRESSIVE_CHARTS = "progressiveCharts";
+
+    // Rendered charts are weighed by their size in bytes, so the cap is on memory rather than entry count
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("runRateCharts", "progressiveCharts");
+    public CacheManager cacheManager(@Value("${chart.cache.max-bytes:16777216}") long maxBytes,
+                                     @Value("${chart.cache.ttl-minutes:30}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PROGRESSIVE_CHARTS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((key, value) -> value instanceof byte[] bytes ? bytes.length : 1)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
     }
 }
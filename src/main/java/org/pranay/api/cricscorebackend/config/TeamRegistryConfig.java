@@ -0,0 +1,50 @@
+package org.pranay.api.cricscorebackend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.pranay.api.cricscorebackend.prediction.OdiMatchRecord;
+import org.pranay.api.cricscorebackend.services.TeamNameStandardizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Adds every team in the CricPred match data to the team registry, after the hardcoded codes and names
+@Configuration
+public class TeamRegistryConfig {
+    private static final Logger logger = LoggerFactory.getLogger(TeamRegistryConfig.class);
+
+    private final Path dataDir;
+
+    public TeamRegistryConfig(@Value("${prediction.native.data-dir:CricPred/data}") String dataDir) {
+        this.dataDir = Path.of(dataDir);
+    }
+
+    @PostConstruct
+    public void loadTeams() {
+        try {
+            Set<String> teams = teamsFromMatchInfo(dataDir);
+            TeamNameStandardizer.addTeams(teams);
+            logger.info("Team registry has {} teams after reading {}", TeamNameStandardizer.registry().size(),
+                    dataDir.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read teams from {}: {}", dataDir.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    public static Set<String> teamsFromMatchInfo(Path dataDir) throws IOException {
+        Set<String> teams = new TreeSet<>();
+        for (String[] row : OdiMatchRecord.readMatchInfo(dataDir, "team1", "team2")) {
+            for (String team : row) {
+                if (!team.isBlank()) {
+                    teams.add(team.trim());
+                }
+            }
+        }
+        return teams;
+    }
+}
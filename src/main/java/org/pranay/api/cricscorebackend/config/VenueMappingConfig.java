@@ -0,0 +1,72 @@
+package org.pranay.api.cricscorebackend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.pranay.api.cricscorebackend.helper.StadiumCityMapper;
+import org.pranay.api.cricscorebackend.prediction.OdiMatchRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Seeds StadiumCityMapper with every venue and city in the CricPred match data. The hardcoded stadiums keep
+// priority; a venue listed under several cities maps to the one it appears with most often.
+@Configuration
+public class VenueMappingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VenueMappingConfig.class);
+
+    private final Path dataDir;
+
+    public VenueMappingConfig(@Value("${prediction.native.data-dir:CricPred/data}") String dataDir) {
+        this.dataDir = Path.of(dataDir);
+    }
+
+    @PostConstruct
+    public void loadVenues() {
+        try {
+            Map<String, String> venues = venuesFromMatchInfo(dataDir);
+            StadiumCityMapper.addVenues(venues);
+            logger.info("Added {} venues and cities from {}", venues.size(), dataDir.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read venues from {}: {}", dataDir.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    // Venue name (up to the first comma, "Bay Oval, Mount Maunganui" -> "Bay Oval") and each city as an alias
+    // of itself, sorted so the result does not depend on file order
+    public static Map<String, String> venuesFromMatchInfo(Path dataDir) throws IOException {
+        Map<String, Map<String, Integer>> cityCounts = new TreeMap<>();
+        for (String[] row : OdiMatchRecord.readMatchInfo(dataDir, "venue", "city")) {
+            String city = row[1].trim();
+            if (city.isEmpty()) {
+                continue;
+            }
+            int comma = row[0].indexOf(',');
+            String venue = (comma >= 0 ? row[0].substring(0, comma) : row[0]).trim();
+            if (!venue.isEmpty()) {
+                cityCounts.computeIfAbsent(venue, key -> new TreeMap<>()).merge(city, 1, Integer::sum);
+            }
+            cityCounts.computeIfAbsent(city, key -> new TreeMap<>()).merge(city, 1, Integer::sum);
+        }
+        Map<String, String> venues = new TreeMap<>();
+        cityCounts.forEach((venue, counts) -> venues.put(venue, mostFrequent(counts)));
+        return venues;
+    }
+
+    // Ties go to the alphabetically first city, since the counts are sorted by city
+    private static String mostFrequent(Map<String, Integer> counts) {
+        String best = null;
+        int bestCount = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > bestCount) {
+                best = entry.getKey();
+                bestCount = entry.getValue();
+            }
+        }
+        return best;
+    }
+}
@@ -1,13 +1,17 @@
 package org.pranay.api.cricscorebackend.controllers;
 
+import org.pranay.api.cricscorebackend.dto.ChartDataDTO;
 import org.pranay.api.cricscorebackend.services.ChartService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("match/charts")
@@ -17,11 +21,34 @@ public class ChartController {
     private ChartService chartService;
 
     @GetMapping("/runs-progression/{matchId}")
-    public ResponseEntity<byte[]> getRunsProgressChart(@PathVariable String matchId) {
-        byte[] chartBbytes = chartService.generateRunsProgressionChart(matchId);
+    public ResponseEntity<byte[]> getRunsProgressChart(@PathVariable String matchId, WebRequest request) {
+        // repeat viewers of an unchanged score get a 304 without the chart being rendered or copied
+        if (request.checkNotModified(chartService.chartEtag(matchId))) {
+            return null;
+        }
+        ChartService.RenderedChart chart = chartService.getRunsProgressionChart(matchId);
         return ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_PNG)
+                .eTag(chart.etag())
+                .cacheControl(CacheControl.noCache())
                 .header("Content-Disposition","inline","filename=runs-progression.png")
-                .body(chartBbytes);
+                .body(chart.png());
+    }
+
+    // Series data as JSON so clients can draw the charts themselves; svg=true adds a ready-made worm chart
+    @GetMapping("/{matchId}/data")
+    public ResponseEntity<ChartDataDTO> getChartData(@PathVariable String matchId,
+                                                     @RequestParam(defaultValue = "false") boolean svg,
+                                                     WebRequest request) {
+        if (request.checkNotModified(chartService.chartDataEtag(matchId, svg))) {
+            return null;
+        }
+        // tag the body with the version it was built from, in case a scrape landed in between
+        ChartDataDTO data = chartService.getChartData(matchId, svg);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(chartService.chartDataEtag(matchId, data.getVersion(), svg))
+                .cacheControl(CacheControl.noCache())
+                .body(data);
     }
 }
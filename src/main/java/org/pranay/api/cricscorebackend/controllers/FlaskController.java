@@ -1,22 +1,30 @@
 package org.pranay.api.cricscorebackend.controllers;
 
+import org.pranay.api.cricscorebackend.dto.MatchPage;
 import org.pranay.api.cricscorebackend.dto.MatchPredictionDTO;
+import org.pranay.api.cricscorebackend.dto.MatchSummary;
+import org.pranay.api.cricscorebackend.dto.Prediction;
 import org.pranay.api.cricscorebackend.entities.Match;
 import org.pranay.api.cricscorebackend.entities.matchStatus;
 import org.pranay.api.cricscorebackend.services.MatchService;
+import org.pranay.api.cricscorebackend.services.PredictionCache;
+import org.pranay.api.cricscorebackend.services.PredictionIntegrationService;
 import org.pranay.api.cricscorebackend.services.PredictionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,37 +33,46 @@ public class FlaskController {
     private static final Logger logger = LoggerFactory.getLogger(FlaskController.class);
     private final PredictionService predictionService;
     private final MatchService matchService;
-    private final ObjectMapper objectMapper;
+    private final PredictionCache predictionCache;
+    private final PredictionIntegrationService predictionIntegrationService;
 
     @Autowired
-    public FlaskController(PredictionService predictionService, MatchService matchService, ObjectMapper objectMapper) {
+    public FlaskController(PredictionService predictionService, MatchService matchService,
+                           PredictionCache predictionCache, PredictionIntegrationService predictionIntegrationService) {
         this.predictionService = predictionService;
         this.matchService = matchService;
-        this.objectMapper = objectMapper;
+        this.predictionCache = predictionCache;
+        this.predictionIntegrationService = predictionIntegrationService;
     }
 
+    // One page of stored matches, newest first, with predictions for the live ones. The cursor for the next
+    // page comes back in the X-Next-Cursor header, which is absent on the last page.
     @GetMapping
-    public ResponseEntity<List<MatchPredictionDTO>> getAllMatchesWithPredictions() {
+    public ResponseEntity<List<MatchPredictionDTO>> getAllMatchesWithPredictions(
+            @RequestParam(required = false) matchStatus status,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<Match> matches = matchService.getAllMatches();
+            MatchPage page = matchService.getMatches(status, format, cursor, limit);
+            List<Match> matches = page.matches().stream().map(MatchSummary::toMatch).toList();
+            List<Match> liveMatches = matches.stream()
+                    .filter(match -> match.getStatus() == matchStatus.LIVE)
+                    .toList();
+            // concurrent lookups bounded by a deadline; stragglers come back as pending
+            List<CompletableFuture<Optional<PredictionCache.CachedPrediction>>> lookups =
+                    predictionIntegrationService.lookupPredictions(liveMatches);
+            Map<Match, CompletableFuture<Optional<PredictionCache.CachedPrediction>>> lookupByMatch =
+                    new IdentityHashMap<>();
+            for (int i = 0; i < liveMatches.size(); i++) {
+                lookupByMatch.put(liveMatches.get(i), lookups.get(i));
+            }
+
             List<MatchPredictionDTO> matchPredictions = matches.stream()
                     .map(match -> {
                         MatchPredictionDTO dto = new MatchPredictionDTO(match);
                         if (match.getStatus() == matchStatus.LIVE) {
-                            try {
-                                ResponseEntity<String> predictionResponse =
-                                        predictionService.getPredictionWithData(
-                                                predictionService.extractMatchData(match));
-                                if (predictionResponse.getStatusCode() == HttpStatus.OK) {
-                                    addPredictionToDTO(dto, predictionResponse.getBody());
-                                } else {
-                                    dto.setPredictionMessage("Prediction currently unavailable");
-                                }
-                            } catch (Exception e) {
-                                logger.error("Error getting prediction for match {}: {}",
-                                        match.getMatchId(), e.getMessage());
-                                dto.setPredictionMessage("Error getting prediction");
-                            }
+                            addLookupToDTO(dto, match, lookupByMatch.get(match));
                         } else {
                             dto.setPredictionMessage(
                                     match.getStatus() == matchStatus.COMPLETED ?
@@ -66,14 +83,38 @@ public class FlaskController {
                     })
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(matchPredictions);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.body(matchPredictions);
 
+        } catch (IllegalArgumentException e) {
+            logger.debug("Bad match page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(List.of());
         } catch (Exception e) {
             logger.error("Error processing matches and predictions: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of());
         }
     }
 
+    private void addLookupToDTO(MatchPredictionDTO dto, Match match,
+                                CompletableFuture<Optional<PredictionCache.CachedPrediction>> lookup) {
+        if (!lookup.isDone()) {
+            dto.setPredictionPending(true);
+            dto.setPredictionMessage("Prediction pending");
+            return;
+        }
+        try {
+            lookup.join().ifPresentOrElse(
+                    cached -> addPredictionToDTO(dto, cached),
+                    () -> dto.setPredictionMessage("Prediction currently unavailable"));
+        } catch (CompletionException e) {
+            logger.error("Error getting prediction for match {}: {}", match.getMatchId(), e.getMessage());
+            dto.setPredictionMessage("Error getting prediction");
+        }
+    }
+
     @GetMapping("/{matchId}")
     public ResponseEntity<MatchPredictionDTO> getMatchPrediction(@PathVariable int matchId) {
         try {
@@ -85,12 +126,7 @@ public class FlaskController {
             MatchPredictionDTO dto = new MatchPredictionDTO(match);
 
             if (match.getStatus() == matchStatus.LIVE) {
-                ResponseEntity<String> predictionResponse =
-                        predictionService.getPredictionWithData(
-                                predictionService.extractMatchData(match));
-                if (predictionResponse.getStatusCode() == HttpStatus.OK) {
-                    addPredictionToDTO(dto, predictionResponse.getBody());
-                }
+                predictionCache.get(match).ifPresent(cached -> addPredictionToDTO(dto, cached));
             }
 
             return ResponseEntity.ok(dto);
@@ -101,22 +137,18 @@ public class FlaskController {
         }
     }
 
-    private void addPredictionToDTO(MatchPredictionDTO dto, String predictionJson) {
-        try {
-            var prediction = objectMapper.readTree(predictionJson);
-            dto.setIsPredictionAvailable(true);
-            dto.setLikelyWinner(prediction.get("likely_winner").asText());
-            dto.setWinProbability(prediction.get("win_probability").asDouble());
-            dto.setPredictedScore(prediction.get("predicted_final_score").asInt());
-        } catch (Exception e) {
-            logger.error("Error parsing prediction JSON: {}", e.getMessage());
-            dto.setPredictionMessage("Error processing prediction data");
-        }
+    private void addPredictionToDTO(MatchPredictionDTO dto, PredictionCache.CachedPrediction cached) {
+        Prediction prediction = cached.prediction();
+        dto.setIsPredictionAvailable(true);
+        dto.setLikelyWinner(prediction.likelyWinner());
+        dto.setWinProbability(prediction.winProbability());
+        dto.setPredictedScore(prediction.predictedScore());
+        dto.setPredictionUpdatedAt(new Date(cached.fetchedAtMillis()));
     }
 
     @GetMapping("/health")
     public ResponseEntity<String> checkHealth() {
-        if (predictionService.isFlaskServiceAvailable()) {
+        if (predictionService.isPredictionAvailable()) {
             return ResponseEntity.ok("Prediction service is available");
         } else {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Prediction service is not available");
@@ -1,6 +1,10 @@
 package org.pranay.api.cricscorebackend.controllers;
 
+import org.pranay.api.cricscorebackend.dto.MatchPage;
 import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.pipeline.AdaptivePollScheduler;
+import org.pranay.api.cricscorebackend.services.LiveScoreSnapshot;
 import org.pranay.api.cricscorebackend.services.MatchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,16 +21,42 @@ import java.util.Map;
 public class MatchController {
 
     private final MatchService matchService;
+    private final AdaptivePollScheduler pollScheduler;
     private static final Logger logger = LoggerFactory.getLogger(MatchController.class);
 
     @Autowired
-    public MatchController(MatchService matchService) {
+    public MatchController(MatchService matchService, AdaptivePollScheduler pollScheduler) {
         this.matchService = matchService;
+        this.pollScheduler = pollScheduler;
+    }
+
+    // stored matches newest first, a page at a time; pass nextCursor back as cursor for the next page
+    @GetMapping
+    public ResponseEntity<MatchPage> getMatches(@RequestParam(required = false) matchStatus status,
+                                                @RequestParam(required = false) String format,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(matchService.getMatches(status, format, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Bad match page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/live")
-    public ResponseEntity<List<Match>> getLiveMatches() {
-        return new ResponseEntity<>(this.matchService.getLiveMatchScores(), HttpStatus.OK);
+    public ResponseEntity<List<Match>> getLiveMatches(@RequestParam(defaultValue = "false") boolean refresh) {
+        LiveScoreSnapshot snapshot = refresh ? matchService.refreshLiveSnapshot() : matchService.getLiveSnapshot();
+        return ResponseEntity.ok()
+                .header("X-Snapshot-Version", String.valueOf(snapshot.version()))
+                .header("X-Snapshot-Published-At", snapshot.publishedAt().toString())
+                .body(snapshot.matches());
+    }
+
+    // cadence and effective poll rate of every match on the live-scores page
+    @GetMapping("/polling")
+    public ResponseEntity<List<AdaptivePollScheduler.MatchPoll>> getPolling() {
+        return ResponseEntity.ok(pollScheduler.getPolls());
     }
 
     @PostMapping("/updateTossInfo/{matchId}")
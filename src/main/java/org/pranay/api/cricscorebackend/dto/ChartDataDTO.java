@@ -0,0 +1,39 @@
+package org.pranay.api.cricscorebackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Chart series for clients that draw their own charts instead of fetching the rendered PNG
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChartDataDTO {
+    private String matchId;
+    private long version;
+    private List<InningsData> innings;
+    // worm chart as an SVG document, only when asked for
+    private String svg;
+
+    // One innings; the arrays are parallel, one entry per over
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InningsData {
+        private String team;
+        private int inningsNumber;
+        private int runs;
+        private int wickets;
+        private boolean declared;
+        private boolean followOn;
+        private int[] overs;
+        private int[] worm;
+        private int[] manhattan;
+        private double[] runRate;
+        private int[] cumulativeWickets;
+    }
+}
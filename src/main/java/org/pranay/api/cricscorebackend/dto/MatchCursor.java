@@ -0,0 +1,33 @@
+package org.pranay.api.cricscorebackend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in the match list, newest first: the (date, matchId) of the last match returned. Sent to clients
+// as URL-safe Base64 of "epochMillis:matchId".
+public record MatchCursor(long dateMillis, int matchId) {
+
+    public static MatchCursor after(MatchSummary match) {
+        return new MatchCursor(match.date().getTime(), match.matchId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dateMillis + ":" + matchId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // IllegalArgumentException for anything that is not a cursor this class encoded
+    public static MatchCursor decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        int colon = decoded.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new MatchCursor(Long.parseLong(decoded.substring(0, colon)),
+                    Integer.parseInt(decoded.substring(colon + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.pranay.api.cricscorebackend.dto;
+
+import java.util.List;
+
+// One page of the match list; nextCursor is null on the last page
+public record MatchPage(List<MatchSummary> matches, String nextCursor) {
+}
@@ -32,6 +32,8 @@ public class MatchPredictionDTO {
     private Integer predictedScore;
     private String predictionMessage;
     private Boolean isPredictionAvailable;
+    private Date predictionUpdatedAt;
+    private Boolean predictionPending;
 
     public MatchPredictionDTO(Match match) {
         this.matchId = match.getMatchId();
@@ -0,0 +1,30 @@
+package org.pranay.api.cricscorebackend.dto;
+
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+
+import java.util.Date;
+
+// The columns of a stored match that the match lists show and predictions read, without the toss details
+public record MatchSummary(int matchId, String teamHeading, String matchNumberVenue, String battingTeam,
+                           String battingTeamScore, String bowlingTeam, String bowlingTeamScore, String liveText,
+                           String matchLink, matchStatus status, String matchFormat, Date date) {
+
+    // Detached copy for the code that works on matches (prediction lookups, DTOs); never saved
+    public Match toMatch() {
+        Match match = new Match();
+        match.setMatchId(matchId);
+        match.setTeamHeading(teamHeading);
+        match.setMatchNumberVenue(matchNumberVenue);
+        match.setBattingTeam(battingTeam);
+        match.setBattingTeamScore(battingTeamScore);
+        match.setBowlingTeam(bowlingTeam);
+        match.setBowlingTeamScore(bowlingTeamScore);
+        match.setLiveText(liveText);
+        match.setMatchLink(matchLink);
+        match.setStatus(status);
+        match.setMatchFormat(matchFormat);
+        match.setDate(date);
+        return match;
+    }
+}
@@ -0,0 +1,5 @@
+package org.pranay.api.cricscorebackend.dto;
+
+// Outcome returned by the prediction model for one score state
+public record Prediction(String likelyWinner, double winProbability, int predictedScore) {
+}
@@ -1,17 +1,30 @@
 package org.pranay.api.cricscorebackend.entities;
 
-import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Embeddable
+import java.io.Serializable;
+
+// One batter's line in an innings, a row of its own keyed by (innings, batter) so a poll only rewrites the
+// lines that moved. Written by InningsRowRepo; position is the batter's place on the card.
+@Entity
+@Table(name = "innings_batting")
+@IdClass(BatsmanPerformance.Key.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BatsmanPerformance {
 
+    @Id
+    private int inningsId;
+    @Id
     private String batsmanName;
+    private int position;
     private int runsScored;
     private int ballsFaced;
     private int fours;
@@ -19,4 +32,11 @@ public class BatsmanPerformance {
     private int strikeRate;
     private String dismissalInfo;
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private int inningsId;
+        private String batsmanName;
+    }
 }
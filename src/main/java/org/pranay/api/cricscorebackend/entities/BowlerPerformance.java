@@ -1,20 +1,40 @@
 package org.pranay.api.cricscorebackend.entities;
 
 
-import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Embeddable
+import java.io.Serializable;
+
+// One bowler's figures in an innings, keyed by (innings, bowler) like BatsmanPerformance
+@Entity
+@Table(name = "innings_bowling")
+@IdClass(BowlerPerformance.Key.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class BowlerPerformance {
 
+    @Id
+    private int inningsId;
+    @Id
     private String bowlerName;
+    private int position;
     private String overBowled;
     private int runsScored;
     private int wicketsTaken;
     private double economyRate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private int inningsId;
+        private String bowlerName;
+    }
 }
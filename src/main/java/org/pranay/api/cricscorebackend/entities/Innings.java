@@ -29,10 +29,15 @@ public class Innings {
     private int extras;
     private String fallOfWickets;
 
-    @ElementCollection
+    // read-only here: the rows are written one by one by InningsRowRepo, not replaced with the innings
+    @OneToMany
+    @JoinColumn(name = "inningsId", insertable = false, updatable = false)
+    @OrderBy("position")
     private List<BatsmanPerformance> battingDetails;
 
-    @ElementCollection
+    @OneToMany
+    @JoinColumn(name = "inningsId", insertable = false, updatable = false)
+    @OrderBy("position")
     private List<BowlerPerformance> bowlingDetails;
 
     private String status;
@@ -11,7 +11,14 @@ import java.util.Date;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name="cric_matches")
+@Table(name="cric_matches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cric_matches_match_link", columnNames = "match_link"),
+        // one index per filter of the paged match list, each ending in its (date, match_id) sort key
+        indexes = {
+                @Index(name = "idx_cric_matches_date_id", columnList = "date, match_id"),
+                @Index(name = "idx_cric_matches_status_date_id", columnList = "status, date, match_id"),
+                @Index(name = "idx_cric_matches_format_date_id", columnList = "match_format, date, match_id")
+        })
 public class Match {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
@@ -25,6 +25,7 @@ public class Scorecard {
     private Match match;
 
     @OneToMany(mappedBy = "scorecard", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("inningsId")
     private List<Innings> inningsList = new ArrayList<>();
 
     // method to properly set up the relationship
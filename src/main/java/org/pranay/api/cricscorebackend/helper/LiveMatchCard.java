@@ -0,0 +1,25 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.pranay.api.cricscorebackend.entities.Match;
+
+// The fields of one match card on the cricbuzz live-scores page, as displayed (scores are left unparsed)
+public record LiveMatchCard(String teamHeading, String matchNumberVenue, String battingTeam, String battingScore,
+                            String bowlingTeam, String bowlingScore, String liveText, String completeText,
+                            String matchLink, String matchFormat) {
+
+    public Match toMatch() {
+        Match match = new Match();
+        match.setTeamHeading(teamHeading);
+        match.setMatchNumberVenue(matchNumberVenue);
+        match.setBattingTeam(battingTeam);
+        match.setBattingTeamScore(battingScore);
+        match.setBowlingTeam(bowlingTeam);
+        match.setBowlingTeamScore(bowlingScore);
+        match.setLiveText(liveText);
+        match.setMatchLink(matchLink);
+        match.setTextComplete(completeText);
+        match.setMatchFormat(matchFormat);
+        match.setMatchStatus();
+        return match;
+    }
+}
@@ -0,0 +1,230 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Turns the cricbuzz live-scores page into match cards. The page is scanned for the match card divs and only
+// those are handed to Jsoup, each as its own fragment, so the navigation, scripts and footer around them are
+// never built into a DOM. Selectors are compiled once; Jsoup evaluators hold no state and are shared by all
+// threads. Ids are left at 0 for the caller to fill in.
+@Component
+public class LiveScoresExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(LiveScoresExtractor.class);
+
+    private static final String CARD_CLASS = "cb-mtch-lst";
+    private static final String CARD_ITEM_CLASS = "cb-tms-itm";
+
+    // simple selectors only: descendant and sibling steps are walked by hand from the element found before them
+    private static final Evaluator HEADING = QueryParser.parse("h3.cb-lv-scr-mtch-hdr");
+    private static final Evaluator LINK = QueryParser.parse("a");
+    private static final Evaluator SPANS = QueryParser.parse("span");
+    private static final Evaluator BATTING_SIDE = QueryParser.parse("div.cb-hmscg-bat-txt");
+    private static final Evaluator BOWLING_SIDE = QueryParser.parse("div.cb-hmscg-bwl-txt");
+    private static final Evaluator TEAM_NAME = QueryParser.parse("div.cb-hmscg-tm-nm");
+    private static final Evaluator LIVE_TEXT = QueryParser.parse("div.cb-text-live");
+    private static final Evaluator COMPLETE_TEXT = QueryParser.parse("div.cb-text-complete");
+    private static final Evaluator LIVE_LINK = QueryParser.parse("a.cb-lv-scrs-well.cb-lv-scrs-well-live");
+
+    private final Timer parseTime;
+    private final DistributionSummary parseAllocation;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public LiveScoresExtractor(MeterRegistry registry) {
+        this.parseTime = Timer.builder("live-scores.parse.time").register(registry);
+        this.parseAllocation = DistributionSummary.builder("live-scores.parse.allocated")
+                .baseUnit("bytes")
+                .register(registry);
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    // Matches with a live link, recording the parse time and the bytes the parsing thread allocated for the page
+    public List<Match> extract(String html, String baseUri) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        List<LiveMatchCard> cards = extractCards(html, baseUri);
+        parseTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (allocatedBefore >= 0) {
+            parseAllocation.record(allocatedBytes() - allocatedBefore);
+        }
+        return cards.stream().map(LiveMatchCard::toMatch).toList();
+    }
+
+    public static List<LiveMatchCard> extractCards(String html, String baseUri) {
+        // the cards are cut out of the page and parsed together in one pass
+        StringBuilder cardsHtml = new StringBuilder(html.length() / 2);
+        int from = 0;
+        int start;
+        while ((start = nextCard(html, from)) >= 0) {
+            from = cardEnd(html, start);
+            cardsHtml.append(html, start, from);
+        }
+        List<LiveMatchCard> cards = new ArrayList<>();
+        for (Element card : Jsoup.parseBodyFragment(cardsHtml.toString(), baseUri).body().children()) {
+            LiveMatchCard parsed = parseCard(card);
+            if (parsed != null) {
+                cards.add(parsed);
+            }
+        }
+        return cards;
+    }
+
+    private static LiveMatchCard parseCard(Element card) {
+        Element heading = card.selectFirst(HEADING);
+        String teamsHeading = heading == null ? "" : text(heading, LINK);
+        Element liveLink = card.selectFirst(LIVE_LINK);
+        String matchLink = liveLink == null ? "" : liveLink.attr("href");
+        if (matchLink.isEmpty()) {
+            logger.debug("No live link for match: {}", teamsHeading);
+            return null; // completed and upcoming cards have no live link
+        }
+        String matchNumberVenue = card.select(SPANS).text();
+        Element batting = card.selectFirst(BATTING_SIDE);
+        Element bowling = card.selectFirst(BOWLING_SIDE);
+        return new LiveMatchCard(teamsHeading, matchNumberVenue,
+                text(batting, TEAM_NAME), teamScore(batting), text(bowling, TEAM_NAME), teamScore(bowling),
+                text(card, LIVE_TEXT), text(card, COMPLETE_TEXT),
+                matchLink, determineMatchFormat(teamsHeading, matchNumberVenue));
+    }
+
+    private static String text(Element root, Evaluator evaluator) {
+        Element found = root == null ? null : root.selectFirst(evaluator);
+        return found == null ? "" : found.text();
+    }
+
+    // the div straight after the team name ("div.cb-hmscg-tm-nm+div")
+    private static String teamScore(Element side) {
+        Element name = side == null ? null : side.selectFirst(TEAM_NAME);
+        Element score = name == null ? null : name.nextElementSibling();
+        return score != null && "div".equals(score.normalName()) ? score.text() : "";
+    }
+
+    // Start of the next <div> at or after from whose class list has both card classes, or -1. Scripts and
+    // comments are stepped over, since inline scripts can carry card markup as strings.
+    static int nextCard(String html, int from) {
+        int at = from;
+        int script = html.indexOf("<script", at);
+        int comment = html.indexOf("<!--", at);
+        while ((at = html.indexOf(CARD_CLASS, at)) >= 0) {
+            boolean scriptFirst = script >= 0 && (comment < 0 || script < comment);
+            int skipped = scriptFirst ? script : comment;
+            if (skipped >= 0 && skipped < at) {
+                at = scriptFirst ? skipPast(html, "</script", script + 7) : skipPast(html, "-->", comment + 4);
+                script = html.indexOf("<script", at);
+                comment = html.indexOf("<!--", at);
+                continue;
+            }
+            int tagStart = html.lastIndexOf('<', at);
+            int tagEnd = html.indexOf('>', at);
+            if (tagStart >= from && tagEnd > 0 && isTag(html, tagStart, "<div")
+                    && html.lastIndexOf('>', at) < tagStart
+                    && hasClass(html, tagStart, tagEnd, CARD_CLASS) && hasClass(html, tagStart, tagEnd, CARD_ITEM_CLASS)) {
+                return tagStart;
+            }
+            at += CARD_CLASS.length();
+        }
+        return -1;
+    }
+
+    // Index just past the </div> closing the div that opens at start, or the end of the page if it never closes
+    static int cardEnd(String html, int start) {
+        int depth = 0;
+        int at = start;
+        int tag;
+        while ((tag = html.indexOf('<', at)) >= 0) {
+            if (html.startsWith("<!--", tag)) {
+                at = skipPast(html, "-->", tag + 4);
+            } else if (isTag(html, tag, "<script")) {
+                at = skipPast(html, "</script", tag + 7);
+            } else if (isTag(html, tag, "<div")) {
+                depth++;
+                at = tag + 4;
+            } else if (isTag(html, tag, "</div") && --depth == 0) {
+                return skipPast(html, ">", tag + 5);
+            } else {
+                at = tag + 1;
+            }
+        }
+        return html.length();
+    }
+
+    private static int skipPast(String html, String marker, int from) {
+        int found = html.indexOf(marker, from);
+        return found < 0 ? html.length() : found + marker.length();
+    }
+
+    // "<div" but not "<divider": the name has to be followed by whitespace, '>' or '/'
+    private static boolean isTag(String html, int at, String name) {
+        if (!html.regionMatches(true, at, name, 0, name.length())) {
+            return false;
+        }
+        int next = at + name.length();
+        if (next >= html.length()) {
+            return false;
+        }
+        char c = html.charAt(next);
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+
+    private static boolean hasClass(String html, int tagStart, int tagEnd, String className) {
+        int attribute = html.indexOf("class=\"", tagStart);
+        if (attribute < 0 || attribute > tagEnd) {
+            return false;
+        }
+        int valueStart = attribute + 7;
+        int valueEnd = html.indexOf('"', valueStart);
+        if (valueEnd < 0 || valueEnd > tagEnd) {
+            return false;
+        }
+        int at = valueStart;
+        while ((at = html.indexOf(className, at)) >= 0 && at < valueEnd) {
+            int end = at + className.length();
+            if ((at == valueStart || Character.isWhitespace(html.charAt(at - 1)))
+                    && (end == valueEnd || Character.isWhitespace(html.charAt(end)))) {
+                return true;
+            }
+            at = end;
+        }
+        return false;
+    }
+
+    private long allocatedBytes() {
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    static String determineMatchFormat(String teamsHeading, String matchNumberVenue) {
+        String combinedText = (teamsHeading + " " + matchNumberVenue).toLowerCase();
+
+        if (combinedText.contains(" t20 ") || combinedText.contains("twenty20") || combinedText.contains("t20i")) {
+            return "T20";
+        } else if (combinedText.contains(" odi ") || combinedText.contains("one-day") || combinedText.contains("1st odi")) {
+            return "ODI";
+        } else if (combinedText.contains(" test ") || combinedText.contains("day series") || combinedText.contains("unofficial test")) {
+            return "TEST";
+        } else {
+            // Check for additional tournament-specific formats
+            if (combinedText.contains("wbbl") || combinedText.contains("bbl")) {
+                return "T20";
+            } else if (combinedText.contains("one day cup") || combinedText.contains("list a")) {
+                return "ODI";
+            } else if (combinedText.contains("first-class") || combinedText.contains("sheffield shield")) {
+                return "TEST";
+            }
+        }
+        return "UNKNOWN"; // Default case if format cannot be determined
+    }
+}
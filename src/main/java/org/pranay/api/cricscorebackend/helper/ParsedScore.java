@@ -0,0 +1,60 @@
+package org.pranay.api.cricscorebackend.helper;
+
+// Reusable result of ScoreParser: up to four innings held in primitive arrays, overwritten by every parse.
+// Not thread-safe; keep one per thread (the services hold theirs in a ThreadLocal).
+public final class ParsedScore {
+    public static final int MAX_INNINGS = 4;
+
+    final int[] runs = new int[MAX_INNINGS];
+    final int[] wickets = new int[MAX_INNINGS];
+    final int[] balls = new int[MAX_INNINGS];
+    final boolean[] declared = new boolean[MAX_INNINGS];
+    int inningsCount;
+    boolean followOn;
+
+    void reset() {
+        inningsCount = 0;
+        followOn = false;
+    }
+
+    public int inningsCount() {
+        return inningsCount;
+    }
+
+    public boolean isEmpty() {
+        return inningsCount == 0;
+    }
+
+    public int runs(int innings) {
+        return runs[innings];
+    }
+
+    // 10 when the score has no wicket count ("245"), which is how an all-out innings is shown
+    public int wickets(int innings) {
+        return wickets[innings];
+    }
+
+    // Legal balls bowled, or -1 when the innings has no overs (only the innings in progress shows them)
+    public int balls(int innings) {
+        return balls[innings];
+    }
+
+    // Overs in the usual notation: 42.3 is 42 overs and 3 balls; -1 when unknown
+    public double overs(int innings) {
+        int count = balls[innings];
+        return count < 0 ? -1 : count / 6 + (count % 6) / 10.0;
+    }
+
+    public boolean declared(int innings) {
+        return declared[innings];
+    }
+
+    public boolean followOn() {
+        return followOn;
+    }
+
+    // The innings the score ends with, i.e. the one in progress for a live match
+    public int lastInnings() {
+        return inningsCount - 1;
+    }
+}
@@ -0,0 +1,125 @@
+package org.pranay.api.cricscorebackend.helper;
+
+// Hand-written parser for cricbuzz score strings: "245-6 (42.3 Ovs)", "310 & 150-3 d", "245/6",
+// "180 & 220-7 (60 Ovs) f/o". Innings are separated by '&'; each has runs, optionally a wicket count after
+// '-' or '/', an optional "d" for a declaration and an optional "(overs Ovs)". Segments without a number
+// ("Yet to bat") are skipped. Reads the CharSequence in a single pass and writes into the caller's
+// ParsedScore, so parsing allocates nothing.
+public final class ScoreParser {
+
+    private ScoreParser() {
+    }
+
+    // Returns true if at least one innings was found
+    public static boolean parse(CharSequence score, ParsedScore out) {
+        out.reset();
+        if (score == null) {
+            return false;
+        }
+        int length = score.length();
+        int pos = 0;
+        while (pos < length) {
+            int end = pos;
+            while (end < length && score.charAt(end) != '&') {
+                end++;
+            }
+            parseInnings(score, pos, end, out);
+            pos = end + 1;
+        }
+        return out.inningsCount > 0;
+    }
+
+    private static void parseInnings(CharSequence score, int start, int end, ParsedScore out) {
+        int pos = start;
+        while (pos < end && !isDigit(score.charAt(pos))) {
+            // a leading "f/o" is not expected, but do not lose it
+            pos = checkFollowOn(score, pos, end, out);
+        }
+        if (pos >= end) {
+            return;
+        }
+
+        int runs = 0;
+        while (pos < end && isDigit(score.charAt(pos))) {
+            runs = runs * 10 + (score.charAt(pos++) - '0');
+        }
+        int wickets = 10;
+        if (pos + 1 < end && (score.charAt(pos) == '-' || score.charAt(pos) == '/') && isDigit(score.charAt(pos + 1))) {
+            pos++;
+            wickets = 0;
+            while (pos < end && isDigit(score.charAt(pos))) {
+                wickets = wickets * 10 + (score.charAt(pos++) - '0');
+            }
+        }
+
+        boolean declared = false;
+        int balls = -1;
+        while (pos < end) {
+            char c = score.charAt(pos);
+            if (c == 'd' && isWordStart(score, pos, start) && !isLetter(score, pos + 1, end)) {
+                declared = true;
+                pos++;
+            } else if (c == '(') {
+                int overs = readOvers(score, pos + 1, end);
+                if (overs >= 0) {
+                    balls = overs;
+                }
+                pos++;
+            } else {
+                pos = checkFollowOn(score, pos, end, out);
+            }
+        }
+
+        if (out.inningsCount < ParsedScore.MAX_INNINGS) {
+            int innings = out.inningsCount++;
+            out.runs[innings] = runs;
+            out.wickets[innings] = wickets;
+            out.balls[innings] = balls;
+            out.declared[innings] = declared;
+        }
+    }
+
+    // "(42.3 Ovs)" starting after the bracket: returns balls bowled, or -1 if it is not an overs count
+    private static int readOvers(CharSequence score, int pos, int end) {
+        if (pos >= end || !isDigit(score.charAt(pos))) {
+            return -1;
+        }
+        int overs = 0;
+        while (pos < end && isDigit(score.charAt(pos))) {
+            overs = overs * 10 + (score.charAt(pos++) - '0');
+        }
+        int balls = 0;
+        if (pos + 1 < end && score.charAt(pos) == '.' && isDigit(score.charAt(pos + 1))) {
+            balls = score.charAt(pos + 1) - '0';
+            pos += 2;
+        }
+        while (pos < end && score.charAt(pos) == ' ') {
+            pos++;
+        }
+        if (pos < end && (score.charAt(pos) == 'O' || score.charAt(pos) == 'o')) {
+            return overs * 6 + balls;
+        }
+        return -1;
+    }
+
+    // Sets followOn if "f/o" starts at pos; returns the position after whatever was consumed
+    private static int checkFollowOn(CharSequence score, int pos, int end, ParsedScore out) {
+        if (pos + 2 < end && score.charAt(pos) == 'f' && score.charAt(pos + 1) == '/' && score.charAt(pos + 2) == 'o') {
+            out.followOn = true;
+            return pos + 3;
+        }
+        return pos + 1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordStart(CharSequence score, int pos, int start) {
+        return pos == start || !Character.isLetter(score.charAt(pos - 1));
+    }
+
+    private static boolean isLetter(CharSequence score, int pos, int end) {
+        return pos < end && Character.isLetter(score.charAt(pos));
+    }
+}
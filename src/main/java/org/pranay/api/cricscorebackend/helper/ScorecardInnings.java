@@ -0,0 +1,45 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.pranay.api.cricscorebackend.entities.BatsmanPerformance;
+import org.pranay.api.cricscorebackend.entities.BowlerPerformance;
+import org.pranay.api.cricscorebackend.entities.Innings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One innings of a cricbuzz scorecard: the header score, extras, fall of wickets and the batting and bowling tables
+public record ScorecardInnings(String teamName, int runs, int wickets, String overs, int extras,
+                               String fallOfWickets, List<BattingRow> batting, List<BowlingRow> bowling) {
+
+    public record BattingRow(String name, String dismissal, int runs, int balls, int fours, int sixes,
+                             double strikeRate) {
+    }
+
+    public record BowlingRow(String name, String overs, int maidens, int runs, int wickets, int noBalls,
+                             int wides, double economy) {
+    }
+
+    // Rows are numbered by their place on the card; their innings id is filled in when the innings is stored
+    public Innings toInnings() {
+        Innings innings = new Innings();
+        innings.setTeamName(teamName);
+        innings.setRunsScored(runs);
+        innings.setWicketsLost(wickets);
+        innings.setOverBowled(overs);
+        innings.setExtras(extras);
+        innings.setFallOfWickets(fallOfWickets);
+        List<BatsmanPerformance> battingDetails = new ArrayList<>(batting.size());
+        for (BattingRow row : batting) {
+            battingDetails.add(new BatsmanPerformance(0, row.name(), battingDetails.size() + 1, row.runs(),
+                    row.balls(), row.fours(), row.sixes(), (int) Math.round(row.strikeRate()), row.dismissal()));
+        }
+        List<BowlerPerformance> bowlingDetails = new ArrayList<>(bowling.size());
+        for (BowlingRow row : bowling) {
+            bowlingDetails.add(new BowlerPerformance(0, row.name(), bowlingDetails.size() + 1, row.overs(),
+                    row.runs(), row.wickets(), row.economy()));
+        }
+        innings.setBattingDetails(battingDetails);
+        innings.setBowlingDetails(bowlingDetails);
+        return innings;
+    }
+}
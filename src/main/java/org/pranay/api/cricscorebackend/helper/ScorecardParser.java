@@ -0,0 +1,112 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads the innings off a cricbuzz scorecard page (/live-cricket-scorecard/{id}/{slug}). Each innings is a
+// div#innings_N holding a batting block (header row, batters, extras, total, fall of wickets) and a bowling
+// block. Rows are told apart by the width class of their first cell, as the page itself lays them out.
+public class ScorecardParser {
+
+    private static final Evaluator INNINGS = QueryParser.parse("div[id^=innings_]");
+    private static final Evaluator HEADER = QueryParser.parse("div.cb-scrd-hdr-rw");
+    private static final Evaluator ROWS = QueryParser.parse("div.cb-scrd-itms");
+    private static final Evaluator FALL_OF_WICKETS = QueryParser.parse("div.cb-col-rt");
+
+    private static final String BATTER_CELL = "cb-col-25";
+    private static final String BOWLER_CELL = "cb-col-38";
+
+    // "245-6 (42.3 Ov)"; an all-out total is shown without the wickets
+    private static final Pattern SCORE = Pattern.compile("(\\d+)(?:-(\\d+))?\\s*\\((\\d+(?:\\.\\d)?) Ov");
+    private static final Pattern INNINGS_SUFFIX = Pattern.compile("\\s+(?:\\d(?:st|nd|rd|th)\\s+)?Innings$");
+    private static final Pattern ROLE = Pattern.compile("\\s*\\((?:c|wk|c & wk)\\)$");
+
+    private ScorecardParser() {
+    }
+
+    public static List<ScorecardInnings> parse(String html) {
+        List<ScorecardInnings> innings = new ArrayList<>();
+        for (Element section : Jsoup.parse(html).select(INNINGS)) {
+            ScorecardInnings parsed = parseInnings(section);
+            if (parsed != null) {
+                innings.add(parsed);
+            }
+        }
+        return innings;
+    }
+
+    private static ScorecardInnings parseInnings(Element section) {
+        Element header = section.selectFirst(HEADER);
+        if (header == null || header.childrenSize() < 2) {
+            return null; // not started yet
+        }
+        String teamName = INNINGS_SUFFIX.matcher(header.child(0).text()).replaceFirst("");
+        Matcher score = SCORE.matcher(header.child(1).text());
+        if (!score.find()) {
+            return null;
+        }
+
+        int extras = 0;
+        List<ScorecardInnings.BattingRow> batting = new ArrayList<>();
+        List<ScorecardInnings.BowlingRow> bowling = new ArrayList<>();
+        for (Element row : section.select(ROWS)) {
+            Elements cells = row.children();
+            if (cells.isEmpty()) {
+                continue;
+            }
+            Element first = cells.first();
+            if (first.hasClass(BATTER_CELL) && cells.size() >= 7) {
+                batting.add(new ScorecardInnings.BattingRow(playerName(first), cells.get(1).text(),
+                        intValue(cells.get(2)), intValue(cells.get(3)), intValue(cells.get(4)),
+                        intValue(cells.get(5)), doubleValue(cells.get(6))));
+            } else if (first.hasClass(BOWLER_CELL) && cells.size() >= 8) {
+                bowling.add(new ScorecardInnings.BowlingRow(playerName(first), cells.get(1).text(),
+                        intValue(cells.get(2)), intValue(cells.get(3)), intValue(cells.get(4)),
+                        intValue(cells.get(5)), intValue(cells.get(6)), doubleValue(cells.get(7))));
+            } else if ("Extras".equals(first.text()) && cells.size() >= 2) {
+                extras = intValue(cells.get(1));
+            }
+        }
+
+        Element fallOfWickets = section.selectFirst(FALL_OF_WICKETS);
+        return new ScorecardInnings(teamName,
+                Integer.parseInt(score.group(1)),
+                score.group(2) == null ? 10 : Integer.parseInt(score.group(2)),
+                score.group(3),
+                extras,
+                fallOfWickets == null ? "" : fallOfWickets.text(),
+                batting, bowling);
+    }
+
+    // "Rohit Sharma (c)" -> "Rohit Sharma", so a player keeps one name across innings and captaincy changes
+    private static String playerName(Element cell) {
+        return ROLE.matcher(cell.text()).replaceFirst("");
+    }
+
+    // cricbuzz shows "-" for figures that don't apply yet
+    private static int intValue(Element cell) {
+        String text = cell.text();
+        try {
+            return text.isEmpty() || "-".equals(text) ? 0 : Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double doubleValue(Element cell) {
+        String text = cell.text();
+        try {
+            return text.isEmpty() || "-".equals(text) ? 0 : Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
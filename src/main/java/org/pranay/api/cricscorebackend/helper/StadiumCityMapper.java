@@ -1,6 +1,7 @@
 package org.pranay.api.cricscorebackend.helper;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class StadiumCityMapper {
@@ -51,44 +52,60 @@ public class StadiumCityMapper {
         put("Darren Sammy National Cricket Stadium", "Gros Islet");
     }};
 
+    // Hardcoded stadiums plus whatever addVenues/addStadiumMapping added, indexed together; rebuilt on change
+    private static final Map<String, String> venueToCity = new LinkedHashMap<>(stadiumToCity);
+    private static volatile VenueIndex index = VenueIndex.build(venueToCity);
+
     // Method to get city from full venue string
     public static String getCityFromVenue(String matchNumberVenue) {
         if (matchNumberVenue == null) return "";
 
         // Split by bullet point if present
-        String[] parts = matchNumberVenue.split("•");
-        String venue = parts.length > 1 ? parts[1].trim() : matchNumberVenue.trim();
-
-        // Remove "at" prefix if present
-        venue = venue.replaceAll("(?i)^\\s*at\\s+", "").trim();
+        int bullet = matchNumberVenue.indexOf('•');
+        int start = bullet >= 0 ? bullet + 1 : 0;
+        int end = bullet >= 0 ? nextBullet(matchNumberVenue, start) : matchNumberVenue.length();
 
-        // Try to find an exact match first
-        for (Map.Entry<String, String> entry : stadiumToCity.entrySet()) {
-            if (venue.contains(entry.getKey())) {
-                return entry.getValue();
-            }
+        // Longest known stadium, alias or city in the venue ("at" and punctuation are ignored)
+        String city = index.findCity(matchNumberVenue, start, end);
+        if (city != null) {
+            return city;
         }
 
-        // If no match found, try to extract city from the venue string
-        String[] venueParts = venue.split(",");
-        if (venueParts.length > 0) {
-            // Take the last part as it usually contains the city name
-            String lastPart = venueParts[venueParts.length - 1].trim();
-            // Remove any parenthetical content
-            lastPart = lastPart.replaceAll("\\s*\\(.*\\)", "").trim();
-            return lastPart;
+        // If no match found, take the last comma-separated part as it usually contains the city name
+        String venue = matchNumberVenue.substring(start, end);
+        String lastPart = venue.substring(venue.lastIndexOf(',') + 1);
+        // Remove any parenthetical content
+        int bracket = lastPart.indexOf('(');
+        if (bracket >= 0) {
+            lastPart = lastPart.substring(0, bracket);
+        }
+        lastPart = lastPart.trim();
+        if (venue.lastIndexOf(',') < 0 && lastPart.regionMatches(true, 0, "at ", 0, 3)) {
+            lastPart = lastPart.substring(3).trim();
         }
+        return lastPart;
+    }
 
-        return "";
+    private static int nextBullet(String text, int from) {
+        int next = text.indexOf('•', from);
+        return next >= 0 ? next : text.length();
     }
 
     // Method to add new stadium-city mapping
-    public static void addStadiumMapping(String stadium, String city) {
+    public static synchronized void addStadiumMapping(String stadium, String city) {
         stadiumToCity.put(stadium, city);
+        venueToCity.put(stadium, city);
+        index = VenueIndex.build(venueToCity);
+    }
+
+    // Adds venues without overriding the ones already known, e.g. those seeded from the CricPred match data
+    public static synchronized void addVenues(Map<String, String> venues) {
+        venues.forEach(venueToCity::putIfAbsent);
+        index = VenueIndex.build(venueToCity);
     }
 
     // Method to get all mappings
-    public static Map<String, String> getAllMappings() {
-        return new HashMap<>(stadiumToCity);
+    public static synchronized Map<String, String> getAllMappings() {
+        return new HashMap<>(venueToCity);
     }
-}
\ No newline at end of file
+}
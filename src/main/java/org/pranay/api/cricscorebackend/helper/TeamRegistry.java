@@ -0,0 +1,159 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Immutable index of teams: every code, alias and full name maps to a dense int ID (0..size-1) and one interned
+// canonical name. Lookups fold case, ignore dots and surrounding spaces ("ind", "U.A.E") and do not allocate,
+// using an open-addressing table probed straight from the CharSequence.
+// IDs follow the order teams were added, so a registry extended with withTeams() keeps every existing ID.
+public final class TeamRegistry {
+    public static final int UNKNOWN = -1;
+
+    private final String[] names;
+    // aliases as folded keys, and the canonical ID of each
+    private final Map<String, Integer> aliases;
+    private final String[] slots;
+    private final int[] slotIds;
+    private final int mask;
+
+    private TeamRegistry(List<String> names, Map<String, Integer> aliases) {
+        this.names = names.stream().map(String::intern).toArray(String[]::new);
+        this.aliases = aliases;
+        int capacity = Integer.highestOneBit(Math.max(4, aliases.size() * 3)) << 1;
+        this.slots = new String[capacity];
+        this.slotIds = new int[capacity];
+        this.mask = capacity - 1;
+        aliases.forEach((key, id) -> {
+            int slot = hash(key, 0, key.length()) & mask;
+            while (slots[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = key;
+            slotIds[slot] = id;
+        });
+    }
+
+    // Registry from code -> full name pairs; full names get IDs in the order they first appear
+    public static TeamRegistry of(Map<String, String> codeToName) {
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> aliases = new LinkedHashMap<>();
+        codeToName.forEach((code, name) -> {
+            int id = register(names, aliases, name);
+            aliases.putIfAbsent(fold(code), id);
+        });
+        return new TeamRegistry(names, aliases);
+    }
+
+    // A registry with the given team names added (alphabetically, after the existing ones); known names and
+    // aliases are left as they are
+    public TeamRegistry withTeams(Collection<String> teamNames) {
+        List<String> extended = new ArrayList<>(List.of(names));
+        Map<String, Integer> extendedAliases = new LinkedHashMap<>(aliases);
+        for (String name : new TreeSet<>(teamNames)) {
+            if (!name.isBlank() && idOf(name) == UNKNOWN) {
+                register(extended, extendedAliases, name.trim());
+            }
+        }
+        return extended.size() == names.length ? this : new TeamRegistry(extended, extendedAliases);
+    }
+
+    public int idOf(CharSequence team) {
+        if (team == null) {
+            return UNKNOWN;
+        }
+        int start = 0;
+        int end = team.length();
+        while (start < end && Character.isWhitespace(team.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(team.charAt(end - 1))) {
+            end--;
+        }
+        int slot = hash(team, start, end) & mask;
+        String key;
+        while ((key = slots[slot]) != null) {
+            if (matches(key, team, start, end)) {
+                return slotIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    // Canonical name of the team, or null if it is not known
+    public String canonicalName(CharSequence team) {
+        int id = idOf(team);
+        return id == UNKNOWN ? null : names[id];
+    }
+
+    // Same team by ID; teams the registry does not know are compared by name, ignoring case
+    public boolean sameTeam(CharSequence a, CharSequence b) {
+        int idA = idOf(a);
+        int idB = idOf(b);
+        if (idA != UNKNOWN || idB != UNKNOWN) {
+            return idA == idB;
+        }
+        return a != null && b != null && a.toString().trim().equalsIgnoreCase(b.toString().trim());
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static int register(List<String> names, Map<String, Integer> aliases, String name) {
+        String key = fold(name);
+        Integer id = aliases.get(key);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            aliases.put(key, id);
+        }
+        return id;
+    }
+
+    private static String fold(String alias) {
+        StringBuilder key = new StringBuilder(alias.length());
+        String trimmed = alias.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c != '.') {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c != '.') {
+                hash = 31 * hash + Character.toLowerCase(c);
+            }
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String key, CharSequence text, int start, int end) {
+        int k = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            if (k >= key.length() || key.charAt(k++) != Character.toLowerCase(c)) {
+                return false;
+            }
+        }
+        return k == key.length();
+    }
+}
@@ -0,0 +1,195 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Immutable Aho-Corasick automaton over venue names, finding every known name in a venue string in one pass.
+// Names and text are matched case-insensitively, with punctuation and runs of spaces folded to one space
+// ("R.Premadasa" matches "R Premadasa"), and only on word boundaries. When several names occur the longest
+// wins, then the one that starts first, so the answer never depends on map iteration order.
+public final class VenueIndex {
+    private static final int ROOT = 0;
+
+    // per node: sorted child characters and the matching child nodes
+    private final char[][] childKeys;
+    private final int[][] childNodes;
+    private final int[] fail;
+    // longest name that ends at this node (itself or via the failure chain), -1 if none
+    private final int[] output;
+    private final int[] nameLengths;
+    private final String[] cities;
+
+    private VenueIndex(char[][] childKeys, int[][] childNodes, int[] fail, int[] output, int[] nameLengths,
+                       String[] cities) {
+        this.childKeys = childKeys;
+        this.childNodes = childNodes;
+        this.fail = fail;
+        this.output = output;
+        this.nameLengths = nameLengths;
+        this.cities = cities;
+    }
+
+    // Builds the index from venue name to city; names that normalise to the same text keep the first city
+    public static VenueIndex build(Map<String, String> venueToCity) {
+        List<StringBuilder> keys = new ArrayList<>();
+        List<List<Integer>> nodes = new ArrayList<>();
+        keys.add(new StringBuilder());
+        nodes.add(new ArrayList<>());
+        List<Integer> terminal = new ArrayList<>();
+        terminal.add(-1);
+        List<String> cities = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : venueToCity.entrySet()) {
+            String name = normalise(entry.getKey());
+            if (name.length() <= 2) {
+                continue;
+            }
+            int node = ROOT;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                int child = find(keys.get(node), nodes.get(node), c);
+                if (child < 0) {
+                    child = keys.size();
+                    keys.get(node).append(c);
+                    nodes.get(node).add(child);
+                    keys.add(new StringBuilder());
+                    nodes.add(new ArrayList<>());
+                    terminal.add(-1);
+                }
+                node = child;
+            }
+            if (terminal.get(node) < 0) {
+                terminal.set(node, cities.size());
+                cities.add(entry.getValue());
+                lengths.add(name.length());
+            }
+        }
+
+        int size = keys.size();
+        char[][] childKeys = new char[size][];
+        int[][] childNodes = new int[size][];
+        for (int node = 0; node < size; node++) {
+            sortChildren(keys.get(node), nodes.get(node), childKeys, childNodes, node);
+        }
+
+        // breadth-first so every failure target is finished before the nodes that point at it
+        int[] fail = new int[size];
+        int[] output = new int[size];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        output[ROOT] = -1;
+        for (int child : childNodes[ROOT]) {
+            fail[child] = ROOT;
+            output[child] = terminal.get(child);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < childKeys[node].length; i++) {
+                char c = childKeys[node][i];
+                int child = childNodes[node][i];
+                int target = fail[node];
+                while (target != ROOT && child(childKeys, childNodes, target, c) < 0) {
+                    target = fail[target];
+                }
+                int next = child(childKeys, childNodes, target, c);
+                fail[child] = next >= 0 && next != child ? next : ROOT;
+                output[child] = terminal.get(child) >= 0 ? terminal.get(child) : output[fail[child]];
+                queue.add(child);
+            }
+        }
+        return new VenueIndex(childKeys, childNodes, fail, output,
+                lengths.stream().mapToInt(Integer::intValue).toArray(), cities.toArray(String[]::new));
+    }
+
+    // City of the best venue name found in text[start, end), or null
+    public String findCity(CharSequence text, int start, int end) {
+        int node = ROOT;
+        int best = -1;
+        int bestLength = 0;
+        // the text is read as if surrounded by spaces, which is what makes names match on word boundaries
+        char previous = ' ';
+        node = step(node, ' ');
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? fold(text.charAt(i)) : ' ';
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            previous = c;
+            node = step(node, c);
+            int match = output[node];
+            if (match >= 0 && nameLengths[match] > bestLength) {
+                best = match;
+                bestLength = nameLengths[match];
+            }
+        }
+        return best < 0 ? null : cities[best];
+    }
+
+    public String findCity(CharSequence text) {
+        return findCity(text, 0, text.length());
+    }
+
+    public int size() {
+        return cities.length;
+    }
+
+    private int step(int node, char c) {
+        int next;
+        while ((next = child(childKeys, childNodes, node, c)) < 0 && node != ROOT) {
+            node = fail[node];
+        }
+        return next < 0 ? ROOT : next;
+    }
+
+    // " name " with letters and digits lower-cased and everything else folded to single spaces
+    static String normalise(String name) {
+        StringBuilder out = new StringBuilder(name.length() + 2).append(' ');
+        for (int i = 0; i < name.length(); i++) {
+            char c = fold(name.charAt(i));
+            if (c != ' ' || out.charAt(out.length() - 1) != ' ') {
+                out.append(c);
+            }
+        }
+        if (out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+        return out.toString();
+    }
+
+    private static char fold(char c) {
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ';
+    }
+
+    private static int find(StringBuilder keys, List<Integer> nodes, char c) {
+        for (int i = 0; i < keys.length(); i++) {
+            if (keys.charAt(i) == c) {
+                return nodes.get(i);
+            }
+        }
+        return -1;
+    }
+
+    private static int child(char[][] childKeys, int[][] childNodes, int node, char c) {
+        int index = Arrays.binarySearch(childKeys[node], c);
+        return index >= 0 ? childNodes[node][index] : -1;
+    }
+
+    private static void sortChildren(StringBuilder keys, List<Integer> nodes, char[][] childKeys,
+                                     int[][] childNodes, int node) {
+        Integer[] order = new Integer[keys.length()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Character.compare(keys.charAt(a), keys.charAt(b)));
+        childKeys[node] = new char[order.length];
+        childNodes[node] = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            childKeys[node][i] = keys.charAt(order[i]);
+            childNodes[node][i] = nodes.get(order[i]);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.pranay.api.cricscorebackend.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.helper.ParsedScore;
+import org.pranay.api.cricscorebackend.helper.ScoreParser;
+import org.pranay.api.cricscorebackend.services.LiveScoreSnapshot;
+import org.pranay.api.cricscorebackend.services.MatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Drives the live-scores scrape at a rate set by the matches on the page. Each match gets a cadence from its
+// state: fast in the death overs or a close chase, slow during breaks, stopped once completed. The page carries
+// every match, so one poll serves them all and the next one is due when the fastest live match needs it.
+// Polls run on their own thread and never overlap: the next one is scheduled when the last has finished, with
+// jitter so requests don't settle into a fixed rhythm.
+@Component
+public class AdaptivePollScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePollScheduler.class);
+
+    private static final Pattern BREAK = Pattern.compile(
+            "\\b(stumps|lunch|tea|innings break|rain|bad light|wet outfield|delayed|match starts)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern RUNS_NEEDED = Pattern.compile("\\bneed (\\d+) runs?\\b", Pattern.CASE_INSENSITIVE);
+    private static final int CLOSE_CHASE_RUNS = 30;
+    private static final int ODI_DEATH_BALLS = 40 * 6;
+    private static final int T20_DEATH_BALLS = 16 * 6;
+    private static final ThreadLocal<ParsedScore> PARSED_SCORE = ThreadLocal.withInitial(ParsedScore::new);
+
+    public enum Cadence { FAST, NORMAL, SLOW, STOPPED }
+
+    // Polling state of one match as of the last poll that saw it on the page
+    public record MatchPoll(String matchLink, int matchId, String teamHeading, Cadence cadence,
+                            long targetIntervalMillis, double pollsPerMinute, long lastPolledAtMillis) {
+    }
+
+    private final MatchService matchService;
+    private final ScheduledExecutorService executor;
+    private final long fastMillis;
+    private final long normalMillis;
+    private final long slowMillis;
+    private final long idleMillis;
+    private final long minGapMillis;
+    private final double jitter;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    // match link -> polling state, only for matches on the last page polled
+    private final Map<String, MatchPoll> polls = new ConcurrentHashMap<>();
+    private final AtomicLong pageIntervalMillis = new AtomicLong();
+    private final Counter overruns;
+    // off in tests and tools that start the context without wanting it to scrape
+    private boolean enabled = true;
+
+    @Autowired
+    public AdaptivePollScheduler(MatchService matchService, MeterRegistry registry,
+                                 @Value("${polling.fast-seconds:10}") long fastSeconds,
+                                 @Value("${polling.normal-seconds:30}") long normalSeconds,
+                                 @Value("${polling.slow-seconds:120}") long slowSeconds,
+                                 @Value("${polling.idle-seconds:120}") long idleSeconds,
+                                 @Value("${polling.min-gap-ms:2000}") long minGapMillis,
+                                 @Value("${polling.jitter:0.1}") double jitter,
+                                 @Value("${live.poll.enabled:true}") boolean enabled) {
+        this(matchService, registry, TimeUnit.SECONDS.toMillis(fastSeconds), TimeUnit.SECONDS.toMillis(normalSeconds),
+                TimeUnit.SECONDS.toMillis(slowSeconds), TimeUnit.SECONDS.toMillis(idleSeconds), minGapMillis, jitter,
+                System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+        this.enabled = enabled;
+    }
+
+    AdaptivePollScheduler(MatchService matchService, MeterRegistry registry, long fastMillis, long normalMillis,
+                          long slowMillis, long idleMillis, long minGapMillis, double jitter,
+                          LongSupplier clock, DoubleSupplier random) {
+        this.matchService = matchService;
+        this.fastMillis = fastMillis;
+        this.normalMillis = normalMillis;
+        this.slowMillis = slowMillis;
+        this.idleMillis = idleMillis;
+        this.minGapMillis = minGapMillis;
+        this.jitter = jitter;
+        this.clock = clock;
+        this.random = random;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.overruns = Counter.builder("polling.overruns").register(registry);
+        Gauge.builder("polling.interval", pageIntervalMillis, AtomicLong::get).baseUnit("milliseconds")
+                .register(registry);
+        for (Cadence cadence : Cadence.values()) {
+            Gauge.builder("polling.matches", polls, p -> p.values().stream()
+                            .filter(poll -> poll.cadence() == cadence).count())
+                    .tag("cadence", cadence.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    // Once the application is ready, so the first scrape doesn't race the rest of the context starting up
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Live scores polling disabled (live.poll.enabled=false)");
+            return;
+        }
+        executor.execute(this::run);
+    }
+
+    // Per-match cadence and the rate each match is actually refreshed at, fastest first
+    public List<MatchPoll> getPolls() {
+        return polls.values().stream()
+                .sorted(Comparator.comparingLong(MatchPoll::targetIntervalMillis)
+                        .thenComparing(MatchPoll::matchLink))
+                .toList();
+    }
+
+    private void run() {
+        long delay;
+        try {
+            delay = pollOnce();
+        } catch (RuntimeException e) {
+            logger.error("Live scores poll failed: {}", e.getMessage());
+            delay = normalMillis;
+        }
+        if (!executor.isShutdown()) {
+            executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // One scrape; returns the delay until the next
+    long pollOnce() {
+        long start = clock.getAsLong();
+        LiveScoreSnapshot snapshot = matchService.refreshLiveSnapshot();
+        long now = clock.getAsLong();
+        long interval = track(snapshot.matches(), now);
+        pageIntervalMillis.set(interval);
+
+        long elapsed = now - start;
+        if (elapsed >= interval) {
+            overruns.increment();
+            logger.warn("Live scores poll took {}ms, longer than the {}ms interval", elapsed, interval);
+        }
+        long jittered = Math.round(interval * (1 + jitter * (2 * random.getAsDouble() - 1)));
+        return Math.max(minGapMillis, jittered - elapsed);
+    }
+
+    // Updates the per-match state and returns the interval the page has to be polled at
+    private long track(List<Match> matches, long now) {
+        Set<String> onPage = new HashSet<>();
+        long interval = Long.MAX_VALUE;
+        for (Match match : matches) {
+            String link = match.getMatchLink();
+            onPage.add(link);
+            Cadence cadence = classify(match);
+            long target = intervalOf(cadence);
+            polls.compute(link, (key, previous) -> new MatchPoll(key, match.getMatchId(), match.getTeamHeading(),
+                    cadence, target,
+                    previous == null || now <= previous.lastPolledAtMillis()
+                            ? 0 : 60_000.0 / (now - previous.lastPolledAtMillis()),
+                    now));
+            if (cadence != Cadence.STOPPED) {
+                interval = Math.min(interval, target);
+            }
+        }
+        polls.keySet().retainAll(onPage);
+        // nothing live: keep looking for matches that start
+        return interval == Long.MAX_VALUE ? idleMillis : interval;
+    }
+
+    private long intervalOf(Cadence cadence) {
+        return switch (cadence) {
+            case FAST -> fastMillis;
+            case NORMAL -> normalMillis;
+            case SLOW, STOPPED -> slowMillis;
+        };
+    }
+
+    static Cadence classify(Match match) {
+        if (match.getStatus() == matchStatus.COMPLETED) {
+            return Cadence.STOPPED;
+        }
+        String liveText = match.getLiveText() == null ? "" : match.getLiveText();
+        if (BREAK.matcher(liveText).find()) {
+            return Cadence.SLOW;
+        }
+        Matcher needed = RUNS_NEEDED.matcher(liveText);
+        if (needed.find() && Integer.parseInt(needed.group(1)) <= CLOSE_CHASE_RUNS) {
+            return Cadence.FAST;
+        }
+        return inDeathOvers(match) ? Cadence.FAST : Cadence.NORMAL;
+    }
+
+    private static boolean inDeathOvers(Match match) {
+        int deathBalls = switch (match.getMatchFormat() == null ? "" : match.getMatchFormat()) {
+            case "ODI" -> ODI_DEATH_BALLS;
+            case "T20" -> T20_DEATH_BALLS;
+            default -> -1;
+        };
+        if (deathBalls < 0) {
+            return false;
+        }
+        ParsedScore score = PARSED_SCORE.get();
+        return ScoreParser.parse(match.getBattingTeamScore(), score)
+                && score.balls(score.lastInnings()) >= deathBalls;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
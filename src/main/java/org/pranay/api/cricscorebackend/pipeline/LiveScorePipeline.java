@@ -0,0 +1,67 @@
+package org.pranay.api.cricscorebackend.pipeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Holds the stages of the live-scores ingestion: fetch -> parse -> persist / broadcast / predict.
+// Each stage has its own workers and bounded queue so a slow Flask call or DB write only backs up its own stage.
+@Component
+public class LiveScorePipeline {
+
+    private final PipelineStage fetchStage;
+    private final PipelineStage parseStage;
+    private final PipelineStage persistStage;
+    private final PipelineStage broadcastStage;
+    private final PipelineStage predictStage;
+
+    public LiveScorePipeline(MeterRegistry registry,
+                             @Value("${pipeline.fetch.workers:1}") int fetchWorkers,
+                             @Value("${pipeline.fetch.queue-capacity:2}") int fetchQueue,
+                             @Value("${pipeline.parse.workers:1}") int parseWorkers,
+                             @Value("${pipeline.parse.queue-capacity:2}") int parseQueue,
+                             @Value("${pipeline.persist.workers:1}") int persistWorkers,
+                             @Value("${pipeline.persist.queue-capacity:100}") int persistQueue,
+                             @Value("${pipeline.broadcast.workers:1}") int broadcastWorkers,
+                             @Value("${pipeline.broadcast.queue-capacity:100}") int broadcastQueue,
+                             @Value("${pipeline.predict.workers:2}") int predictWorkers,
+                             @Value("${pipeline.predict.queue-capacity:50}") int predictQueue) {
+        this.fetchStage = new PipelineStage("fetch", fetchWorkers, fetchQueue, registry);
+        this.parseStage = new PipelineStage("parse", parseWorkers, parseQueue, registry);
+        this.persistStage = new PipelineStage("persist", persistWorkers, persistQueue, registry);
+        this.broadcastStage = new PipelineStage("broadcast", broadcastWorkers, broadcastQueue, registry);
+        this.predictStage = new PipelineStage("predict", predictWorkers, predictQueue, registry);
+    }
+
+    public PipelineStage fetch() {
+        return fetchStage;
+    }
+
+    public PipelineStage parse() {
+        return parseStage;
+    }
+
+    public PipelineStage persist() {
+        return persistStage;
+    }
+
+    public PipelineStage broadcast() {
+        return broadcastStage;
+    }
+
+    public PipelineStage predict() {
+        return predictStage;
+    }
+
+    public List<PipelineStage> stages() {
+        return List.of(fetchStage, parseStage, persistStage, broadcastStage, predictStage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stages().forEach(PipelineStage::shutdown);
+    }
+}
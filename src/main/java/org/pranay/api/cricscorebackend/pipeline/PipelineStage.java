@@ -0,0 +1,122 @@
+package org.pranay.api.cricscorebackend.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A single stage of the ingestion pipeline: a fixed worker pool in front of its own bounded queue.
+// When the queue is full new work is rejected and counted instead of blocking the upstream stage.
+public class PipelineStage {
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStage.class);
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer latency;
+
+    public PipelineStage(String name, int workers, int queueCapacity, MeterRegistry registry) {
+        this.name = name;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pipeline-" + name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.processed = Counter.builder("pipeline.stage.processed").tag("stage", name).register(registry);
+        this.failed = Counter.builder("pipeline.stage.failed").tag("stage", name).register(registry);
+        this.dropped = Counter.builder("pipeline.stage.dropped").tag("stage", name).register(registry);
+        this.latency = Timer.builder("pipeline.stage.latency").tag("stage", name).register(registry);
+        Gauge.builder("pipeline.stage.queue.depth", executor, e -> e.getQueue().size())
+                .tag("stage", name)
+                .register(registry);
+        Gauge.builder("pipeline.stage.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("stage", name)
+                .register(registry);
+    }
+
+    // Runs the task on this stage; the returned future fails with RejectedExecutionException if the queue is full
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                Timer.Sample sample = Timer.start();
+                try {
+                    result.complete(task.call());
+                    processed.increment();
+                } catch (Throwable e) {
+                    failed.increment();
+                    result.completeExceptionally(e);
+                } finally {
+                    sample.stop(latency);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    // Fire-and-forget variant; returns false if the task was dropped because the stage is saturated
+    public boolean offer(Runnable task) {
+        try {
+            executor.execute(() -> {
+                Timer.Sample sample = Timer.start();
+                try {
+                    task.run();
+                    processed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    logger.error("Task failed in pipeline stage {}: {}", name, e.getMessage(), e);
+                } finally {
+                    sample.stop(latency);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            logger.warn("Pipeline stage {} is saturated ({} queued), dropping task", name, getQueueDepth());
+            return false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getProcessedCount() {
+        return (long) processed.count();
+    }
+
+    public long getDroppedCount() {
+        return (long) dropped.count();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pranay.api.cricscorebackend.client.FlaskPredictionClient;
+import org.pranay.api.cricscorebackend.dto.Prediction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Predictions from the Python service over HTTP
+@Component
+public class FlaskPredictor implements Predictor {
+    private static final Logger logger = LoggerFactory.getLogger(FlaskPredictor.class);
+
+    private final FlaskPredictionClient flaskPredictionClient;
+    private final ObjectMapper objectMapper;
+
+    public FlaskPredictor(FlaskPredictionClient flaskPredictionClient, ObjectMapper objectMapper) {
+        this.flaskPredictionClient = flaskPredictionClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<Prediction> predict(Map<String, Object> matchData) {
+        logger.info("Sending prediction request for {} match", matchData.get("match_format"));
+        logger.debug("Request data: {}", matchData);
+
+        ResponseEntity<String> response = flaskPredictionClient.predict(matchData);
+
+        logger.debug("Response: {}", response.getBody());
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode prediction = objectMapper.readTree(response.getBody());
+            String likelyWinner = prediction.get("likely_winner").asText();
+            // the service answers with a probability per team
+            JsonNode winProbability = prediction.get("win_probability");
+            double probability = winProbability.isObject()
+                    ? winProbability.path(likelyWinner).asDouble()
+                    : winProbability.asDouble();
+            return Optional.of(new Prediction(
+                    likelyWinner,
+                    probability,
+                    prediction.get("predicted_final_score").asInt()));
+        } catch (Exception e) {
+            logger.error("Error parsing prediction JSON: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return flaskPredictionClient.isAvailable();
+    }
+}
@@ -0,0 +1,90 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import jakarta.annotation.PostConstruct;
+import org.pranay.api.cricscorebackend.dto.Prediction;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// In-process predictions for ODIs, trained at startup from the CricPred CSVs.
+// Other formats (the CricPred data has no T20 set) come back empty so the caller can fall back to Flask.
+@Component
+public class NativePredictor implements Predictor {
+    private static final Logger logger = LoggerFactory.getLogger(NativePredictor.class);
+
+    private final Path dataDir;
+    private volatile OdiModel odiModel;
+
+    public NativePredictor(@Value("${prediction.native.data-dir:CricPred/data}") String dataDir) {
+        this.dataDir = Path.of(dataDir);
+    }
+
+    NativePredictor(OdiModel odiModel) {
+        this.dataDir = null;
+        this.odiModel = odiModel;
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.nanoTime();
+        try {
+            odiModel = OdiModel.train(OdiMatchRecord.load(dataDir));
+            logger.info("Trained ODI prediction model on {} matches from {} in {}ms", odiModel.trainingMatches(),
+                    dataDir.toAbsolutePath(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            logger.warn("Could not train ODI prediction model from {}: {}", dataDir.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<Prediction> predict(Map<String, Object> matchData) {
+        OdiModel model = odiModel;
+        if (model == null || !"ODI".equals(matchData.get("match_format"))) {
+            return Optional.empty();
+        }
+        String team1 = (String) matchData.get("team1");
+        String team2 = (String) matchData.get("team2");
+        String battingTeam = (String) matchData.get("batting_team");
+        TeamRegistry teams = model.teams();
+        int battingId = teams.idOf(battingTeam);
+        String bowlingTeam = teams.sameTeam(battingTeam, team1) ? team2 : team1;
+        String tossWinner = (String) matchData.get("toss_winner");
+        Object target = matchData.get("target");
+
+        OdiModel.InningsState state = new OdiModel.InningsState(
+                battingTeam,
+                bowlingTeam,
+                (String) matchData.get("city"),
+                ((Number) matchData.get("current_score")).intValue(),
+                ((Number) matchData.get("current_wickets")).intValue(),
+                toBalls(((Number) matchData.get("current_over")).doubleValue()),
+                target == null ? 0 : ((Number) target).intValue(),
+                battingId != TeamRegistry.UNKNOWN ? battingId == teams.idOf(tossWinner)
+                        : battingTeam.equalsIgnoreCase(tossWinner));
+        OdiModel.Estimate estimate = model.estimate(state);
+
+        double battingWin = estimate.battingWinProbability();
+        return Optional.of(battingWin >= 0.5
+                ? new Prediction(battingTeam, battingWin, estimate.predictedFinalScore())
+                : new Prediction(bowlingTeam, 1 - battingWin, estimate.predictedFinalScore()));
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return odiModel != null;
+    }
+
+    // Cricket notation: 42.3 overs is 42 overs and 3 balls
+    static int toBalls(double overs) {
+        int completed = (int) overs;
+        int balls = (int) Math.round((overs - completed) * 10);
+        return Math.min(OdiModel.INNINGS_BALLS, completed * 6 + Math.min(balls, 5));
+    }
+}
@@ -0,0 +1,160 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One ODI from the CricPred datasets: ODI_Match_info.csv joined with cricket_match_analysis.csv on match id.
+// "Team 1" in the analysis file is the side that batted first, which is decided by the toss and is not always
+// team1 of the match info. Phase arrays hold the runs and wickets of each 10-over block (0-10 ... 40-50).
+// Runs in the analysis file are summed from the batters and leave out extras, so a chase can be won with a
+// recorded total below the first innings total.
+public record OdiMatchRecord(long id, String city, String team1, String team2, String tossWinner,
+                             String tossDecision, String result, String winner, int winByRuns,
+                             int[] firstInningsRuns, int[] firstInningsWickets, int firstInningsTotal,
+                             int[] secondInningsRuns, int[] secondInningsWickets, int secondInningsTotal) {
+
+    public static final String MATCH_INFO_FILE = "ODI_Match_info.csv";
+    public static final String MATCH_ANALYSIS_FILE = "cricket_match_analysis.csv";
+    static final int PHASES = 5;
+
+    // Matches with a clean result (no D/L, no tie or abandonment) are the ones usable for training
+    public boolean hasCleanResult() {
+        return "normal".equals(result) && !winner.isEmpty() && firstInningsTotal > 0 && secondInningsTotal > 0;
+    }
+
+    public String battingFirst() {
+        boolean tossWinnerBatted = "bat".equals(tossDecision);
+        if (tossWinner.equals(team1)) {
+            return tossWinnerBatted ? team1 : team2;
+        }
+        return tossWinnerBatted ? team2 : team1;
+    }
+
+    public String battingSecond() {
+        return battingFirst().equals(team1) ? team2 : team1;
+    }
+
+    // The target in the chasing side's recorded runs: what they finished on if they won, otherwise what they
+    // scored plus the losing margin. firstInningsTotal + 1 would mix in the difference in extras between the innings.
+    public int chaseTarget() {
+        return winner.equals(battingSecond()) ? secondInningsTotal : secondInningsTotal + Math.max(1, winByRuns);
+    }
+
+    public static List<OdiMatchRecord> load(Path dataDir) throws IOException {
+        Map<Long, String[]> infoById = new HashMap<>();
+        Map<String, Integer> infoColumns = readCsv(dataDir.resolve(MATCH_INFO_FILE), (columns, row) ->
+                infoById.put(Long.parseLong(row[columns.get("id")]), row));
+
+        List<OdiMatchRecord> matches = new ArrayList<>();
+        readCsv(dataDir.resolve(MATCH_ANALYSIS_FILE), (columns, row) -> {
+            long id = Long.parseLong(row[columns.get("Match ID")]);
+            String[] info = infoById.get(id);
+            if (info == null) {
+                return;
+            }
+            matches.add(new OdiMatchRecord(id,
+                    info[infoColumns.get("city")],
+                    info[infoColumns.get("team1")],
+                    info[infoColumns.get("team2")],
+                    info[infoColumns.get("toss_winner")],
+                    info[infoColumns.get("toss_decision")],
+                    info[infoColumns.get("result")],
+                    info[infoColumns.get("winner")],
+                    intValue(info[infoColumns.get("win_by_runs")]),
+                    phases(columns, row, "Team 1", "Runs"),
+                    phases(columns, row, "Team 1", "Wickets"),
+                    intValue(row[columns.get("Team 1 Total Runs")]),
+                    phases(columns, row, "Team 2", "Runs"),
+                    phases(columns, row, "Team 2", "Wickets"),
+                    intValue(row[columns.get("Team 2 Total Runs")])));
+        });
+        return matches;
+    }
+
+    // Selected columns of every ODI_Match_info.csv row, in the order asked for
+    public static List<String[]> readMatchInfo(Path dataDir, String... names) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        readCsv(dataDir.resolve(MATCH_INFO_FILE), (columns, row) -> {
+            String[] selected = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Integer column = columns.get(names[i]);
+                if (column == null) {
+                    throw new IllegalArgumentException("No column " + names[i] + " in " + MATCH_INFO_FILE);
+                }
+                selected[i] = column < row.length ? row[column] : "";
+            }
+            rows.add(selected);
+        });
+        return rows;
+    }
+
+    private static int[] phases(Map<String, Integer> columns, String[] row, String team, String measure) {
+        int[] values = new int[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            String column = (phase * 10) + "-" + (phase * 10 + 10) + " " + team + " " + measure;
+            values[phase] = intValue(row[columns.get(column)]);
+        }
+        return values;
+    }
+
+    private static int intValue(String value) {
+        return value.isEmpty() ? 0 : (int) Double.parseDouble(value);
+    }
+
+    private interface RowHandler {
+        void accept(Map<String, Integer> columns, String[] row);
+    }
+
+    private static Map<String, Integer> readCsv(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("Empty CSV file: " + file);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = split(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i), i);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    handler.accept(columns, split(line).toArray(String[]::new));
+                }
+            }
+            return columns;
+        }
+    }
+
+    // Comma split that honours double-quoted fields ("Holkar Cricket Stadium, Indore")
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,383 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.pranay.api.cricscorebackend.services.TeamNameStandardizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Win probability and final score model for ODIs, trained from the CricPred match datasets.
+// Training rows follow the Python CricketPredictionSystem (an innings state every two overs from over 5, for
+// both innings) but use the real 10-over phase scores instead of scaling the final total linearly.
+// Win probability is a logistic regression over the batting side's situation; final score is a least-squares
+// fit of the innings total. Both are a dot product over a handful of features, so estimate() takes microseconds.
+public final class OdiModel {
+    static final int INNINGS_BALLS = 300;
+    private static final int WIN_FEATURES = 14;
+    private static final int SCORE_FEATURES = 9;
+    private static final double DEFAULT_VENUE_AVERAGE = 250;
+    private static final double DEFAULT_TEAM_STRENGTH = 0.5;
+
+    // Score state of the innings in progress; target is 0 in the first innings
+    public record InningsState(String battingTeam, String bowlingTeam, String city,
+                               int runs, int wickets, int balls, int target, boolean battingWonToss) {
+        public boolean isChase() {
+            return target > 0;
+        }
+    }
+
+    public record Estimate(double battingWinProbability, int predictedFinalScore) {
+    }
+
+    // An innings state from a completed match together with how the match ended
+    public record LabelledState(InningsState state, boolean battingSideWon, int finalScore) {
+    }
+
+    private final double[] winWeights;
+    private final double[] scoreWeights;
+    private final Map<String, Double> venueAverages;
+    // teams seen in training, and their strength indexed by team ID
+    private final TeamRegistry teams;
+    private final double[] teamStrengths;
+    private final int trainingMatches;
+
+    private OdiModel(double[] winWeights, double[] scoreWeights, Map<String, Double> venueAverages,
+                     TeamRegistry teams, double[] teamStrengths, int trainingMatches) {
+        this.winWeights = winWeights;
+        this.scoreWeights = scoreWeights;
+        this.venueAverages = venueAverages;
+        this.teams = teams;
+        this.teamStrengths = teamStrengths;
+        this.trainingMatches = trainingMatches;
+    }
+
+    public static OdiModel train(List<OdiMatchRecord> matches) {
+        List<OdiMatchRecord> usable = matches.stream().filter(OdiMatchRecord::hasCleanResult).toList();
+        TeamRegistry teams = TeamNameStandardizer.registry().withTeams(usable.stream()
+                .flatMap(match -> Stream.of(match.team1(), match.team2()))
+                .collect(Collectors.toSet()));
+        OdiModel priors = new OdiModel(null, null, venueAverages(usable), teams, teamStrengths(usable, teams),
+                usable.size());
+
+        List<LabelledState> states = new ArrayList<>();
+        for (OdiMatchRecord match : usable) {
+            states.addAll(trainingStates(match));
+        }
+        double[][] winRows = new double[states.size()][WIN_FEATURES];
+        double[] winLabels = new double[states.size()];
+        double[][] scoreRows = new double[states.size()][SCORE_FEATURES];
+        double[] scoreLabels = new double[states.size()];
+        for (int i = 0; i < states.size(); i++) {
+            LabelledState labelled = states.get(i);
+            priors.winFeatures(labelled.state(), winRows[i]);
+            priors.scoreFeatures(labelled.state(), scoreRows[i]);
+            winLabels[i] = labelled.battingSideWon() ? 1 : 0;
+            scoreLabels[i] = labelled.finalScore();
+        }
+        return new OdiModel(fitLogistic(winRows, winLabels), fitLeastSquares(scoreRows, scoreLabels),
+                priors.venueAverages, teams, priors.teamStrengths, usable.size());
+    }
+
+    public Estimate estimate(InningsState state) {
+        double[] x = new double[WIN_FEATURES];
+        winFeatures(state, x);
+        double probability = sigmoid(dot(winWeights, x));
+
+        double[] s = new double[SCORE_FEATURES];
+        scoreFeatures(state, s);
+        int score = (int) Math.round(Math.max(state.runs(), dot(scoreWeights, s)));
+        if (state.isChase()) {
+            // the innings ends once the target is reached
+            score = Math.min(score, state.target());
+        }
+        return new Estimate(probability, score);
+    }
+
+    public int trainingMatches() {
+        return trainingMatches;
+    }
+
+    // Innings states every two overs: from over 5 in the first innings, from over 7 in the chase
+    public static List<LabelledState> trainingStates(OdiMatchRecord match) {
+        List<LabelledState> states = new ArrayList<>();
+        String first = match.battingFirst();
+        String second = match.battingSecond();
+        boolean firstWon = match.winner().equals(first);
+        addInningsStates(states, match, first, second, match.firstInningsRuns(), match.firstInningsWickets(),
+                match.firstInningsTotal(), 0, 5, firstWon);
+        addInningsStates(states, match, second, first, match.secondInningsRuns(), match.secondInningsWickets(),
+                match.secondInningsTotal(), match.chaseTarget(), 7, !firstWon);
+        return states;
+    }
+
+    private static void addInningsStates(List<LabelledState> states, OdiMatchRecord match, String battingTeam,
+                                         String bowlingTeam, int[] phaseRuns, int[] phaseWickets, int total,
+                                         int target, int firstOver, boolean battingSideWon) {
+        boolean wonToss = match.tossWinner().equals(battingTeam);
+        for (int over = firstOver; over < 50; over += 2) {
+            int runs = (int) cumulative(phaseRuns, over);
+            int wickets = (int) cumulative(phaseWickets, over);
+            if (wickets >= 10 || (target > 0 && runs >= target)) {
+                break;
+            }
+            InningsState state = new InningsState(battingTeam, bowlingTeam, match.city(), runs, wickets,
+                    over * 6, target, wonToss);
+            states.add(new LabelledState(state, battingSideWon, total));
+        }
+    }
+
+    // Runs (or wickets) after the given number of overs, interpolated within the 10-over phase
+    static double cumulative(int[] phases, double overs) {
+        double total = 0;
+        for (int phase = 0; phase < phases.length; phase++) {
+            double start = phase * 10;
+            if (overs >= start + 10) {
+                total += phases[phase];
+            } else {
+                if (overs > start) {
+                    total += phases[phase] * (overs - start) / 10;
+                }
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void winFeatures(InningsState state, double[] x) {
+        double progress = (double) state.balls() / INNINGS_BALLS;
+        double wicketsInHand = (10 - state.wickets()) / 10.0;
+        double runRate = runRate(state);
+        double projected = projectScore(state.runs(), state.balls(), state.wickets());
+        boolean chase = state.isChase();
+        double oversLeft = (INNINGS_BALLS - state.balls()) / 6.0;
+        double requiredRate = chase && oversLeft > 0 ? (state.target() - state.runs()) / oversLeft : 0;
+
+        x[0] = 1;
+        x[1] = progress;
+        x[2] = wicketsInHand;
+        x[3] = runRate / 6;
+        x[4] = chase ? 1 : 0;
+        x[5] = chase ? 0 : (projected - venueAverage(state.city())) / 50;
+        x[6] = chase ? (projected - state.target()) / 50 : 0;
+        x[7] = chase ? Math.max(-12, Math.min(12, requiredRate - runRate)) / 6 : 0;
+        x[8] = chase ? chasePressure(requiredRate, runRate, state.wickets()) : 0;
+        x[9] = teamStrength(state.battingTeam()) - teamStrength(state.bowlingTeam());
+        x[10] = state.battingWonToss() ? 1 : 0;
+        x[11] = progress * x[5];
+        x[12] = progress * x[6];
+        x[13] = progress * wicketsInHand;
+    }
+
+    private void scoreFeatures(InningsState state, double[] x) {
+        double wicketsInHand = (10 - state.wickets()) / 10.0;
+        double oversLeft = (INNINGS_BALLS - state.balls()) / 6.0;
+        double runRate = runRate(state);
+
+        x[0] = 1;
+        x[1] = state.runs();
+        x[2] = oversLeft;
+        x[3] = oversLeft * wicketsInHand;
+        x[4] = runRate * oversLeft;
+        x[5] = runRate * oversLeft * wicketsInHand;
+        x[6] = venueAverage(state.city()) * oversLeft / 50;
+        x[7] = teamStrength(state.battingTeam()) * oversLeft;
+        x[8] = state.isChase() ? oversLeft : 0;
+    }
+
+    private static double runRate(InningsState state) {
+        return state.balls() > 0 ? state.runs() * 6.0 / state.balls() : 0;
+    }
+
+    // Same projection as CricketPredictionSystem._project_score
+    static double projectScore(int runs, int balls, int wickets) {
+        if (balls == 0) {
+            return 250;
+        }
+        double overs = balls / 6.0;
+        double runRate = runs / overs;
+        double wicketsFactor = Math.max(0.7, (10 - wickets) / 10.0);
+        double acceleration = overs < 30 ? 1.2 : overs < 40 ? 1.3 : 1.4;
+        return (int) (runs + (50 - overs) * runRate * wicketsFactor * acceleration);
+    }
+
+    // Same index as CricketPredictionSystem._calculate_chase_pressure
+    private static double chasePressure(double requiredRate, double runRate, int wickets) {
+        return (Math.max(0, (requiredRate - runRate) / 2) + wickets / 10.0) / 2;
+    }
+
+    private double venueAverage(String city) {
+        if (city == null) {
+            return DEFAULT_VENUE_AVERAGE;
+        }
+        return venueAverages.getOrDefault(city.toLowerCase(Locale.ROOT), DEFAULT_VENUE_AVERAGE);
+    }
+
+    private double teamStrength(String team) {
+        int id = teams.idOf(team);
+        return id >= 0 && id < teamStrengths.length ? teamStrengths[id] : DEFAULT_TEAM_STRENGTH;
+    }
+
+    // The registry team names are resolved against, which includes every team seen in training
+    public TeamRegistry teams() {
+        return teams;
+    }
+
+    // Mean innings total per city
+    private static Map<String, Double> venueAverages(List<OdiMatchRecord> matches) {
+        Map<String, double[]> sums = new HashMap<>();
+        for (OdiMatchRecord match : matches) {
+            if (match.city().isEmpty()) {
+                continue;
+            }
+            double[] sum = sums.computeIfAbsent(match.city().toLowerCase(Locale.ROOT), city -> new double[2]);
+            sum[0] += match.firstInningsTotal() + match.secondInningsTotal();
+            sum[1] += 2;
+        }
+        Map<String, Double> averages = new HashMap<>();
+        sums.forEach((city, sum) -> averages.put(city, sum[0] / sum[1]));
+        return Map.copyOf(averages);
+    }
+
+    // Win rate per team, shrunk towards 0.5 so teams with few matches are not extreme
+    private static double[] teamStrengths(List<OdiMatchRecord> matches, TeamRegistry teams) {
+        int[] wins = new int[teams.size()];
+        int[] played = new int[teams.size()];
+        for (OdiMatchRecord match : matches) {
+            int winner = teams.idOf(match.winner());
+            for (String team : List.of(match.team1(), match.team2())) {
+                int id = teams.idOf(team);
+                played[id]++;
+                if (id == winner) {
+                    wins[id]++;
+                }
+            }
+        }
+        double[] strengths = new double[teams.size()];
+        for (int id = 0; id < strengths.length; id++) {
+            strengths[id] = played[id] == 0 ? DEFAULT_TEAM_STRENGTH : (wins[id] + 2.5) / (played[id] + 5);
+        }
+        return strengths;
+    }
+
+    // Logistic regression by Newton-Raphson (IRLS) with a small ridge penalty on the non-bias weights
+    private static double[] fitLogistic(double[][] rows, double[] labels) {
+        int features = rows[0].length;
+        double[] weights = new double[features];
+        for (int iteration = 0; iteration < 25; iteration++) {
+            double[][] hessian = new double[features][features];
+            double[] gradient = new double[features];
+            for (int i = 0; i < rows.length; i++) {
+                double[] x = rows[i];
+                double p = sigmoid(dot(weights, x));
+                double w = Math.max(p * (1 - p), 1e-9);
+                for (int j = 0; j < features; j++) {
+                    gradient[j] += (labels[i] - p) * x[j];
+                    for (int k = j; k < features; k++) {
+                        hessian[j][k] += w * x[j] * x[k];
+                    }
+                }
+            }
+            for (int j = 1; j < features; j++) {
+                hessian[j][j] += 1e-2;
+                gradient[j] -= 1e-2 * weights[j];
+            }
+            mirror(hessian);
+            double[] step = solve(hessian, gradient);
+            double change = 0;
+            for (int j = 0; j < features; j++) {
+                weights[j] += step[j];
+                change = Math.max(change, Math.abs(step[j]));
+            }
+            if (change < 1e-8) {
+                break;
+            }
+        }
+        return weights;
+    }
+
+    // Ordinary least squares through the normal equations, with a tiny ridge term for conditioning
+    private static double[] fitLeastSquares(double[][] rows, double[] labels) {
+        int features = rows[0].length;
+        double[][] gram = new double[features][features];
+        double[] moment = new double[features];
+        for (int i = 0; i < rows.length; i++) {
+            double[] x = rows[i];
+            for (int j = 0; j < features; j++) {
+                moment[j] += labels[i] * x[j];
+                for (int k = j; k < features; k++) {
+                    gram[j][k] += x[j] * x[k];
+                }
+            }
+        }
+        for (int j = 1; j < features; j++) {
+            gram[j][j] += 1e-3;
+        }
+        mirror(gram);
+        return solve(gram, moment);
+    }
+
+    private static void mirror(double[][] upper) {
+        for (int j = 0; j < upper.length; j++) {
+            for (int k = 0; k < j; k++) {
+                upper[j][k] = upper[k][j];
+            }
+        }
+    }
+
+    // Gaussian elimination with partial pivoting; the systems here are at most 14x14
+    private static double[] solve(double[][] matrix, double[] vector) {
+        int n = vector.length;
+        double[][] a = new double[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = Arrays.copyOf(matrix[i], n + 1);
+            a[i][n] = vector[i];
+        }
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            double[] swap = a[col];
+            a[col] = a[pivot];
+            a[pivot] = swap;
+            if (Math.abs(a[col][col]) < 1e-12) {
+                continue;
+            }
+            for (int row = col + 1; row < n; row++) {
+                double factor = a[row][col] / a[col][col];
+                for (int k = col; k <= n; k++) {
+                    a[row][k] -= factor * a[col][k];
+                }
+            }
+        }
+        double[] solution = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int k = row + 1; k < n; k++) {
+                sum -= a[row][k] * solution[k];
+            }
+            solution[row] = Math.abs(a[row][row]) < 1e-12 ? 0 : sum / a[row][row];
+        }
+        return solution;
+    }
+
+    private static double dot(double[] weights, double[] x) {
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += weights[i] * x[i];
+        }
+        return sum;
+    }
+
+    private static double sigmoid(double z) {
+        return 1 / (1 + Math.exp(-z));
+    }
+}
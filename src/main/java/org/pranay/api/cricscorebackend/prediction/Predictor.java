@@ -0,0 +1,15 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import org.pranay.api.cricscorebackend.dto.Prediction;
+
+import java.util.Map;
+import java.util.Optional;
+
+// A prediction engine for the match data built by PredictionService.extractMatchData.
+// Empty means this engine could not answer for that match (unsupported format, model not loaded, service down).
+public interface Predictor {
+
+    Optional<Prediction> predict(Map<String, Object> matchData);
+
+    boolean isAvailable();
+}
@@ -0,0 +1,156 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.pranay.api.cricscorebackend.entities.BatsmanPerformance;
+import org.pranay.api.cricscorebackend.entities.BowlerPerformance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Keeps the batting and bowling rows of an innings in step with the scorecard. The stored rows are read back
+// and compared with the scraped ones, and only the rows that differ are written, as one JDBC batch of upserts
+// per table; in a live innings that is the two batters at the crease and the bowler, not the whole card.
+// Rows are keyed by (innings, player name), so two players listed under the same name in one innings share a
+// row: only the first line is stored and the clash is logged.
+@Repository
+public class InningsRowRepo {
+    private static final Logger logger = LoggerFactory.getLogger(InningsRowRepo.class);
+
+    private static final String FIND_BATTING_SQL =
+            "SELECT innings_id, batsman_name, position, runs_scored, balls_faced, fours, sixes, strike_rate, " +
+            "dismissal_info FROM innings_batting WHERE innings_id = ?";
+
+    private static final String UPSERT_BATTING_SQL =
+            "INSERT INTO innings_batting (innings_id, batsman_name, position, runs_scored, balls_faced, fours, " +
+            "sixes, strike_rate, dismissal_info) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE position = VALUES(position), runs_scored = VALUES(runs_scored), " +
+            "balls_faced = VALUES(balls_faced), fours = VALUES(fours), sixes = VALUES(sixes), " +
+            "strike_rate = VALUES(strike_rate), dismissal_info = VALUES(dismissal_info)";
+
+    private static final String DELETE_BATTING_SQL =
+            "DELETE FROM innings_batting WHERE innings_id = ? AND batsman_name = ?";
+
+    private static final String FIND_BOWLING_SQL =
+            "SELECT innings_id, bowler_name, position, over_bowled, runs_scored, wickets_taken, economy_rate " +
+            "FROM innings_bowling WHERE innings_id = ?";
+
+    private static final String UPSERT_BOWLING_SQL =
+            "INSERT INTO innings_bowling (innings_id, bowler_name, position, over_bowled, runs_scored, " +
+            "wickets_taken, economy_rate) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE position = VALUES(position), over_bowled = VALUES(over_bowled), " +
+            "runs_scored = VALUES(runs_scored), wickets_taken = VALUES(wickets_taken), " +
+            "economy_rate = VALUES(economy_rate)";
+
+    private static final String DELETE_BOWLING_SQL =
+            "DELETE FROM innings_bowling WHERE innings_id = ? AND bowler_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InningsRowRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Brings the stored rows of the innings in line with the given ones and returns how many rows were written
+    public int syncRows(int inningsId, List<BatsmanPerformance> batting, List<BowlerPerformance> bowling) {
+        return syncBatting(inningsId, batting) + syncBowling(inningsId, bowling);
+    }
+
+    public void deleteRows(int inningsId) {
+        jdbcTemplate.update("DELETE FROM innings_batting WHERE innings_id = ?", inningsId);
+        jdbcTemplate.update("DELETE FROM innings_bowling WHERE innings_id = ?", inningsId);
+    }
+
+    private int syncBatting(int inningsId, List<BatsmanPerformance> batting) {
+        Map<String, BatsmanPerformance> stored = new HashMap<>();
+        jdbcTemplate.query(FIND_BATTING_SQL, rs -> {
+            stored.put(rs.getString("batsman_name"), new BatsmanPerformance(rs.getInt("innings_id"),
+                    rs.getString("batsman_name"), rs.getInt("position"), rs.getInt("runs_scored"),
+                    rs.getInt("balls_faced"), rs.getInt("fours"), rs.getInt("sixes"), rs.getInt("strike_rate"),
+                    rs.getString("dismissal_info")));
+        }, inningsId);
+
+        List<BatsmanPerformance> changed = new ArrayList<>();
+        for (BatsmanPerformance row : firstPerName(inningsId, "batter", batting, BatsmanPerformance::getBatsmanName)) {
+            row.setInningsId(inningsId);
+            if (!row.equals(stored.remove(row.getBatsmanName()))) {
+                changed.add(row);
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_BATTING_SQL, changed, changed.size(), (ps, row) -> {
+                ps.setInt(1, row.getInningsId());
+                ps.setString(2, row.getBatsmanName());
+                ps.setInt(3, row.getPosition());
+                ps.setInt(4, row.getRunsScored());
+                ps.setInt(5, row.getBallsFaced());
+                ps.setInt(6, row.getFours());
+                ps.setInt(7, row.getSixes());
+                ps.setInt(8, row.getStrikeRate());
+                ps.setString(9, row.getDismissalInfo());
+            });
+        }
+        // whatever is left was dropped from the card, e.g. a misspelt name that got corrected
+        if (!stored.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_BATTING_SQL, List.copyOf(stored.keySet()), stored.size(),
+                    (ps, name) -> {
+                        ps.setInt(1, inningsId);
+                        ps.setString(2, name);
+                    });
+        }
+        return changed.size() + stored.size();
+    }
+
+    private int syncBowling(int inningsId, List<BowlerPerformance> bowling) {
+        Map<String, BowlerPerformance> stored = new HashMap<>();
+        jdbcTemplate.query(FIND_BOWLING_SQL, rs -> {
+            stored.put(rs.getString("bowler_name"), new BowlerPerformance(rs.getInt("innings_id"),
+                    rs.getString("bowler_name"), rs.getInt("position"), rs.getString("over_bowled"),
+                    rs.getInt("runs_scored"), rs.getInt("wickets_taken"), rs.getDouble("economy_rate")));
+        }, inningsId);
+
+        List<BowlerPerformance> changed = new ArrayList<>();
+        for (BowlerPerformance row : firstPerName(inningsId, "bowler", bowling, BowlerPerformance::getBowlerName)) {
+            row.setInningsId(inningsId);
+            if (!row.equals(stored.remove(row.getBowlerName()))) {
+                changed.add(row);
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_BOWLING_SQL, changed, changed.size(), (ps, row) -> {
+                ps.setInt(1, row.getInningsId());
+                ps.setString(2, row.getBowlerName());
+                ps.setInt(3, row.getPosition());
+                ps.setString(4, row.getOverBowled());
+                ps.setInt(5, row.getRunsScored());
+                ps.setInt(6, row.getWicketsTaken());
+                ps.setDouble(7, row.getEconomyRate());
+            });
+        }
+        if (!stored.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_BOWLING_SQL, List.copyOf(stored.keySet()), stored.size(),
+                    (ps, name) -> {
+                        ps.setInt(1, inningsId);
+                        ps.setString(2, name);
+                    });
+        }
+        return changed.size() + stored.size();
+    }
+
+    private static <T> List<T> firstPerName(int inningsId, String role, List<T> rows, Function<T, String> name) {
+        Map<String, T> byName = new LinkedHashMap<>();
+        for (T row : rows) {
+            if (byName.putIfAbsent(name.apply(row), row) != null) {
+                logger.warn("Innings {} lists {} {} more than once; only the first line is stored",
+                        inningsId, role, name.apply(row));
+            }
+        }
+        return byName.size() == rows.size() ? rows : List.copyOf(byName.values());
+    }
+}
@@ -0,0 +1,60 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// MatchUpsertRepo relies on the unique key on cric_matches.match_link: without it every upsert inserts a new row
+// and the id lookup returns any of them. ddl-auto=update only logs it when it cannot add the key (duplicate links
+// left by the old teamHeading-keyed saves), so startup is stopped here instead. The fix is
+// db/dedupe_match_link.sql.
+@Component
+public class MatchLinkKeyCheck implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MatchLinkKeyCheck.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchLinkKeyCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!hasMatchLinkKey()) {
+            throw new IllegalStateException("cric_matches has no unique key on match_link, so live scores would be " +
+                    "inserted again on every scrape. Remove the duplicate links and add the key with " +
+                    "db/dedupe_match_link.sql, then restart.");
+        }
+        logger.debug("cric_matches.match_link unique key present");
+    }
+
+    boolean hasMatchLinkKey() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // unique index name -> its columns
+            Map<String, List<String>> indexes = new HashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, "cric_matches", true, false)) {
+                while (rs.next()) {
+                    if (rs.getString("INDEX_NAME") != null && rs.getString("COLUMN_NAME") != null) {
+                        indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new ArrayList<>())
+                                .add(rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+            return indexes.values().stream()
+                    .anyMatch(columns -> columns.size() == 1 && columns.get(0).equalsIgnoreCase("match_link"));
+        });
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -0,0 +1,71 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.pranay.api.cricscorebackend.dto.MatchCursor;
+import org.pranay.api.cricscorebackend.dto.MatchSummary;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pages through cric_matches newest first with keyset pagination on (date, match_id): each page starts right
+// after the last row of the previous one, so a page costs the same however deep it is, unlike an OFFSET that
+// reads and throws away every row before it. Status and format filters are only added to the SQL when given,
+// so each combination matches one of the composite indexes declared on Match.
+@Repository
+public class MatchPageRepo {
+
+    private static final String SELECT_SQL =
+            "SELECT match_id, team_heading, match_number_venue, batting_team, batting_team_score, bowling_team, " +
+            "bowling_team_score, live_text, match_link, status, match_format, date FROM cric_matches";
+
+    private static final matchStatus[] STATUSES = matchStatus.values();
+
+    private static final RowMapper<MatchSummary> SUMMARY = (rs, rowNum) -> {
+        int status = rs.getInt("status");
+        return new MatchSummary(rs.getInt("match_id"), rs.getString("team_heading"),
+                rs.getString("match_number_venue"), rs.getString("batting_team"),
+                rs.getString("batting_team_score"), rs.getString("bowling_team"),
+                rs.getString("bowling_team_score"), rs.getString("live_text"), rs.getString("match_link"),
+                // @Enumerated defaults to ORDINAL
+                rs.wasNull() ? null : STATUSES[status],
+                rs.getString("match_format"), rs.getTimestamp("date"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchPageRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Up to limit matches after the cursor (from the newest when it is null), optionally filtered
+    public List<MatchSummary> findPage(matchStatus status, String format, MatchCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        String where = " WHERE ";
+        if (status != null) {
+            sql.append(where).append("status = ?");
+            args.add(status.ordinal());
+            where = " AND ";
+        }
+        if (format != null) {
+            sql.append(where).append("match_format = ?");
+            args.add(format);
+            where = " AND ";
+        }
+        if (after != null) {
+            // spelled out rather than (date, match_id) < (?, ?), which MySQL does not always turn into a range scan
+            Timestamp date = new Timestamp(after.dateMillis());
+            sql.append(where).append("(date < ? OR (date = ? AND match_id < ?))");
+            args.add(date);
+            args.add(date);
+            args.add(after.matchId());
+        }
+        sql.append(" ORDER BY date DESC, match_id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SUMMARY, args.toArray());
+    }
+}
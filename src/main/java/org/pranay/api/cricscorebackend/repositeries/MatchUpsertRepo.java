@@ -0,0 +1,76 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes a whole scrape cycle to cric_matches as one JDBC batch of upserts keyed on the unique match_link.
+// Toss winner/decision are left alone on update since they are entered manually, and date stays the time the
+// match was first seen: it is the sort key MatchPageRepo pages on, so a live update must not move the row.
+@Repository
+public class MatchUpsertRepo {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO cric_matches (team_heading, match_number_venue, batting_team, batting_team_score, " +
+            "bowling_team, bowling_team_score, live_text, text_complete, match_link, status, match_format, date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE team_heading = VALUES(team_heading), " +
+            "match_number_venue = VALUES(match_number_venue), batting_team = VALUES(batting_team), " +
+            "batting_team_score = VALUES(batting_team_score), bowling_team = VALUES(bowling_team), " +
+            "bowling_team_score = VALUES(bowling_team_score), live_text = VALUES(live_text), " +
+            "text_complete = VALUES(text_complete), status = VALUES(status), " +
+            "match_format = VALUES(match_format)";
+
+    private static final String FIND_IDS_SQL =
+            "SELECT match_id, match_link FROM cric_matches WHERE match_link IN (:links)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public MatchUpsertRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void upsertAll(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, matches, matches.size(), (ps, match) -> {
+            ps.setString(1, match.getTeamHeading());
+            ps.setString(2, match.getMatchNumberVenue());
+            ps.setString(3, match.getBattingTeam());
+            ps.setString(4, match.getBattingTeamScore());
+            ps.setString(5, match.getBowlingTeam());
+            ps.setString(6, match.getBowlingTeamScore());
+            ps.setString(7, match.getLiveText());
+            ps.setString(8, match.getTextComplete());
+            ps.setString(9, match.getMatchLink());
+            // @Enumerated defaults to ORDINAL
+            ps.setObject(10, match.getStatus() == null ? null : match.getStatus().ordinal());
+            ps.setString(11, match.getMatchFormat());
+            ps.setTimestamp(12, new Timestamp(match.getDate().getTime()));
+        });
+    }
+
+    // match_link -> match_id for the given links, in a single query
+    public Map<String, Integer> findIdsByMatchLinks(Collection<String> matchLinks) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (matchLinks.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query(FIND_IDS_SQL, new MapSqlParameterSource("links", matchLinks),
+                rs -> {
+                    ids.put(rs.getString("match_link"), rs.getInt("match_id"));
+                });
+        return ids;
+    }
+}
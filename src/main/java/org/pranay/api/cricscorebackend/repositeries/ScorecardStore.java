@@ -0,0 +1,72 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.pranay.api.cricscorebackend.entities.Innings;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.Scorecard;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Writes a freshly scraped scorecard over the stored one, one scorecard per match. Innings are matched by their
+// place on the card and updated in place so they keep their ids, and the player rows under them are synced
+// row by row through InningsRowRepo.
+@Repository
+public class ScorecardStore {
+
+    private final ScorecardRepo scorecardRepo;
+    private final MatchRepo matchRepo;
+    private final InningsRowRepo inningsRowRepo;
+
+    public ScorecardStore(ScorecardRepo scorecardRepo, MatchRepo matchRepo, InningsRowRepo inningsRowRepo) {
+        this.scorecardRepo = scorecardRepo;
+        this.matchRepo = matchRepo;
+        this.inningsRowRepo = inningsRowRepo;
+    }
+
+    // Returns the number of batting and bowling rows written
+    @Transactional
+    public int replaceInnings(int matchId, List<Innings> innings) {
+        Match match = matchRepo.getReferenceById(matchId);
+        Scorecard scorecard = scorecardRepo.findByMatch(match).orElseGet(() -> {
+            Scorecard created = new Scorecard();
+            created.setMatch(match);
+            return created;
+        });
+
+        // only the innings fields are copied: the player rows are not part of the entity write
+        List<Innings> stored = scorecard.getInningsList();
+        for (int i = 0; i < innings.size(); i++) {
+            Innings target;
+            if (i < stored.size()) {
+                target = stored.get(i);
+            } else {
+                target = new Innings();
+                scorecard.addInnings(target);
+            }
+            copyTotals(innings.get(i), target);
+        }
+        // index-based removal: the Lombok equals/hashCode of Scorecard and Innings refer to each other
+        while (stored.size() > innings.size()) {
+            inningsRowRepo.deleteRows(stored.remove(stored.size() - 1).getInningsId());
+        }
+        scorecardRepo.saveAndFlush(scorecard); // new innings get their ids
+
+        int rowsWritten = 0;
+        for (int i = 0; i < innings.size(); i++) {
+            rowsWritten += inningsRowRepo.syncRows(stored.get(i).getInningsId(),
+                    innings.get(i).getBattingDetails(), innings.get(i).getBowlingDetails());
+        }
+        return rowsWritten;
+    }
+
+    private static void copyTotals(Innings from, Innings to) {
+        to.setTeamName(from.getTeamName());
+        to.setRunsScored(from.getRunsScored());
+        to.setWicketsLost(from.getWicketsLost());
+        to.setOverBowled(from.getOverBowled());
+        to.setExtras(from.getExtras());
+        to.setFallOfWickets(from.getFallOfWickets());
+        to.setStatus(from.getStatus());
+    }
+}
@@ -6,39 +6,46 @@ import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.renderer.category.LineAndShapeRenderer;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.pranay.api.cricscorebackend.config.CacheConfig;
+import org.pranay.api.cricscorebackend.dto.ChartDataDTO;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.helper.ParsedScore;
+import org.pranay.api.cricscorebackend.helper.ScoreParser;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore.InningsScore;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 public class ChartService {
-    private Map<String, List<InningsScore>> matchScoreHistory = new HashMap<>();
-
-    private static class InningsScore {
-        int inningsNumber;
-        int runs;
-        boolean declared;
-        boolean followOn;
-        String teamName;
-        long timestamp;
-
-        InningsScore(int inningsNumber, int runs, boolean declared, boolean followOn, String teamName) {
-            this.inningsNumber = inningsNumber;
-            this.runs = runs;
-            this.declared = declared;
-            this.followOn = followOn;
-            this.teamName = teamName;
-            this.timestamp = System.currentTimeMillis();
-        }
+    private static final String[] WORM_COLOURS = {"#0066cc", "#cc0000", "#339933", "#ff9900"};
+    private static final ThreadLocal<ParsedScore> PARSED_SCORE = ThreadLocal.withInitial(ParsedScore::new);
+    private final ScoreHistoryStore scoreHistory;
+    // distinguishes versions from an earlier run of the application in ETags
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private final Cache chartCache;
+
+    public record RenderedChart(byte[] png, String etag) {
+    }
+
+    // Over-by-over data for one innings, ready for worm, Manhattan and run-rate charts
+    public record InningsSeries(String teamName, int inningsNumber, int[] overs, int[] worm, int[] manhattan,
+                                double[] runRate, int[] wickets, long[] timestamps) {
+    }
+
+    public ChartService(CacheManager cacheManager, ScoreHistoryStore scoreHistory) {
+        this.chartCache = cacheManager.getCache(CacheConfig.PROGRESSIVE_CHARTS);
+        this.scoreHistory = scoreHistory;
     }
 
     public void updateMatchScore(Match match) {
@@ -47,78 +54,190 @@ public class ChartService {
         String bowlingTeam = match.getBowlingTeam().replace(".", "").trim();
 
         // Parse batting team's score(s)
-        List<InningsScore> battingScores = parseMultiInningsScore(match.getBattingTeamScore(), battingTeam);
-        List<InningsScore> bowlingScores = parseMultiInningsScore(match.getBowlingTeamScore(), bowlingTeam);
-
-        // Update history
-        String matchKey = String.valueOf(match.getMatchId());
-        List<InningsScore> matchScores = matchScoreHistory.computeIfAbsent(matchKey, k -> new ArrayList<>());
+        List<InningsScore> scores = new ArrayList<>(parseMultiInningsScore(match.getBattingTeamScore(), battingTeam));
+        scores.addAll(parseMultiInningsScore(match.getBowlingTeamScore(), bowlingTeam));
 
         // Update or add new scores
-        updateInningsScores(matchScores, battingScores);
-        updateInningsScores(matchScores, bowlingScores);
-    }
-
-    private void updateInningsScores(List<InningsScore> existingScores, List<InningsScore> newScores) {
-        for (InningsScore newScore : newScores) {
-            boolean scoreExists = false;
-            for (InningsScore existingScore : existingScores) {
-                if (existingScore.teamName.equals(newScore.teamName) &&
-                        existingScore.inningsNumber == newScore.inningsNumber) {
-                    existingScore.runs = newScore.runs;
-                    existingScore.declared = newScore.declared;
-                    existingScore.followOn = newScore.followOn;
-                    existingScore.timestamp = newScore.timestamp;
-                    scoreExists = true;
-                    break;
-                }
-            }
-            if (!scoreExists) {
-                existingScores.add(newScore);
-            }
+        String matchKey = String.valueOf(match.getMatchId());
+        ScoreHistoryStore.Update update = scoreHistory.update(matchKey, match.getMatchFormat(), scores,
+                match.getStatus() == matchStatus.COMPLETED);
+        if (update.changed()) {
+            chartCache.evict(cacheKey(matchKey, update.previousVersion()));
+            chartCache.evict(svgCacheKey(matchKey, update.previousVersion()));
         }
     }
 
     private List<InningsScore> parseMultiInningsScore(String scoreStr, String teamName) {
-        List<InningsScore> scores = new ArrayList<>();
-        if (scoreStr == null || scoreStr.isEmpty()) {
-            return scores;
+        ParsedScore parsed = PARSED_SCORE.get();
+        if (!ScoreParser.parse(scoreStr, parsed)) {
+            return List.of();
         }
 
-        // Split multiple innings scores (separated by &)
-        String[] inningsScores = scoreStr.split("&");
-        boolean followOn = scoreStr.contains("f/o");
+        List<InningsScore> scores = new ArrayList<>(parsed.inningsCount());
+        long now = System.currentTimeMillis();
+        int teamId = TeamNameStandardizer.registry().idOf(teamName);
+        for (int i = 0; i < parsed.inningsCount(); i++) {
+            scores.add(new InningsScore(i + 1, parsed.runs(i), parsed.wickets(i), parsed.balls(i),
+                    parsed.declared(i), parsed.followOn(), teamName, teamId, now));
+        }
+        return scores;
+    }
 
-        for (int i = 0; i < inningsScores.length; i++) {
-            String innings = inningsScores[i].trim();
+    // Time series of every innings that has one, in innings order
+    public List<InningsSeries> getInningsSeries(String matchId) {
+        return scoreHistory.get(matchId).map(ChartService::inningsSeries).orElse(List.of());
+    }
 
-            // Parse each innings score
-            Pattern pattern = Pattern.compile("(\\d+)(?:[-/](\\d+))?(\\s*d)?");
-            Matcher matcher = pattern.matcher(innings);
+    private static List<InningsSeries> inningsSeries(ScoreHistoryStore.MatchHistory history) {
+        List<InningsSeries> series = new ArrayList<>();
+        for (InningsScore score : history.innings()) {
+            history.samplesFor(score).ifPresent(samples -> {
+                series.add(new InningsSeries(score.teamName(), score.inningsNumber(), samples.overs(),
+                        samples.worm(), samples.manhattan(), samples.runRate(), samples.wickets(),
+                        samples.timestamps()));
+            });
+        }
+        series.sort(Comparator.comparingInt(InningsSeries::inningsNumber)
+                .thenComparingLong(innings -> innings.timestamps().length == 0 ? 0 : innings.timestamps()[0]));
+        return series;
+    }
 
-            if (matcher.find()) {
-                int runs = Integer.parseInt(matcher.group(1));
-                boolean declared = matcher.group(3) != null; // Check for 'd' (declaration)
+    // Series data for client-side rendering, optionally with the worm chart as SVG (built once per version).
+    // Version, innings and series all come from one MatchHistory read, so the body is exactly that version.
+    public ChartDataDTO getChartData(String matchId, boolean includeSvg) {
+        Optional<ScoreHistoryStore.MatchHistory> history = scoreHistory.get(matchId);
+        long version = history.map(ScoreHistoryStore.MatchHistory::version).orElse(0L);
+        List<InningsScore> innings = history.map(ScoreHistoryStore.MatchHistory::innings).orElse(List.of());
+        List<InningsSeries> series = history.map(ChartService::inningsSeries).orElse(List.of());
+
+        List<ChartDataDTO.InningsData> data = new ArrayList<>();
+        for (InningsScore score : innings) {
+            InningsSeries overs = series.stream()
+                    .filter(s -> s.inningsNumber() == score.inningsNumber() && s.teamName().equals(score.teamName()))
+                    .findFirst()
+                    .orElse(new InningsSeries(score.teamName(), score.inningsNumber(), new int[0], new int[0],
+                            new int[0], new double[0], new int[0], new long[0]));
+            data.add(new ChartDataDTO.InningsData(score.teamName(), score.inningsNumber(), score.runs(),
+                    score.wickets(), score.declared(), score.followOn(), overs.overs(), overs.worm(),
+                    overs.manhattan(), roundRates(overs.runRate()), overs.wickets()));
+        }
+        data.sort(Comparator.comparingInt(ChartDataDTO.InningsData::getInningsNumber));
 
-                scores.add(new InningsScore(i + 1, runs, declared, followOn, teamName));
+        String svg = null;
+        if (includeSvg) {
+            byte[] svgBytes = chartCache.get(svgCacheKey(matchId, version),
+                    () -> renderWormSvg(series).getBytes(StandardCharsets.UTF_8));
+            svg = new String(svgBytes, StandardCharsets.UTF_8);
+        }
+        return new ChartDataDTO(matchId, version, data, svg);
+    }
+
+    // ETag of the chart data; the SVG variant is a different representation and gets its own tag
+    public String chartDataEtag(String matchId, boolean includeSvg) {
+        return chartDataEtag(matchId, scoreVersion(matchId), includeSvg);
+    }
+
+    public String chartDataEtag(String matchId, long version, boolean includeSvg) {
+        return "\"" + matchId + "-" + version + "-" + instanceTag + (includeSvg ? "-data-svg" : "-data") + "\"";
+    }
+
+    private static double[] roundRates(double[] rates) {
+        double[] rounded = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            rounded[i] = Math.round(rates[i] * 100) / 100.0;
+        }
+        return rounded;
+    }
+
+    // Worm chart (cumulative runs against overs) as a small standalone SVG document
+    private String renderWormSvg(List<InningsSeries> series) {
+        int width = 800, height = 400, margin = 40;
+        int maxOver = 1, maxRuns = 1;
+        for (InningsSeries innings : series) {
+            for (int i = 0; i < innings.overs().length; i++) {
+                maxOver = Math.max(maxOver, innings.overs()[i]);
+                maxRuns = Math.max(maxRuns, innings.worm()[i]);
+            }
+        }
+        double xScale = (width - 2.0 * margin) / maxOver;
+        double yScale = (height - 2.0 * margin) / maxRuns;
+
+        StringBuilder svg = new StringBuilder(1024);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ").append(width).append(' ')
+                .append(height).append("\">");
+        svg.append("<path d=\"M").append(margin).append(' ').append(margin).append('V').append(height - margin)
+                .append('H').append(width - margin).append("\" fill=\"none\" stroke=\"#999\"/>");
+        svg.append("<text x=\"").append(width - margin).append("\" y=\"").append(height - margin / 4)
+                .append("\" text-anchor=\"end\" font-size=\"12\">").append(maxOver).append(" ov</text>");
+        svg.append("<text x=\"").append(margin - 4).append("\" y=\"").append(margin)
+                .append("\" text-anchor=\"end\" font-size=\"12\">").append(maxRuns).append("</text>");
+        for (int s = 0; s < series.size(); s++) {
+            InningsSeries innings = series.get(s);
+            svg.append("<polyline fill=\"none\" stroke-width=\"2\" stroke=\"")
+                    .append(WORM_COLOURS[s % WORM_COLOURS.length]).append("\" points=\"")
+                    .append(margin).append(',').append(height - margin);
+            for (int i = 0; i < innings.overs().length; i++) {
+                svg.append(' ').append(Math.round(margin + innings.overs()[i] * xScale))
+                        .append(',').append(Math.round(height - margin - innings.worm()[i] * yScale));
             }
+            svg.append("\"><title>").append(escapeXml(innings.teamName())).append(" innings ")
+                    .append(innings.inningsNumber()).append("</title></polyline>");
         }
+        return svg.append("</svg>").toString();
+    }
 
-        return scores;
+    private static String escapeXml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    public long scoreVersion(String matchId) {
+        return scoreHistory.version(matchId);
+    }
+
+    // ETag of the chart for the match's current score version; known without rendering anything
+    public String chartEtag(String matchId) {
+        return chartEtag(matchId, scoreVersion(matchId));
+    }
+
+    private String chartEtag(String matchId, long version) {
+        return "\"" + matchId + "-" + version + "-" + instanceTag + "\"";
+    }
+
+    // Rendered once per match and score version, then served from the progressiveCharts cache; the chart is
+    // drawn from the same MatchHistory its version and cache key come from
+    public RenderedChart getRunsProgressionChart(String matchId) {
+        Optional<ScoreHistoryStore.MatchHistory> history = scoreHistory.get(matchId);
+        long version = history.map(ScoreHistoryStore.MatchHistory::version).orElse(0L);
+        byte[] png = chartCache.get(cacheKey(matchId, version), () -> generateRunsProgressionChart(
+                history.map(ScoreHistoryStore.MatchHistory::innings).orElse(List.of())));
+        return new RenderedChart(png, chartEtag(matchId, version));
+    }
+
+    private static String cacheKey(String matchId, long version) {
+        return matchId + ":" + version;
+    }
+
+    private static String svgCacheKey(String matchId, long version) {
+        return matchId + ":" + version + ":svg";
     }
 
     public byte[] generateRunsProgressionChart(String matchId) {
+        return generateRunsProgressionChart(scoreHistory.get(matchId)
+                .map(ScoreHistoryStore.MatchHistory::innings)
+                .orElse(List.of()));
+    }
+
+    private byte[] generateRunsProgressionChart(List<InningsScore> matchScores) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-        List<InningsScore> matchScores = matchScoreHistory.get(matchId);
-        if (matchScores == null || matchScores.isEmpty()) {
+        if (matchScores.isEmpty()) {
             return createEmptyChart();
         }
 
         // Group scores by team
         Map<String, List<InningsScore>> teamScores = new HashMap<>();
         for (InningsScore score : matchScores) {
-            teamScores.computeIfAbsent(score.teamName, k -> new ArrayList<>()).add(score);
+            teamScores.computeIfAbsent(score.teamName(), k -> new ArrayList<>()).add(score);
         }
 
         // Add data points for each team
@@ -127,10 +246,10 @@ public class ChartService {
             List<InningsScore> scores = entry.getValue();
 
             for (InningsScore score : scores) {
-                String label = "Innings " + score.inningsNumber +
-                        (score.declared ? " (d)" : "") +
-                        (score.followOn ? " (f/o)" : "");
-                dataset.addValue(score.runs, team, label);
+                String label = "Innings " + score.inningsNumber() +
+                        (score.declared() ? " (d)" : "") +
+                        (score.followOn() ? " (f/o)" : "");
+                dataset.addValue(score.runs(), team, label);
             }
         }
 
@@ -0,0 +1,216 @@
+package org.pranay.api.cricscorebackend.services;
+
+import java.util.concurrent.locks.StampedLock;
+
+// Over-by-over score samples for one innings, kept in fixed-size primitive ring buffers: 9 bytes per over,
+// sized by capacityFor(format) so a T20 innings takes about 200 bytes and a Test innings about 3.5 KB. Each over
+// has one slot holding the latest score seen during it, so worm, Manhattan and run-rate series come straight
+// out of the arrays. If an innings still outgrows the capacity the oldest overs are overwritten.
+// There is a single writer per innings (ScoreHistoryStore serialises writes per match). Readers copy the
+// arrays under an optimistic StampedLock read and only retry, or fall back to a read lock, if a write raced them.
+// The writer takes a Mark after each write; snapshot(mark) reads the series as it was at that mark, which is how
+// a MatchHistory keeps showing its own version of a series that later scrapes keep writing to.
+public final class InningsTimeSeries {
+    // Tests and unknown formats: more overs than any Test innings has lasted
+    public static final int DEFAULT_CAPACITY = 400;
+    private static final int BYTES_PER_OVER = Short.BYTES * 2 + Byte.BYTES + Integer.BYTES;
+
+    private final short[] balls;
+    private final short[] runs;
+    private final byte[] wickets;
+    // seconds since startMillis
+    private final int[] offsets;
+    private final long startMillis;
+    private final StampedLock lock = new StampedLock();
+    private int head;
+    private int count;
+    // slots started since the series was created, including ones that overwrote the oldest over
+    private long appended;
+
+    // Where the series stood after one write: its window in the ring and the latest sample, which later
+    // writes in the same over overwrite in place
+    public record Mark(long appended, int head, int count, short balls, short runs, byte wickets, int offset) {
+    }
+
+    // A copy of the samples, oldest first; balls is the number of legal deliveries bowled
+    public record Samples(int[] overs, int[] balls, int[] runs, int[] wickets, long[] timestamps) {
+        public int size() {
+            return overs.length;
+        }
+
+        // Cumulative runs at the end of each over
+        public int[] worm() {
+            return runs.clone();
+        }
+
+        // Runs scored in each over; an over missed between two scrapes is folded into the next one
+        public int[] manhattan() {
+            int[] perOver = new int[runs.length];
+            for (int i = 0; i < runs.length; i++) {
+                perOver[i] = i == 0 ? runs[0] : runs[i] - runs[i - 1];
+            }
+            return perOver;
+        }
+
+        // Cumulative run rate (runs per six balls) at each sample
+        public double[] runRate() {
+            double[] rates = new double[runs.length];
+            for (int i = 0; i < runs.length; i++) {
+                rates[i] = balls[i] == 0 ? 0 : runs[i] * 6.0 / balls[i];
+            }
+            return rates;
+        }
+    }
+
+    // Overs to keep for an innings of the format, with room beyond the limit for a restarted or extended innings
+    public static int capacityFor(String matchFormat) {
+        return switch (matchFormat == null ? "" : matchFormat.toUpperCase()) {
+            case "T20" -> 24;
+            case "ODI" -> 56;
+            default -> DEFAULT_CAPACITY;
+        };
+    }
+
+    public InningsTimeSeries(long startMillis) {
+        this(DEFAULT_CAPACITY, startMillis);
+    }
+
+    public InningsTimeSeries(int capacity, long startMillis) {
+        this.balls = new short[capacity];
+        this.runs = new short[capacity];
+        this.wickets = new byte[capacity];
+        this.offsets = new int[capacity];
+        this.startMillis = startMillis;
+    }
+
+    // Records the score after the given number of balls. Returns false if nothing changed, or if the sample
+    // belongs to an over before the latest one (a late or corrected reading).
+    public boolean record(int ballsBowled, int totalRuns, int totalWickets, long timestampMillis) {
+        int over = overOf(ballsBowled);
+        int last = count == 0 ? -1 : (head + count - 1) % balls.length;
+        if (last >= 0) {
+            int lastOver = overOf(balls[last]);
+            if (over < lastOver) {
+                return false;
+            }
+            if (over == lastOver && balls[last] == ballsBowled && runs[last] == totalRuns
+                    && wickets[last] == totalWickets) {
+                return false;
+            }
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot;
+            if (last >= 0 && overOf(balls[last]) == over) {
+                slot = last;
+            } else if (count < balls.length) {
+                slot = (head + count) % balls.length;
+                count++;
+                appended++;
+            } else {
+                slot = head;
+                head = (head + 1) % balls.length;
+                appended++;
+            }
+            balls[slot] = (short) ballsBowled;
+            runs[slot] = (short) totalRuns;
+            wickets[slot] = (byte) totalWickets;
+            offsets[slot] = (int) ((timestampMillis - startMillis) / 1000);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    public Samples snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        Samples samples = copy();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                samples = copy();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return samples;
+    }
+
+    // Current position; only called by the writer, so it needs no lock
+    public Mark mark() {
+        if (count == 0) {
+            return new Mark(appended, head, 0, (short) 0, (short) 0, (byte) 0, 0);
+        }
+        int last = (head + count - 1) % balls.length;
+        return new Mark(appended, head, count, balls[last], runs[last], wickets[last], offsets[last]);
+    }
+
+    // The samples as they were at the mark. Overs started since are left out and the latest over shows the score
+    // it had then; overs the ring has overwritten since are gone, so the oldest ones may be missing.
+    public Samples snapshot(Mark mark) {
+        long stamp = lock.tryOptimisticRead();
+        Samples samples = copy(mark);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                samples = copy(mark);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return samples;
+    }
+
+    private Samples copy(Mark mark) {
+        int capacity = balls.length;
+        // slots started after the mark first fill the free space, then overwrite the mark's oldest overs
+        long overwritten = appended - mark.appended() - (capacity - mark.count());
+        int lost = (int) Math.max(0, Math.min(mark.count(), overwritten));
+        Samples samples = copy((mark.head() + lost) % capacity, mark.count() - lost);
+        int latest = samples.size() - 1;
+        if (latest >= 0) {
+            samples.balls()[latest] = mark.balls();
+            samples.overs()[latest] = overOf(mark.balls());
+            samples.runs()[latest] = mark.runs();
+            samples.wickets()[latest] = mark.wickets();
+            samples.timestamps()[latest] = startMillis + mark.offset() * 1000L;
+        }
+        return samples;
+    }
+
+    private Samples copy() {
+        return copy(head, count);
+    }
+
+    private Samples copy(int start, int size) {
+        int capacity = balls.length;
+        int[] overs = new int[size];
+        int[] ballsCopy = new int[size];
+        int[] runsCopy = new int[size];
+        int[] wicketsCopy = new int[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % capacity;
+            ballsCopy[i] = balls[slot];
+            overs[i] = overOf(balls[slot]);
+            runsCopy[i] = runs[slot];
+            wicketsCopy[i] = wickets[slot];
+            timestamps[i] = startMillis + offsets[slot] * 1000L;
+        }
+        return new Samples(overs, ballsCopy, runsCopy, wicketsCopy, timestamps);
+    }
+
+    public int capacity() {
+        return balls.length;
+    }
+
+    public long estimatedBytes() {
+        // four arrays with their headers, plus the object and its lock
+        return (long) balls.length * BYTES_PER_OVER + 4 * 16 + 64;
+    }
+
+    // Over in progress (or just completed) after the given number of balls: 0.1-1.0 is over 1
+    private static int overOf(int ballsBowled) {
+        return (ballsBowled + 5) / 6;
+    }
+}
@@ -0,0 +1,25 @@
+package org.pranay.api.cricscorebackend.services;
+
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.springframework.beans.BeanUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+// Immutable view of the live matches published by one scrape cycle.
+// Matches are copied on publish so later pipeline stages can't change what readers already see.
+public record LiveScoreSnapshot(long version, Instant publishedAt, List<Match> matches) {
+
+    public static final LiveScoreSnapshot EMPTY = new LiveScoreSnapshot(0, Instant.EPOCH, List.of());
+
+    public static LiveScoreSnapshot of(long version, List<Match> matches) {
+        List<Match> copies = matches.stream()
+                .map(match -> {
+                    Match copy = new Match();
+                    BeanUtils.copyProperties(match, copy);
+                    return copy;
+                })
+                .toList();
+        return new LiveScoreSnapshot(version, Instant.now(), copies);
+    }
+}
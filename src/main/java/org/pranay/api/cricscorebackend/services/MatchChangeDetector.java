@@ -0,0 +1,100 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Remembers a fingerprint of score, live text and status per match link so unchanged matches
+// can skip persist, broadcast, chart and prediction work on the next scrape.
+@Component
+public class MatchChangeDetector {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, Long> fingerprints = new ConcurrentHashMap<>();
+
+    private final Counter changedTotal;
+    private final Counter unchangedTotal;
+    private final AtomicInteger lastCycleChanged = new AtomicInteger();
+    private final AtomicInteger lastCycleUnchanged = new AtomicInteger();
+
+    public MatchChangeDetector(MeterRegistry registry) {
+        this.changedTotal = Counter.builder("match.changes").tag("result", "changed").register(registry);
+        this.unchangedTotal = Counter.builder("match.changes").tag("result", "unchanged").register(registry);
+        Gauge.builder("match.changes.last.cycle", lastCycleChanged, AtomicInteger::get)
+                .tag("result", "changed")
+                .register(registry);
+        Gauge.builder("match.changes.last.cycle", lastCycleUnchanged, AtomicInteger::get)
+                .tag("result", "unchanged")
+                .register(registry);
+    }
+
+    // Returns the matches whose fingerprint differs from the previous cycle.
+    // Fingerprints of matches that dropped off the page are discarded.
+    public List<Match> detectChanges(List<Match> matches) {
+        List<Match> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Match match : matches) {
+            seen.add(match.getMatchLink());
+            long current = fingerprint(match);
+            Long previous = fingerprints.put(match.getMatchLink(), current);
+            if (previous == null || previous != current) {
+                changed.add(match);
+            }
+        }
+        fingerprints.keySet().retainAll(seen);
+
+        int unchanged = matches.size() - changed.size();
+        changedTotal.increment(changed.size());
+        unchangedTotal.increment(unchanged);
+        lastCycleChanged.set(changed.size());
+        lastCycleUnchanged.set(unchanged);
+        return changed;
+    }
+
+    // Drop the stored fingerprint so the match is treated as changed next cycle, e.g. when its work was dropped
+    public void forget(Match match) {
+        fingerprints.remove(match.getMatchLink());
+    }
+
+    public int getLastCycleChanged() {
+        return lastCycleChanged.get();
+    }
+
+    public int getLastCycleUnchanged() {
+        return lastCycleUnchanged.get();
+    }
+
+    static long fingerprint(Match match) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, match.getBattingTeamScore());
+        hash = mix(hash, match.getBowlingTeamScore());
+        hash = mix(hash, match.getLiveText());
+        hash = mix(hash, match.getTextComplete());
+        hash = mix(hash, match.getStatus() == null ? null : match.getStatus().name());
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        }
+        // field separator so ("ab", "c") and ("a", "bc") differ
+        hash ^= 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+}
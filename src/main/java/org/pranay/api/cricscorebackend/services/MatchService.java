@@ -1,15 +1,22 @@
 package org.pranay.api.cricscorebackend.services;
 
+import org.pranay.api.cricscorebackend.dto.MatchPage;
 import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
 
 import java.util.List;
 
 public interface MatchService {
-    //get all matches
+    //get stored matches a page at a time, newest first; status and format may be null, cursor is null for the first page
+    MatchPage getMatches(matchStatus status, String format, String cursor, int limit);
     //get live matches
-    List<Match> getAllMatches();
     List<Match> getLiveMatchScores();
 
+    // latest published live snapshot, never triggers a scrape
+    LiveScoreSnapshot getLiveSnapshot();
+    // scrape now, sharing any scrape already in flight
+    LiveScoreSnapshot refreshLiveSnapshot();
+
     Match getMatchById(int matchId);
     void saveMatch(Match match);
 }
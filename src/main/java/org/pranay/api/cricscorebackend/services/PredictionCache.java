@@ -0,0 +1,146 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.pranay.api.cricscorebackend.dto.Prediction;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+// Latest prediction per match, tagged with the score state (runs, wickets, overs, batting team) it was made for.
+// The scheduled scrape fills it; REST reads are served from it. An entry for an older score state, or one past
+// its TTL, is still returned while a background refresh fetches the new one (stale-while-revalidate).
+@Component
+public class PredictionCache {
+    private static final Logger logger = LoggerFactory.getLogger(PredictionCache.class);
+
+    public record ScoreState(int runs, int wickets, double overs, String battingTeam) {
+        static ScoreState of(Map<String, Object> matchData) {
+            return new ScoreState((int) matchData.get("current_score"), (int) matchData.get("current_wickets"),
+                    (double) matchData.get("current_over"), (String) matchData.get("batting_team"));
+        }
+    }
+
+    public record CachedPrediction(ScoreState scoreState, Prediction prediction, long fetchedAtMillis) {
+        public long ageMillis() {
+            return System.currentTimeMillis() - fetchedAtMillis;
+        }
+    }
+
+    private final PredictionService predictionService;
+    private final long ttlMillis;
+    private final long expireMillis;
+
+    // match link -> latest prediction
+    private final Map<String, CachedPrediction> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final DistributionSummary servedAge;
+
+    public PredictionCache(PredictionService predictionService, MeterRegistry registry,
+                           @Value("${prediction.cache.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${prediction.cache.expire-seconds:21600}") long expireSeconds,
+                           @Value("${prediction.cache.refresh-threads:2}") int refreshThreads) {
+        this.predictionService = predictionService;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.expireMillis = TimeUnit.SECONDS.toMillis(expireSeconds);
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), runnable -> {
+                    Thread thread = new Thread(runnable, "prediction-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.hits = Counter.builder("prediction.cache.requests").tag("result", "hit").register(registry);
+        this.staleHits = Counter.builder("prediction.cache.requests").tag("result", "stale").register(registry);
+        this.misses = Counter.builder("prediction.cache.requests").tag("result", "miss").register(registry);
+        this.servedAge = DistributionSummary.builder("prediction.cache.served.age")
+                .baseUnit("milliseconds")
+                .publishPercentiles(0.5, 0.95)
+                .register(registry);
+        Gauge.builder("prediction.cache.size", entries, Map::size).register(registry);
+    }
+
+    // Read path for REST endpoints
+    public Optional<CachedPrediction> get(Match match) {
+        Map<String, Object> matchData = predictionService.extractMatchData(match);
+        if (matchData == null) {
+            return Optional.empty();
+        }
+        ScoreState scoreState = ScoreState.of(matchData);
+        CachedPrediction cached = entries.get(match.getMatchLink());
+
+        if (cached != null && cached.scoreState().equals(scoreState) && cached.ageMillis() < ttlMillis) {
+            hits.increment();
+            servedAge.record(cached.ageMillis());
+            return Optional.of(cached);
+        }
+        if (cached != null) {
+            staleHits.increment();
+            servedAge.record(cached.ageMillis());
+            refreshInBackground(match.getMatchLink(), matchData);
+            return Optional.of(cached);
+        }
+        misses.increment();
+        return load(match.getMatchLink(), matchData);
+    }
+
+    // Write path for the scheduled scrape: always fetches and stores the prediction for the current score state
+    public Optional<CachedPrediction> refresh(Match match, Map<String, Object> matchData) {
+        return load(match.getMatchLink(), matchData);
+    }
+
+    private void refreshInBackground(String matchKey, Map<String, Object> matchData) {
+        if (!refreshing.add(matchKey)) {
+            return; // a refresh for this match is already running
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(matchKey, matchData);
+                } finally {
+                    refreshing.remove(matchKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(matchKey);
+        }
+    }
+
+    private Optional<CachedPrediction> load(String matchKey, Map<String, Object> matchData) {
+        Optional<CachedPrediction> loaded = predictionService.predict(matchData)
+                .map(prediction -> new CachedPrediction(ScoreState.of(matchData), prediction,
+                        System.currentTimeMillis()));
+        loaded.ifPresent(entry -> entries.put(matchKey, entry));
+        return loaded;
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void evictExpired() {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.ageMillis() > expireMillis);
+        if (entries.size() < before) {
+            logger.debug("Evicted {} expired predictions", before - entries.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
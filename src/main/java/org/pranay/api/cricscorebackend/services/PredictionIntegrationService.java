@@ -1,12 +1,19 @@
 package org.pranay.api.cricscorebackend.services;
 
+import jakarta.annotation.PreDestroy;
 import org.pranay.api.cricscorebackend.entities.Match;
 import org.pranay.api.cricscorebackend.entities.matchStatus;
 import org.pranay.api.cricscorebackend.services.PredictionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
@@ -16,9 +23,24 @@ import org.slf4j.LoggerFactory;
 public class PredictionIntegrationService {
     private static final Logger logger = LoggerFactory.getLogger(PredictionIntegrationService.class);
     private final PredictionService predictionService;
+    private final PredictionCache predictionCache;
+    private final ThreadPoolExecutor fanoutExecutor;
+    private final Duration fanoutDeadline;
 
-    public PredictionIntegrationService(PredictionService predictionService) {
+    public PredictionIntegrationService(PredictionService predictionService, PredictionCache predictionCache,
+                                        @Value("${prediction.fanout.concurrency:4}") int fanoutConcurrency,
+                                        @Value("${prediction.fanout.queue-capacity:200}") int fanoutQueueCapacity,
+                                        @Value("${prediction.fanout.deadline-ms:2000}") long fanoutDeadlineMillis) {
         this.predictionService = predictionService;
+        this.predictionCache = predictionCache;
+        this.fanoutDeadline = Duration.ofMillis(fanoutDeadlineMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanoutExecutor = new ThreadPoolExecutor(fanoutConcurrency, fanoutConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanoutQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "prediction-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     public void processPredictionForMatch(Match match) {
@@ -26,7 +48,7 @@ public class PredictionIntegrationService {
             logger.info("Processing prediction for match: {}", match.getTeamHeading());
             Map<String, Object> matchData = predictionService.extractMatchData(match);
             if (matchData != null) {
-                predictionService.getPredictionWithData(matchData);
+                predictionCache.refresh(match, matchData);
             } else {
                 logger.warn("Could not extract match data for prediction: {}", match.getTeamHeading());
             }
@@ -35,4 +57,37 @@ public class PredictionIntegrationService {
                     match.getTeamHeading(), match.getStatus());
         }
     }
-}
\ No newline at end of file
+
+    // Looks up predictions for the given matches concurrently, with at most prediction.fanout.concurrency
+    // lookups in flight across all requests. Lookups that miss the deadline are left running so they still
+    // fill the cache for the next request.
+    public List<CompletableFuture<Optional<PredictionCache.CachedPrediction>>> lookupPredictions(List<Match> matches) {
+        List<CompletableFuture<Optional<PredictionCache.CachedPrediction>>> lookups = matches.stream()
+                .map(this::lookupAsync)
+                .toList();
+        try {
+            CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                    .get(fanoutDeadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Prediction fan-out deadline of {}ms reached", fanoutDeadline.toMillis());
+        } catch (ExecutionException e) {
+            // individual failures are reported through their own futures
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return lookups;
+    }
+
+    private CompletableFuture<Optional<PredictionCache.CachedPrediction>> lookupAsync(Match match) {
+        try {
+            return CompletableFuture.supplyAsync(() -> predictionCache.get(match), fanoutExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanoutExecutor.shutdownNow();
+    }
+}
@@ -1,32 +1,39 @@
 package org.pranay.api.cricscorebackend.services;
 
+import org.pranay.api.cricscorebackend.dto.Prediction;
 import org.pranay.api.cricscorebackend.entities.Match;
 import org.pranay.api.cricscorebackend.entities.ScoreDetails;
+import org.pranay.api.cricscorebackend.helper.ParsedScore;
+import org.pranay.api.cricscorebackend.helper.ScoreParser;
 import org.pranay.api.cricscorebackend.helper.StadiumCityMapper;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.pranay.api.cricscorebackend.prediction.FlaskPredictor;
+import org.pranay.api.cricscorebackend.prediction.NativePredictor;
+import org.pranay.api.cricscorebackend.prediction.Predictor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 @Service
 public class PredictionService {
     private static final Logger logger = LoggerFactory.getLogger(PredictionService.class);
-    private final RestTemplate restTemplate;
-    private final String flaskBaseUrl;
-    private static final Pattern SCORE_PATTERN = Pattern.compile("(\\d+)-(\\d+)\\s*\\((\\d+(?:\\.\\d+)?)\\s*Ovs\\)");
+    private final Predictor nativePredictor;
+    private final Predictor flaskPredictor;
+    private final boolean nativeEngine;
+    private static final ThreadLocal<ParsedScore> PARSED_SCORE = ThreadLocal.withInitial(ParsedScore::new);
 
     @Autowired
-    public PredictionService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
-        this.flaskBaseUrl = "http://localhost:5000";
+    public PredictionService(NativePredictor nativePredictor, FlaskPredictor flaskPredictor,
+                             @Value("${prediction.engine:native}") String engine) {
+        this.nativePredictor = nativePredictor;
+        this.flaskPredictor = flaskPredictor;
+        this.nativeEngine = !"flask".equalsIgnoreCase(engine);
         //initializeAdditionalStadiumMappings();
     }
 
@@ -49,6 +56,7 @@ public class PredictionService {
             String[] teams = extractAndValidateTeams(match.getTeamHeading());
             if (teams == null) return null;
 
+            TeamRegistry registry = TeamNameStandardizer.registry();
             String team1 = TeamNameStandardizer.standardizeTeamName(teams[0]);
             String team2 = TeamNameStandardizer.standardizeTeamName(teams[1]);
             data.put("team1", team1);
@@ -77,7 +85,7 @@ public class PredictionService {
             String standardizedBattingTeam = TeamNameStandardizer.standardizeTeamName(match.getBattingTeam());
 
             // Validate batting team
-            if (!standardizedBattingTeam.equals(team1) && !standardizedBattingTeam.equals(team2)) {
+            if (!registry.sameTeam(standardizedBattingTeam, team1) && !registry.sameTeam(standardizedBattingTeam, team2)) {
                 logger.error("Batting team '{}' does not match either team1 '{}' or team2 '{}'",
                         standardizedBattingTeam, team1, team2);
                 return null;
@@ -92,6 +100,13 @@ public class PredictionService {
             if (format == null) return null;
             data.put("match_format", format);
 
+            // In a limited-overs match a bowling side with a score has already batted, so the side in is chasing
+            int target = parseTarget(match.getBowlingTeamScore());
+            if (target > 0) {
+                data.put("target", target);
+                data.put("batting_first", 0);
+            }
+
             logger.debug("Extracted match data: {}", data);
             return data;
 
@@ -206,71 +221,44 @@ public class PredictionService {
         return format;
     }
 
+    // Score of the innings in progress; null unless it shows overs, e.g. the "150-3 (40.2 Ovs)" of
+    // "310 & 150-3 (40.2 Ovs)"
     private ScoreDetails parseScore(String score) {
-        if (score == null || score.trim().isEmpty()) {
+        ParsedScore parsed = PARSED_SCORE.get();
+        if (!ScoreParser.parse(score, parsed)) {
             return null;
         }
-
-        try {
-            Matcher matcher = SCORE_PATTERN.matcher(score);
-            if (matcher.find()) {
-                return new ScoreDetails(
-                        Integer.parseInt(matcher.group(1)),
-                        Integer.parseInt(matcher.group(2)),
-                        Double.parseDouble(matcher.group(3))
-                );
-            }
-        } catch (Exception e) {
-            logger.error("Error parsing score {}: {}", score, e.getMessage());
+        int innings = parsed.lastInnings();
+        if (parsed.balls(innings) < 0) {
+            return null;
         }
-        return null;
+        return new ScoreDetails(parsed.runs(innings), parsed.wickets(innings), parsed.overs(innings));
     }
 
-    public ResponseEntity<String> getPredictionWithData(Map<String, Object> matchData) {
-        try {
-            if (matchData == null || matchData.isEmpty()) {
-                return ResponseEntity
-                        .badRequest()
-                        .body("Match data is empty or null");
-            }
+    // One more than the bowling side's completed innings, e.g. 251 for "250-8 (50 Ovs)"; 0 when it has not batted
+    private int parseTarget(String bowlingScore) {
+        ParsedScore parsed = PARSED_SCORE.get();
+        if (!ScoreParser.parse(bowlingScore, parsed)) {
+            return 0;
+        }
+        return parsed.runs(parsed.lastInnings()) + 1;
+    }
 
-            if (!isFlaskServiceAvailable()) {
-                logger.error("Flask prediction service is not available");
-                return ResponseEntity
-                        .status(HttpStatus.SERVICE_UNAVAILABLE)
-                        .body("Prediction service is currently unavailable");
+    // With prediction.engine=native the in-process model answers and Flask only covers what it cannot
+    // (T20 matches, or the model failed to load) unless prediction.flask.fallback=false; with
+    // prediction.engine=flask every call goes to Flask.
+    // Empty if no engine produced a prediction.
+    public Optional<Prediction> predict(Map<String, Object> matchData) {
+        if (matchData == null || matchData.isEmpty()) {
+            return Optional.empty();
+        }
+        if (nativeEngine) {
+            Optional<Prediction> prediction = nativePredictor.predict(matchData);
+            if (prediction.isPresent()) {
+                return prediction;
             }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(matchData, headers);
-
-            logger.info("Sending prediction request for {} match", matchData.get("match_format"));
-            logger.debug("Request data: {}", matchData);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    flaskBaseUrl + "/predict",
-                    HttpMethod.POST,
-                    requestEntity,
-                    String.class
-            );
-
-            logger.info("Received prediction response");
-            logger.debug("Response: {}", response.getBody());
-
-            return response;
-
-        } catch (HttpClientErrorException e) {
-            logger.error("HTTP error during prediction request: {}", e.getMessage());
-            return ResponseEntity
-                    .status(e.getStatusCode())
-                    .body("Error from prediction service: " + e.getResponseBodyAsString());
-        } catch (Exception e) {
-            logger.error("Error getting prediction: {}", e.getMessage(), e);
-            return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error getting prediction: " + e.getMessage());
         }
+        return flaskPredictor.predict(matchData);
     }
 
     private boolean isValidFormat(String format) {
@@ -279,17 +267,8 @@ public class PredictionService {
         return upperFormat.equals("ODI") || upperFormat.equals("T20");
     }
 
-    public boolean isFlaskServiceAvailable() {
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(
-                    flaskBaseUrl + "/health",
-                    String.class
-            );
-            return response.getStatusCode() == HttpStatus.OK;
-        } catch (Exception e) {
-            logger.error("Error checking Flask service availability: {}", e.getMessage());
-            return false;
-        }
+    public boolean isPredictionAvailable() {
+        return (nativeEngine && nativePredictor.isAvailable()) || flaskPredictor.isAvailable();
     }
 
     private String getManualTossWinner(Match match) {
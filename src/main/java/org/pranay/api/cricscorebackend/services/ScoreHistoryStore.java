@@ -0,0 +1,260 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Innings score history per match for the charts.
+// Each match maps to an immutable MatchHistory that is replaced on every change, so readers get a consistent
+// snapshot from a plain ConcurrentHashMap read and never lock; writers to the same match are serialised by
+// compute(). Completed matches are kept for a retention window, matches that stop being updated expire, and
+// the store is capped by match count and estimated size, evicting completed matches first.
+// Innings with an overs count also get an over-by-over InningsTimeSeries. The series objects are carried over
+// from one MatchHistory to the next and only written inside compute(), so they share the match's lifecycle;
+// each MatchHistory holds a mark of every series, so samplesFor reads the series as of that history's version.
+@Component
+public class ScoreHistoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreHistoryStore.class);
+
+    // balls is the number of legal deliveries bowled in the innings, or -1 when the score has no overs;
+    // teamId is the team's TeamRegistry ID, TeamRegistry.UNKNOWN for teams the registry does not know
+    public record InningsScore(int inningsNumber, int runs, int wickets, int balls, boolean declared,
+                               boolean followOn, String teamName, int teamId, long timestamp) {
+        boolean sameScore(InningsScore other) {
+            return runs == other.runs && wickets == other.wickets && balls == other.balls
+                    && declared == other.declared && followOn == other.followOn;
+        }
+
+        // same key exactly when sameInnings: by registry ID, so a renamed team keeps its series
+        String seriesKey() {
+            return (teamId == TeamRegistry.UNKNOWN ? "name:" + teamName : "id:" + teamId) + "#" + inningsNumber;
+        }
+
+        boolean sameInnings(InningsScore other) {
+            return inningsNumber == other.inningsNumber && teamId == other.teamId
+                    && (teamId != TeamRegistry.UNKNOWN || teamName.equals(other.teamName));
+        }
+    }
+
+    public record MatchHistory(List<InningsScore> innings, Map<String, InningsTimeSeries> timeSeries,
+                               Map<String, InningsTimeSeries.Mark> marks, long version, long updatedAtMillis,
+                               long completedAtMillis) {
+        public boolean isCompleted() {
+            return completedAtMillis > 0;
+        }
+
+        public Optional<InningsTimeSeries> seriesFor(InningsScore score) {
+            return Optional.ofNullable(timeSeries.get(score.seriesKey()));
+        }
+
+        // The innings' samples as of this history's version, even if later scrapes have written to the series
+        public Optional<InningsTimeSeries.Samples> samplesFor(InningsScore score) {
+            InningsTimeSeries.Mark mark = marks.get(score.seriesKey());
+            return seriesFor(score).map(series -> series.snapshot(mark));
+        }
+
+        // Rough heap footprint: map entry and record headers plus one record and name per innings, and the
+        // fixed-size buffers of each time series
+        long estimatedBytes() {
+            long bytes = 160;
+            for (InningsScore score : innings) {
+                bytes += 64 + 2L * score.teamName().length();
+            }
+            for (InningsTimeSeries series : timeSeries.values()) {
+                bytes += 48 + 48 + series.estimatedBytes(); // map entry, mark, buffers
+            }
+            return bytes;
+        }
+    }
+
+    // Version before and after an update; equal when the scores did not change
+    public record Update(long previousVersion, long version) {
+        public boolean changed() {
+            return version != previousVersion;
+        }
+    }
+
+    private final Map<String, MatchHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final long retentionMillis;
+    private final long idleMillis;
+    private final int maxMatches;
+    private final long maxBytes;
+    private final LongSupplier clock;
+    private final Counter evictions;
+
+    @Autowired
+    public ScoreHistoryStore(MeterRegistry registry,
+                             @Value("${chart.history.retention-minutes:120}") long retentionMinutes,
+                             @Value("${chart.history.idle-minutes:720}") long idleMinutes,
+                             @Value("${chart.history.max-matches:500}") int maxMatches,
+                             @Value("${chart.history.max-bytes:4194304}") long maxBytes) {
+        this(registry, TimeUnit.MINUTES.toMillis(retentionMinutes), TimeUnit.MINUTES.toMillis(idleMinutes),
+                maxMatches, maxBytes, System::currentTimeMillis);
+    }
+
+    ScoreHistoryStore(MeterRegistry registry, long retentionMillis, long idleMillis, int maxMatches, long maxBytes,
+                      LongSupplier clock) {
+        this.retentionMillis = retentionMillis;
+        this.idleMillis = idleMillis;
+        this.maxMatches = maxMatches;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+        this.evictions = Counter.builder("chart.history.evictions").register(registry);
+        Gauge.builder("chart.history.matches", histories, Map::size).register(registry);
+        Gauge.builder("chart.history.bytes", estimatedBytes, AtomicLong::get).register(registry);
+    }
+
+    // Lock-free read of the match's current history
+    public Optional<MatchHistory> get(String matchId) {
+        return Optional.ofNullable(histories.get(matchId));
+    }
+
+    public long version(String matchId) {
+        MatchHistory history = histories.get(matchId);
+        return history == null ? 0 : history.version();
+    }
+
+    public int size() {
+        return histories.size();
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    // Merges the latest innings scores into the match's history: known innings are updated in place, new ones
+    // appended, and innings with an overs count get a sample in their time series, sized for the match format.
+    // The version only moves when a score actually changed.
+    public Update update(String matchId, String matchFormat, List<InningsScore> scores, boolean completed) {
+        long now = clock.getAsLong();
+        long[] versions = new long[2];
+        histories.compute(matchId, (key, current) -> {
+            List<InningsScore> innings = current == null ? new ArrayList<>() : new ArrayList<>(current.innings());
+            Map<String, InningsTimeSeries> timeSeries = current == null ? Map.of() : current.timeSeries();
+            boolean changed = merge(innings, scores);
+            for (InningsScore score : scores) {
+                if (score.balls() < 0) {
+                    continue;
+                }
+                InningsTimeSeries series = timeSeries.get(score.seriesKey());
+                if (series == null) {
+                    Map<String, InningsTimeSeries> withNew = new HashMap<>(timeSeries);
+                    series = new InningsTimeSeries(InningsTimeSeries.capacityFor(matchFormat), now);
+                    withNew.put(score.seriesKey(), series);
+                    timeSeries = Map.copyOf(withNew);
+                }
+                changed |= series.record(score.balls(), score.runs(), score.wickets(), now);
+            }
+            long version = current == null ? 0 : current.version();
+            versions[0] = version;
+            versions[1] = changed ? version + 1 : version;
+            long completedAt = current != null && current.isCompleted() ? current.completedAtMillis()
+                    : completed ? now : 0;
+            Map<String, InningsTimeSeries.Mark> marks = new HashMap<>();
+            timeSeries.forEach((seriesKey, series) -> marks.put(seriesKey, series.mark()));
+            MatchHistory next = new MatchHistory(List.copyOf(innings), timeSeries, Map.copyOf(marks), versions[1],
+                    now, completedAt);
+            estimatedBytes.addAndGet(next.estimatedBytes() - (current == null ? 0 : current.estimatedBytes()));
+            return next;
+        });
+        if (histories.size() > maxMatches || estimatedBytes.get() > maxBytes) {
+            enforceCap();
+        }
+        return new Update(versions[0], versions[1]);
+    }
+
+    private static boolean merge(List<InningsScore> innings, List<InningsScore> scores) {
+        boolean changed = false;
+        for (InningsScore score : scores) {
+            int existing = -1;
+            for (int i = 0; i < innings.size(); i++) {
+                if (innings.get(i).sameInnings(score)) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing < 0) {
+                innings.add(score);
+                changed = true;
+            } else {
+                changed |= !innings.get(existing).sameScore(score);
+                innings.set(existing, score);
+            }
+        }
+        return changed;
+    }
+
+    // Drops completed matches past the retention window and matches that have not been updated for a while
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, MatchHistory> entry : histories.entrySet()) {
+            MatchHistory history = entry.getValue();
+            boolean expired = history.isCompleted()
+                    ? now - history.completedAtMillis() > retentionMillis
+                    : now - history.updatedAtMillis() > idleMillis;
+            if (expired && remove(entry.getKey(), history)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired score histories", evicted);
+        }
+    }
+
+    // Evicts completed matches (oldest first), then the least recently updated live ones, until under the caps
+    private synchronized void enforceCap() {
+        if (histories.size() <= maxMatches && estimatedBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<String, MatchHistory>> candidates = new ArrayList<>(histories.entrySet());
+        candidates.sort(Comparator
+                .comparing((Map.Entry<String, MatchHistory> entry) -> !entry.getValue().isCompleted())
+                .thenComparingLong(entry -> entry.getValue().isCompleted()
+                        ? entry.getValue().completedAtMillis()
+                        : entry.getValue().updatedAtMillis()));
+        for (Map.Entry<String, MatchHistory> candidate : candidates) {
+            if (histories.size() <= maxMatches && estimatedBytes.get() <= maxBytes) {
+                break;
+            }
+            remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    // Removes the entry only if it has not been replaced since it was read
+    private boolean remove(String matchId, MatchHistory expected) {
+        boolean[] removed = new boolean[1];
+        histories.computeIfPresent(matchId, (key, current) -> {
+            if (current != expected) {
+                return current;
+            }
+            estimatedBytes.addAndGet(-current.estimatedBytes());
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            evictions.increment();
+        }
+        return removed[0];
+    }
+}
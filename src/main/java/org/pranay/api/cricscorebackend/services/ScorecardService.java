@@ -1,4 +1,20 @@
 package org.pranay.api.cricscorebackend.services;
 
+import org.pranay.api.cricscorebackend.entities.Match;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 public interface ScorecardService {
+    // fetch, parse and store the scorecards of persisted matches in the background; completes with how many
+    // scorecards were written
+    CompletableFuture<Integer> ingestScorecards(List<Match> matches);
+
+    // fetch again the scorecards that have not been stored since their match's last live change (failed,
+    // dropped, or the scorecard page had not caught up yet)
+    CompletableFuture<Integer> retryPending();
+
+    // drop what is remembered about the scorecard pages of matches no longer on the live page
+    void retainMatches(Set<String> matchLinks);
 }
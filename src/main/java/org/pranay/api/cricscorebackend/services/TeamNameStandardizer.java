@@ -1,10 +1,13 @@
 package org.pranay.api.cricscorebackend.services;
 
-import java.util.HashMap;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class TeamNameStandardizer {
-    private static final Map<String, String> TEAM_NAME_MAPPING = new HashMap<>();
+    private static final Map<String, String> TEAM_NAME_MAPPING = new LinkedHashMap<>();
 
     static {
         TEAM_NAME_MAPPING.put("AUS", "Australia");
@@ -22,20 +25,34 @@ public class TeamNameStandardizer {
         TEAM_NAME_MAPPING.put("SCO", "Scotland");
         TEAM_NAME_MAPPING.put("UAE", "United Arab Emirates");
         TEAM_NAME_MAPPING.put("NEP", "Nepal");
+        TEAM_NAME_MAPPING.put("RSA", "South Africa");
+        TEAM_NAME_MAPPING.put("NED", "Netherlands");
+        TEAM_NAME_MAPPING.put("NAM", "Namibia");
+        TEAM_NAME_MAPPING.put("OMAN", "Oman");
+        TEAM_NAME_MAPPING.put("USA", "United States of America");
+        TEAM_NAME_MAPPING.put("CAN", "Canada");
+        TEAM_NAME_MAPPING.put("HK", "Hong Kong");
+        TEAM_NAME_MAPPING.put("PNG", "Papua New Guinea");
+        TEAM_NAME_MAPPING.put("KEN", "Kenya");
         // Add more mappings as needed
     }
 
+    // Built from the mapping above; TeamRegistryConfig adds the teams of the CricPred match data at startup
+    private static volatile TeamRegistry registry = TeamRegistry.of(TEAM_NAME_MAPPING);
+
+    public static TeamRegistry registry() {
+        return registry;
+    }
+
+    public static synchronized void addTeams(Collection<String> teamNames) {
+        registry = registry.withTeams(teamNames);
+    }
+
+    // Canonical name for any known code, alias or full name; unknown names come back trimmed
     public static String standardizeTeamName(String teamName) {
         if (teamName == null) return null;
 
-        // First check if it's already a full name
-        String cleanedName = teamName.trim();
-        if (TEAM_NAME_MAPPING.containsValue(cleanedName)) {
-            return cleanedName;
-        }
-
-        // Then check if it's a code that needs to be converted
-        String upperCaseTeam = cleanedName.toUpperCase();
-        return TEAM_NAME_MAPPING.getOrDefault(upperCaseTeam, cleanedName);
+        String canonical = registry.canonicalName(teamName);
+        return canonical != null ? canonical : teamName.trim();
     }
 }
\ No newline at end of file
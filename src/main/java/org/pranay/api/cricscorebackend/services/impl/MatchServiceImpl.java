@@ -2,27 +2,44 @@ package org.pranay.api.cricscorebackend.services.impl;
 
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.pranay.api.cricscorebackend.client.PageFetcher;
+import org.pranay.api.cricscorebackend.dto.MatchCursor;
+import org.pranay.api.cricscorebackend.dto.MatchPage;
+import org.pranay.api.cricscorebackend.dto.MatchSummary;
 import org.antlr.v4.runtime.tree.pattern.ParseTreePattern;
 import org.pranay.api.cricscorebackend.entities.*;
+import org.pranay.api.cricscorebackend.helper.LiveScoresExtractor;
+import org.pranay.api.cricscorebackend.pipeline.LiveScorePipeline;
+import org.pranay.api.cricscorebackend.repositeries.MatchPageRepo;
 import org.pranay.api.cricscorebackend.repositeries.MatchRepo;
+import org.pranay.api.cricscorebackend.repositeries.MatchUpsertRepo;
 import org.pranay.api.cricscorebackend.repositeries.ScorecardRepo;
 import org.pranay.api.cricscorebackend.services.ChartService;
+import org.pranay.api.cricscorebackend.services.LiveScoreSnapshot;
+import org.pranay.api.cricscorebackend.services.MatchChangeDetector;
 import org.pranay.api.cricscorebackend.services.MatchService;
 import org.pranay.api.cricscorebackend.services.PredictionIntegrationService;
+import org.pranay.api.cricscorebackend.services.ScorecardService;
 import org.pranay.api.cricscorebackend.websocket.WebSocketHandler;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Service
 public class MatchServiceImpl implements MatchService {
@@ -35,6 +52,10 @@ public class MatchServiceImpl implements MatchService {
     @Autowired
     private MatchRepo matchRepo;
     @Autowired
+    private MatchUpsertRepo matchUpsertRepo;
+    @Autowired
+    private MatchPageRepo matchPageRepo;
+    @Autowired
     private final ScorecardRepo scorecardRepo;
     @Autowired
     private ChartService chartService;
@@ -42,6 +63,37 @@ public class MatchServiceImpl implements MatchService {
     @Autowired
     private PredictionIntegrationService predictionIntegrationService;
 
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private LiveScorePipeline liveScorePipeline;
+
+    @Autowired
+    private MatchChangeDetector matchChangeDetector;
+
+    @Autowired
+    private LiveScoresExtractor liveScoresExtractor;
+
+    @Autowired
+    private ScorecardService scorecardService;
+
+    // a refresh within this long of the start of the last scrape returns the current snapshot instead of scraping again
+    @Value("${live.refresh.min-interval-ms:5000}")
+    private long refreshMinIntervalMs;
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchServiceImpl.class);
+    private static final String LIVE_SCORES_URL = "https://www.cricbuzz.com/cricket-match/live-scores";
+    private static final long LIVE_SCORES_TIMEOUT_SECONDS = 25;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // match link -> persisted match id, filled in by the persist stage
+    private final Map<String, Integer> knownMatchIds = new ConcurrentHashMap<>();
+
+    private final AtomicReference<LiveScoreSnapshot> liveSnapshot = new AtomicReference<>(LiveScoreSnapshot.EMPTY);
+    private final AtomicReference<CompletableFuture<LiveScoreSnapshot>> inFlightRefresh = new AtomicReference<>();
+    private volatile Instant lastScrapeAt = Instant.EPOCH;
+
     public MatchServiceImpl(WebSocketHandler webSocketHandler, MatchRepo matchRepo, ScorecardRepo scorecardRepo, EntityManager entityManager) {
         this.webSocketHandler = webSocketHandler;
         this.matchRepo = matchRepo;
@@ -50,99 +102,147 @@ public class MatchServiceImpl implements MatchService {
     }
 
     @Override
-    @Scheduled(fixedRate = 30000)
     public List<Match> getLiveMatchScores() {
-        List<Match> matches = new ArrayList<>();
+        return liveSnapshot.get().matches();
+    }
+
+    @Override
+    public LiveScoreSnapshot getLiveSnapshot() {
+        return liveSnapshot.get();
+    }
+
+    // Single-flight: concurrent callers (the poll scheduler or forced refreshes) share the scrape already in progress,
+    // and callers right after a scrape get its snapshot, so ?refresh=true cannot drive back-to-back scrapes
+    @Override
+    public LiveScoreSnapshot refreshLiveSnapshot() {
+        if (Duration.between(lastScrapeAt, Instant.now()).toMillis() < refreshMinIntervalMs) {
+            return liveSnapshot.get();
+        }
+        CompletableFuture<LiveScoreSnapshot> refresh = new CompletableFuture<>();
+        CompletableFuture<LiveScoreSnapshot> inFlight = inFlightRefresh.compareAndExchange(null, refresh);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        // measured from the start, like the poll cadence, so the scheduler's own polls are never held back
+        lastScrapeAt = Instant.now();
         try {
-            String url = "https://www.cricbuzz.com/cricket-match/live-scores";
-            Document document = Jsoup.connect(url).get();
-            Elements liveScoreElements = document.select("div.cb-mtch-lst.cb-tms-itm");
-            for (Element match : liveScoreElements) {
-                HashMap<String, String> liveMatchInfo = new LinkedHashMap<>();
-                String teamsHeading = match.select("h3.cb-lv-scr-mtch-hdr").select("a").text();
-                String matchNumberVenue = match.select("span").text();
-                Elements matchBatTeamInfo = match.select("div.cb-hmscg-bat-txt");
-                String battingTeam = matchBatTeamInfo.select("div.cb-hmscg-tm-nm").text();
-                String score = matchBatTeamInfo.select("div.cb-hmscg-tm-nm+div").text();
-                Elements bowlTeamInfo = match.select("div.cb-hmscg-bwl-txt");
-                String bowlTeam = bowlTeamInfo.select("div.cb-hmscg-tm-nm").text();
-                String bowlTeamScore = bowlTeamInfo.select("div.cb-hmscg-tm-nm+div").text();
-                String textLive = match.select("div.cb-text-live").text();
-                String textComplete = match.select("div.cb-text-complete").text();
-
-                // Getting match link and handling missing links
-                String matchLink = match.select("a.cb-lv-scrs-well.cb-lv-scrs-well-live").attr("href").toString();
-                if (matchLink == null || matchLink.isEmpty()) {
-                    System.out.println("No valid match link found for match: " + teamsHeading);
-                    continue;  // Skip this match
-                }
+            LiveScoreSnapshot snapshot = scrapeLiveMatchScores()
+                    .map(matches -> liveSnapshot.updateAndGet(
+                            current -> LiveScoreSnapshot.of(current.version() + 1, matches)))
+                    .orElseGet(liveSnapshot::get); // unchanged page or failed scrape: keep the last good snapshot
+            // every cycle, even when the live page is unchanged: a scorecard can lag the live score it belongs to
+            scorecardService.retryPending();
+            refresh.complete(snapshot);
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+        } finally {
+            inFlightRefresh.set(null);
+        }
+        return refresh.join();
+    }
 
-                // Extract match format from the match heading or number
-                String matchFormat = determineMatchFormat(teamsHeading, matchNumberVenue);
-
-                Match match1 = new Match();
-                match1.setTeamHeading(teamsHeading);
-                match1.setMatchNumberVenue(matchNumberVenue);
-                match1.setBattingTeam(battingTeam);
-                match1.setBattingTeamScore(score);
-                match1.setBowlingTeam(bowlTeam);
-                match1.setBowlingTeamScore(bowlTeamScore);
-                match1.setLiveText(textLive);
-                match1.setMatchLink(matchLink);
-                match1.setTextComplete(textComplete);
-                match1.setMatchFormat(matchFormat); // Set the match format
-                match1.setMatchStatus();
-
-                matches.add(match1);
-
-                // Update the charts
-                chartService.updateMatchScore(match1);
-                webSocketHandler.sendMessageToAll(match1.toString());
-                // Update the match in database
-                updateMatch(match1);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+    // Empty when the page has not changed since the last scrape or the scrape failed
+    private Optional<List<Match>> scrapeLiveMatchScores() {
+        try {
+            // fetch and parse run on their own stages; persist, broadcast and predict are handed off per match
+            return liveScorePipeline.fetch().submit(() -> pageFetcher.fetchIfChanged(LIVE_SCORES_URL))
+                    .thenCompose(html -> html.isEmpty()
+                            ? CompletableFuture.completedFuture(Optional.<List<Match>>empty())
+                            : liveScorePipeline.parse().submit(() -> parseLiveMatches(html.get()))
+                                    .thenApply(this::dispatchMatches)
+                                    .thenApply(Optional::of))
+                    .get(LIVE_SCORES_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            logger.error("Error scraping live scores: {}", e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            logger.error("Live scores scrape did not finish within {}s", LIVE_SCORES_TIMEOUT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        // the page may have been fetched but never processed, so don't let the next scrape skip it
+        pageFetcher.forget(LIVE_SCORES_URL);
+        return Optional.empty();
+    }
+
+    private List<Match> parseLiveMatches(String html) {
+        List<Match> matches = liveScoresExtractor.extract(html, LIVE_SCORES_URL);
+        // reuse the id from the previous cycle so callers see it before the persist stage catches up
+        matches.forEach(match -> match.setMatchId(knownMatchIds.getOrDefault(match.getMatchLink(), 0)));
         return matches;
     }
 
-    private String determineMatchFormat(String teamsHeading, String matchNumberVenue) {
-        String combinedText = (teamsHeading + " " + matchNumberVenue).toLowerCase();
-
-        if (combinedText.contains(" t20 ") || combinedText.contains("twenty20") || combinedText.contains("t20i")) {
-            return "T20";
-        } else if (combinedText.contains(" odi ") || combinedText.contains("one-day") || combinedText.contains("1st odi")) {
-            return "ODI";
-        } else if (combinedText.contains(" test ") || combinedText.contains("day series") || combinedText.contains("unofficial test")) {
-            return "TEST";
-        } else {
-            // Check for additional tournament-specific formats
-            if (combinedText.contains("wbbl") || combinedText.contains("bbl")) {
-                return "T20";
-            } else if (combinedText.contains("one day cup") || combinedText.contains("list a")) {
-                return "ODI";
-            } else if (combinedText.contains("first-class") || combinedText.contains("sheffield shield")) {
-                return "TEST";
+    List<Match> dispatchMatches(List<Match> matches) {
+        // only matches whose score, live text or status moved since the last cycle go downstream
+        List<Match> changed = matchChangeDetector.detectChanges(matches);
+        if (!changed.isEmpty()) {
+            // the persist stage sets ids on its own copies; the matches handed to the other stages are never written
+            List<Match> persisted = changed.stream().map(MatchServiceImpl::copyOf).toList();
+            // one batched upsert per cycle, then the charts which are keyed by the persisted id
+            boolean queued = liveScorePipeline.persist().offer(() -> {
+                try {
+                    persistMatches(persisted);
+                    persisted.forEach(chartService::updateMatchScore);
+                    // scorecards need the persisted ids; they are fetched in the background
+                    scorecardService.ingestScorecards(persisted);
+                } catch (RuntimeException e) {
+                    changed.forEach(matchChangeDetector::forget); // the write failed, retry it next cycle
+                    throw e;
+                }
+                // matches new this cycle are published here, once they have an id
+                for (int i = 0; i < persisted.size(); i++) {
+                    Match match = persisted.get(i);
+                    if (changed.get(i).getMatchId() == 0 && match.getMatchId() != 0) {
+                        liveScorePipeline.broadcast().offer(() -> webSocketHandler.publishMatch(match));
+                    }
+                }
+            });
+            if (!queued) {
+                changed.forEach(matchChangeDetector::forget); // retry next cycle instead of losing the update
+            }
+        }
+        for (Match match : changed) {
+            if (match.getMatchId() != 0) {
+                liveScorePipeline.broadcast().offer(() -> webSocketHandler.publishMatch(match));
             }
+            liveScorePipeline.predict().offer(() -> predictionIntegrationService.processPredictionForMatch(match));
         }
-        return "UNKNOWN"; // Default case if format cannot be determined
+        Set<String> matchLinks = matches.stream().map(Match::getMatchLink).collect(Collectors.toSet());
+        liveScorePipeline.broadcast().offer(() -> webSocketHandler.retainMatches(matchLinks));
+        scorecardService.retainMatches(matchLinks);
+        return matches;
     }
 
-    private void updateMatch(Match match1) {
-        Match match = this.matchRepo.findByTeamHeading(match1.getTeamHeading()).orElse(null);
-        if (match == null) {
-            this.matchRepo.save(match1);
-        } else {
-            match1.setMatchId(match.getMatchId());
-            this.matchRepo.save(match1);
-        }
-        predictionIntegrationService.processPredictionForMatch(match1);
+    private void persistMatches(List<Match> matches) {
+        matchUpsertRepo.upsertAll(matches);
+        // only newly inserted matches need an id lookup
+        List<String> unknownLinks = matches.stream()
+                .map(Match::getMatchLink)
+                .filter(link -> !knownMatchIds.containsKey(link))
+                .toList();
+        knownMatchIds.putAll(matchUpsertRepo.findIdsByMatchLinks(unknownLinks));
+        matches.forEach(match -> match.setMatchId(knownMatchIds.getOrDefault(match.getMatchLink(), 0)));
+    }
+
+    private static Match copyOf(Match match) {
+        return new Match(match.getMatchId(), match.getTeamHeading(), match.getMatchNumberVenue(),
+                match.getBattingTeam(), match.getBattingTeamScore(), match.getBowlingTeam(),
+                match.getBowlingTeamScore(), match.getLiveText(), match.getTextComplete(), match.getMatchLink(),
+                match.getStatus(), match.getMatchType(), match.getDate(), match.getTossWinner(),
+                match.getTossDecision(), match.getMatchFormat());
     }
 
     @Override
-    public List<Match> getAllMatches() {
-        return this.matchRepo.findAll();
+    public MatchPage getMatches(matchStatus status, String format, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        MatchCursor after = cursor == null || cursor.isBlank() ? null : MatchCursor.decode(cursor);
+        String matchFormat = format == null || format.isBlank() ? null : format.toUpperCase();
+        // one row past the page tells whether there is a next one
+        List<MatchSummary> rows = matchPageRepo.findPage(status, matchFormat, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new MatchPage(rows, null);
+        }
+        List<MatchSummary> page = rows.subList(0, pageSize);
+        return new MatchPage(List.copyOf(page), MatchCursor.after(page.get(pageSize - 1)).encode());
     }
     @Override
     public Match getMatchById(int matchId) {
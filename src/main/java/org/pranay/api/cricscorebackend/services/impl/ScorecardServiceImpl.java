@@ -0,0 +1,211 @@
+package org.pranay.api.cricscorebackend.services.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.pranay.api.cricscorebackend.client.PageFetcher;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.helper.ScorecardInnings;
+import org.pranay.api.cricscorebackend.helper.ScorecardParser;
+import org.pranay.api.cricscorebackend.repositeries.ScorecardStore;
+import org.pranay.api.cricscorebackend.services.ScorecardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Keeps the scorecards of live matches in the database. Each match's scorecard page is fetched, parsed and
+// stored on a small pool, so at most scorecard.concurrency requests go out to cricbuzz at a time however many
+// matches changed. Pages are fetched conditionally and an unchanged scorecard is not parsed or written again.
+@Service
+public class ScorecardServiceImpl implements ScorecardService {
+    private static final Logger logger = LoggerFactory.getLogger(ScorecardServiceImpl.class);
+
+    private static final String LIVE_SCORES_PATH = "/live-cricket-scores/";
+    private static final String SCORECARD_PATH = "/live-cricket-scorecard/";
+
+    private final PageFetcher pageFetcher;
+    private final ScorecardStore scorecardStore;
+    private final String baseUrl;
+    private final ThreadPoolExecutor executor;
+    // scorecard URLs being ingested, so a slow page is not fetched twice by overlapping cycles
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // scorecard URLs of matches still on the live page, whose versions PageFetcher keeps
+    private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+    // scorecard URL -> match whose live score changed but whose scorecard has not been stored since: the store
+    // failed, the queue was full, or the scorecard page still lagged the live page
+    private final Map<String, PendingScorecard> pending = new ConcurrentHashMap<>();
+    private final AtomicLong pendingSequence = new AtomicLong();
+    private final int maxPendingAttempts;
+    private final Counter stored;
+    private final Counter unchanged;
+    private final Counter failed;
+    private final DistributionSummary rowsWritten;
+
+    public ScorecardServiceImpl(PageFetcher pageFetcher, ScorecardStore scorecardStore, MeterRegistry registry,
+                                @Value("${scorecard.base-url:https://www.cricbuzz.com}") String baseUrl,
+                                @Value("${scorecard.concurrency:3}") int concurrency,
+                                @Value("${scorecard.queue-capacity:50}") int queueCapacity,
+                                @Value("${scorecard.pending-max-attempts:30}") int maxPendingAttempts) {
+        this.pageFetcher = pageFetcher;
+        this.scorecardStore = scorecardStore;
+        this.baseUrl = baseUrl;
+        this.maxPendingAttempts = maxPendingAttempts;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "scorecard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.stored = Counter.builder("scorecard.ingested").tag("result", "stored").register(registry);
+        this.unchanged = Counter.builder("scorecard.ingested").tag("result", "unchanged").register(registry);
+        this.failed = Counter.builder("scorecard.ingested").tag("result", "failed").register(registry);
+        this.rowsWritten = DistributionSummary.builder("scorecard.rows.written").baseUnit("rows").register(registry);
+        Gauge.builder("scorecard.pending", pending, Map::size).register(registry);
+    }
+
+    // attempts counts the fetches since the last live change; each live change starts a new entry
+    private record PendingScorecard(int matchId, int attempts, long sequence) {
+    }
+
+    @Override
+    public CompletableFuture<Integer> ingestScorecards(List<Match> matches) {
+        List<String> urls = new ArrayList<>();
+        for (Match match : matches) {
+            String url = scorecardUrl(baseUrl, match.getMatchLink());
+            // not persisted yet: the next live change brings it back with its id
+            if (url != null && match.getMatchId() != 0) {
+                pending.put(url, new PendingScorecard(match.getMatchId(), 0, pendingSequence.incrementAndGet()));
+                urls.add(url);
+            }
+        }
+        return ingestAll(urls);
+    }
+
+    @Override
+    public CompletableFuture<Integer> retryPending() {
+        return ingestAll(List.copyOf(pending.keySet()));
+    }
+
+    private CompletableFuture<Integer> ingestAll(List<String> urls) {
+        List<CompletableFuture<Boolean>> ingests = urls.stream().map(this::ingestAsync).toList();
+        return CompletableFuture.allOf(ingests.toArray(CompletableFuture[]::new))
+                .thenApply(done -> (int) ingests.stream().filter(CompletableFuture::join).count());
+    }
+
+    private CompletableFuture<Boolean> ingestAsync(String url) {
+        PendingScorecard attempt = pending.get(url);
+        if (attempt == null || !inFlight.add(url)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                        tracked.add(url);
+                        return ingest(attempt.matchId(), url);
+                    }, executor)
+                    .whenComplete((result, e) -> {
+                        inFlight.remove(url);
+                        if (!tracked.contains(url)) {
+                            pageFetcher.forget(url); // the match left the live page while its page was fetched
+                        }
+                        settle(url, attempt, Boolean.TRUE.equals(result));
+                    });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(url);
+            logger.debug("Scorecard queue full, skipping {}", url);
+            settle(url, attempt, false);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    // A stored scorecard is done unless the live score changed again meanwhile; anything else is retried on later
+    // cycles, up to scorecard.pending-max-attempts times per live change
+    private void settle(String url, PendingScorecard attempt, boolean stored) {
+        pending.computeIfPresent(url, (key, current) -> {
+            if (current.sequence() != attempt.sequence()) {
+                return current;
+            }
+            if (stored) {
+                return null;
+            }
+            if (current.attempts() + 1 >= maxPendingAttempts) {
+                logger.debug("Giving up on scorecard {} after {} attempts", url, current.attempts() + 1);
+                return null;
+            }
+            return new PendingScorecard(current.matchId(), current.attempts() + 1, current.sequence());
+        });
+    }
+
+    private boolean ingest(int matchId, String url) {
+        try {
+            Optional<String> html = pageFetcher.fetchIfChanged(url);
+            if (html.isEmpty()) {
+                unchanged.increment();
+                return false;
+            }
+            List<ScorecardInnings> innings = ScorecardParser.parse(html.get());
+            if (innings.isEmpty()) {
+                logger.debug("No innings on scorecard {}", url);
+                return false;
+            }
+            rowsWritten.record(scorecardStore.replaceInnings(matchId,
+                    innings.stream().map(ScorecardInnings::toInnings).toList()));
+            stored.increment();
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Error ingesting scorecard {}: {}", url, e.getMessage());
+            // fetched but not stored: make sure the next attempt parses the page
+            pageFetcher.forget(url);
+            return false;
+        }
+    }
+
+    @Override
+    public void retainMatches(Set<String> matchLinks) {
+        Set<String> urls = matchLinks.stream()
+                .map(link -> scorecardUrl(baseUrl, link))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        pending.keySet().retainAll(urls);
+        tracked.removeIf(url -> {
+            if (urls.contains(url)) {
+                return false;
+            }
+            pageFetcher.forget(url);
+            return true;
+        });
+    }
+
+    // "/live-cricket-scores/101234/ind-vs-aus-..." -> "{baseUrl}/live-cricket-scorecard/101234/ind-vs-aus-..."
+    static String scorecardUrl(String baseUrl, String matchLink) {
+        if (matchLink == null || !matchLink.startsWith(LIVE_SCORES_PATH)) {
+            return null;
+        }
+        return baseUrl + SCORECARD_PATH + matchLink.substring(LIVE_SCORES_PATH.length());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package org.pranay.api.cricscorebackend.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the last state sent for every match and turns score updates into encoded frames.
+// Each frame is serialized exactly once; the resulting TextMessage is shared by all sessions. The snapshot is
+// encoded once per version of the state, so sessions connecting between two updates share one frame too.
+@Component
+public class LiveScoreFeed {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, LiveScoreMessage.MatchState> states = new ConcurrentHashMap<>();
+    // bumped after every change to states
+    private final AtomicLong version = new AtomicLong();
+    private volatile EncodedSnapshot lastSnapshot = new EncodedSnapshot(-1, null);
+
+    private record EncodedSnapshot(long version, TextMessage message) {
+    }
+
+    public LiveScoreFeed(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Encoded delta for the fields that changed since the last frame for this match, empty if nothing changed
+    public Optional<TextMessage> delta(Match match) {
+        Map<String, Object> fields = toFields(match);
+        Map<String, Object> changed = new LinkedHashMap<>();
+        LiveScoreMessage.MatchState state = states.compute(match.getMatchLink(), (key, previous) -> {
+            changed.clear();
+            if (previous == null) {
+                changed.putAll(fields);
+                return new LiveScoreMessage.MatchState(key, 1, fields);
+            }
+            fields.forEach((name, value) -> {
+                if (!Objects.equals(previous.fields().get(name), value)) {
+                    changed.put(name, value);
+                }
+            });
+            return changed.isEmpty() ? previous : new LiveScoreMessage.MatchState(key, previous.seq() + 1, fields);
+        });
+        if (changed.isEmpty()) {
+            return Optional.empty();
+        }
+        version.incrementAndGet();
+        return Optional.of(encode(LiveScoreMessage.delta(state.matchKey(), state.seq(), changed)));
+    }
+
+    // Encoded remove frames for every match that is no longer in the given set
+    public List<TextMessage> retain(Set<String> matchKeys) {
+        List<TextMessage> removals = new ArrayList<>();
+        for (String key : new ArrayList<>(states.keySet())) {
+            if (!matchKeys.contains(key)) {
+                LiveScoreMessage.MatchState removed = states.remove(key);
+                if (removed != null) {
+                    version.incrementAndGet();
+                    removals.add(encode(LiveScoreMessage.remove(key, removed.seq() + 1)));
+                }
+            }
+        }
+        return removals;
+    }
+
+    public TextMessage snapshot() {
+        // read the version first: a change made while encoding leaves the cached frame tagged as older
+        long current = version.get();
+        EncodedSnapshot cached = lastSnapshot;
+        if (cached.version() == current) {
+            return cached.message();
+        }
+        TextMessage message = encode(LiveScoreMessage.snapshot(new ArrayList<>(states.values())));
+        lastSnapshot = new EncodedSnapshot(current, message);
+        return message;
+    }
+
+    private Map<String, Object> toFields(Match match) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("matchId", match.getMatchId());
+        fields.put("teamHeading", match.getTeamHeading());
+        fields.put("matchNumberVenue", match.getMatchNumberVenue());
+        fields.put("matchFormat", match.getMatchFormat());
+        fields.put("status", match.getStatus() == null ? null : match.getStatus().name());
+        fields.put("battingTeam", match.getBattingTeam());
+        fields.put("battingTeamScore", match.getBattingTeamScore());
+        fields.put("bowlingTeam", match.getBowlingTeam());
+        fields.put("bowlingTeamScore", match.getBowlingTeamScore());
+        fields.put("liveText", match.getLiveText());
+        fields.put("textComplete", match.getTextComplete());
+        return fields;
+    }
+
+    private TextMessage encode(LiveScoreMessage message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode live score message", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.pranay.api.cricscorebackend.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+// Wire format of /ws/live-scores.
+// "snapshot" is sent once on connect with the full state of every match,
+// "delta" carries only the fields that changed for one match and "remove" drops a match.
+// Clients apply a delta/remove only if its seq is greater than the one they hold for that match.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveScoreMessage(String type, String matchKey, Long seq, Map<String, Object> fields,
+                               List<MatchState> matches) {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String DELTA = "delta";
+    public static final String REMOVE = "remove";
+
+    public record MatchState(String matchKey, long seq, Map<String, Object> fields) {
+    }
+
+    public static LiveScoreMessage snapshot(List<MatchState> matches) {
+        return new LiveScoreMessage(SNAPSHOT, null, null, null, matches);
+    }
+
+    public static LiveScoreMessage delta(String matchKey, long seq, Map<String, Object> changedFields) {
+        return new LiveScoreMessage(DELTA, matchKey, seq, changedFields, null);
+    }
+
+    public static LiveScoreMessage remove(String matchKey, long seq) {
+        return new LiveScoreMessage(REMOVE, matchKey, seq, null, null);
+    }
+}
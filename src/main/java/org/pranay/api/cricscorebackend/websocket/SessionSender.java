@@ -0,0 +1,185 @@
+package org.pranay.api.cricscorebackend.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Outbound queue for one WebSocket session, drained by the shared send executor.
+// Publishers only enqueue, so a stalled client never blocks the broadcast thread. When the queue overflows the
+// pending deltas are conflated into a single fresh snapshot; a session that keeps overflowing without ever
+// catching up is evicted, as is one whose send fails or exceeds the send-time limit.
+class SessionSender {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSender.class);
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final Supplier<TextMessage> snapshotSupplier;
+    private final Consumer<SessionSender> onConflate;
+    private final Consumer<SessionSender> onEvict;
+    private final int queueCapacity;
+    private final int bufferSizeLimit;
+    private final int maxConflations;
+
+    private final ArrayDeque<TextMessage> queue = new ArrayDeque<>();
+    private int queuedBytes;
+    private boolean resyncPending;
+    private int consecutiveConflations;
+    private boolean draining;
+    private volatile boolean closed;
+
+    SessionSender(WebSocketSession session, Executor executor, Supplier<TextMessage> snapshotSupplier,
+                  int queueCapacity, int bufferSizeLimit, long sendTimeLimitMillis, int maxConflations,
+                  Consumer<SessionSender> onConflate, Consumer<SessionSender> onEvict) {
+        this.session = session;
+        this.executor = executor;
+        this.snapshotSupplier = snapshotSupplier;
+        this.queueCapacity = queueCapacity;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.maxConflations = maxConflations;
+        this.onConflate = onConflate;
+        this.onEvict = onEvict;
+        applySendTimeLimit(session, sendTimeLimitMillis);
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    // Schedule a full snapshot ahead of anything still queued, used on connect
+    void requestSnapshot() {
+        synchronized (this) {
+            clearQueue();
+            resyncPending = true;
+        }
+        scheduleDrain();
+    }
+
+    void enqueue(TextMessage message) {
+        boolean conflated = false;
+        boolean fellBehind = false;
+        synchronized (this) {
+            if (closed || resyncPending) {
+                return; // a snapshot is already due and will cover this update
+            }
+            if (queue.size() >= queueCapacity || queuedBytes + message.getPayloadLength() > bufferSizeLimit) {
+                // conflate: replace everything pending with one snapshot built at drain time
+                clearQueue();
+                resyncPending = true;
+                conflated = true;
+                fellBehind = ++consecutiveConflations > maxConflations;
+            } else {
+                queue.add(message);
+                queuedBytes += message.getPayloadLength();
+            }
+        }
+        if (fellBehind) {
+            evict(CloseStatus.SESSION_NOT_RELIABLE, "fell behind");
+            return;
+        }
+        if (conflated) {
+            onConflate.accept(this);
+        }
+        scheduleDrain();
+    }
+
+    synchronized int getQueueDepth() {
+        return queue.size() + (resyncPending ? 1 : 0);
+    }
+
+    // Returns false if the sender was already closed
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        clearQueue();
+        resyncPending = false;
+        return true;
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    private void drain() {
+        while (!closed) {
+            TextMessage next;
+            synchronized (this) {
+                if (resyncPending) {
+                    clearQueue();
+                    resyncPending = false;
+                    next = null;
+                } else {
+                    next = queue.poll();
+                    if (next == null) {
+                        consecutiveConflations = 0; // caught up
+                        draining = false;
+                        return;
+                    }
+                    queuedBytes -= next.getPayloadLength();
+                }
+            }
+            if (next == null) {
+                next = snapshotSupplier.get();
+            }
+            try {
+                session.sendMessage(next);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Send to session {} failed: {}", session.getId(), e.getMessage());
+                evict(CloseStatus.SESSION_NOT_RELIABLE, "send failed");
+                return;
+            }
+        }
+    }
+
+    private void evict(CloseStatus status, String reason) {
+        if (!close()) {
+            return;
+        }
+        logger.warn("Evicting WebSocket session {}: {}", session.getId(), reason);
+        onEvict.accept(this);
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            logger.debug("Error closing session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void clearQueue() {
+        queue.clear();
+        queuedBytes = 0;
+    }
+
+    // Bound how long a blocking write to a stalled client may hold a send thread (Tomcat only)
+    private static void applySendTimeLimit(WebSocketSession session, long sendTimeLimitMillis) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session standardSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (standardSession != null) {
+                standardSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, sendTimeLimitMillis);
+            }
+        }
+    }
+}
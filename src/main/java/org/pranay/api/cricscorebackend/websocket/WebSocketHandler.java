@@ -1,37 +1,113 @@
 package org.pranay.api.cricscorebackend.websocket;
 
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.io.IOException;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class WebSocketHandler extends TextWebSocketHandler {
 
-    private final CopyOnWriteArrayList<WebSocketSession> sessions = new CopyOnWriteArrayList<>();
+    private final Map<String, SessionSender> senders = new ConcurrentHashMap<>();
+    private final LiveScoreFeed liveScoreFeed;
+    private final ExecutorService sendExecutor;
+
+    private final int queueCapacity;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+    private final int maxConflations;
+
+    private final Counter conflations;
+    private final Counter evictions;
+
+    public WebSocketHandler(LiveScoreFeed liveScoreFeed, MeterRegistry registry,
+                            @Value("${websocket.send-threads:4}") int sendThreads,
+                            @Value("${websocket.session-queue-capacity:64}") int queueCapacity,
+                            @Value("${websocket.session-buffer-size-limit:524288}") int bufferSizeLimit,
+                            @Value("${websocket.send-time-limit-ms:5000}") long sendTimeLimitMillis,
+                            @Value("${websocket.max-conflations:3}") int maxConflations) {
+        this.liveScoreFeed = liveScoreFeed;
+        this.queueCapacity = queueCapacity;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.maxConflations = maxConflations;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ws-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.conflations = Counter.builder("websocket.session.conflations").register(registry);
+        this.evictions = Counter.builder("websocket.session.evictions").register(registry);
+        Gauge.builder("websocket.sessions", senders, Map::size).register(registry);
+        Gauge.builder("websocket.session.queue.depth", this, WebSocketHandler::totalQueueDepth).register(registry);
+        Gauge.builder("websocket.session.queue.depth.max", this, WebSocketHandler::maxQueueDepth).register(registry);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        sessions.add(session);
+        // register first so no delta published after the snapshot is built can be missed
+        SessionSender sender = new SessionSender(session, sendExecutor, liveScoreFeed::snapshot,
+                queueCapacity, bufferSizeLimit, sendTimeLimitMillis, maxConflations,
+                s -> conflations.increment(),
+                s -> {
+                    evictions.increment();
+                    senders.remove(s.getSession().getId());
+                });
+        senders.put(session.getId(), sender);
+        sender.requestSnapshot();
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        sessions.remove(session);
+        SessionSender sender = senders.remove(session.getId());
+        if (sender != null) {
+            sender.close();
+        }
     }
 
-    public void sendMessageToAll(String message) {
-        sessions.forEach(session -> {
-            try {
-                session.sendMessage(new TextMessage(message));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        });
+    public void publishMatch(Match match) {
+        liveScoreFeed.delta(match).ifPresent(this::sendMessageToAll);
+    }
+
+    public void retainMatches(Set<String> matchKeys) {
+        liveScoreFeed.retain(matchKeys).forEach(this::sendMessageToAll);
+    }
+
+    // the same encoded frame is queued for every session; sending happens on the ws-send threads
+    public void sendMessageToAll(TextMessage message) {
+        senders.values().forEach(sender -> sender.enqueue(message));
+    }
+
+    private double totalQueueDepth() {
+        return senders.values().stream().mapToInt(SessionSender::getQueueDepth).sum();
+    }
+
+    private double maxQueueDepth() {
+        return senders.values().stream().mapToInt(SessionSender::getQueueDepth).max().orElse(0);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sendExecutor.shutdown();
+        sendExecutor.awaitTermination(5, TimeUnit.SECONDS);
     }
 }
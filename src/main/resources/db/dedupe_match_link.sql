@@ -0,0 +1,73 @@
+-- One-off MySQL migration for databases written before matches were upserted by match_link.
+--
+-- The old saves looked matches up by team heading, so a match whose heading changed was inserted again and
+-- cric_matches can hold several rows for one match_link. Hibernate then cannot add uk_cric_matches_match_link
+-- and MatchLinkKeyCheck stops the application at startup. Run this once (after that failed start, so the
+-- innings_batting / innings_bowling tables exist), then restart:
+--
+--   mysql -u root -p cricketscorebasics < src/main/resources/db/dedupe_match_link.sql
+--
+-- What happens to existing rows, per duplicated match_link:
+--   * the newest row (highest match_id, so the latest score) is kept and takes the earliest date of the group,
+--     the time the match was first seen;
+--   * if the kept row has no scorecard, the newest scorecard of the dropped rows is moved onto it;
+--   * the other rows are deleted together with their remaining scorecards, innings and player rows.
+-- Matches with a single row, and rows without a match_link, are not touched.
+
+START TRANSACTION;
+
+CREATE TEMPORARY TABLE match_link_keep AS
+    SELECT match_link, MAX(match_id) AS keep_id, MIN(date) AS first_seen
+    FROM cric_matches
+    WHERE match_link IS NOT NULL
+    GROUP BY match_link
+    HAVING COUNT(*) > 1;
+
+CREATE TEMPORARY TABLE match_link_drop AS
+    SELECT m.match_id, k.keep_id
+    FROM cric_matches m
+    JOIN match_link_keep k ON m.match_link = k.match_link AND m.match_id <> k.keep_id;
+
+UPDATE cric_matches m
+JOIN match_link_keep k ON m.match_id = k.keep_id
+SET m.date = k.first_seen;
+
+CREATE TEMPORARY TABLE scorecard_move AS
+    SELECT d.keep_id, MAX(s.scorecard_id) AS scorecard_id
+    FROM match_link_drop d
+    JOIN scorecards s ON s.match_id = d.match_id
+    WHERE NOT EXISTS (SELECT 1 FROM scorecards kept WHERE kept.match_id = d.keep_id)
+    GROUP BY d.keep_id;
+
+UPDATE scorecards s
+JOIN scorecard_move mv ON s.scorecard_id = mv.scorecard_id
+SET s.match_id = mv.keep_id;
+
+DELETE b FROM innings_batting b
+JOIN innings i ON b.innings_id = i.innings_id
+JOIN scorecards s ON i.scorecard_id = s.scorecard_id
+JOIN match_link_drop d ON s.match_id = d.match_id;
+
+DELETE b FROM innings_bowling b
+JOIN innings i ON b.innings_id = i.innings_id
+JOIN scorecards s ON i.scorecard_id = s.scorecard_id
+JOIN match_link_drop d ON s.match_id = d.match_id;
+
+DELETE i FROM innings i
+JOIN scorecards s ON i.scorecard_id = s.scorecard_id
+JOIN match_link_drop d ON s.match_id = d.match_id;
+
+DELETE s FROM scorecards s
+JOIN match_link_drop d ON s.match_id = d.match_id;
+
+DELETE m FROM cric_matches m
+JOIN match_link_drop d ON m.match_id = d.match_id;
+
+COMMIT;
+
+-- DDL commits on its own, so the key is added once the duplicates are gone
+ALTER TABLE cric_matches ADD CONSTRAINT uk_cric_matches_match_link UNIQUE (match_link);
+
+DROP TEMPORARY TABLE match_link_keep;
+DROP TEMPORARY TABLE match_link_drop;
+DROP TEMPORARY TABLE scorecard_move;
@@ -0,0 +1,53 @@
+-- One-off MySQL 8 migration for databases written before innings rows moved to innings_batting / innings_bowling.
+--
+-- Batting and bowling lines used to live in the @ElementCollection tables innings_batting_details and
+-- innings_bowling_details, which the application no longer reads. Without this script the lines of every
+-- scorecard stored before the upgrade stop showing, and only scorecards scraped again get lines in the new tables.
+-- Run it once after the first start of the new version (so Hibernate has created the new tables):
+--
+--   mysql -u root -p cricketscorebasics < src/main/resources/db/migrate_innings_details.sql
+--
+-- What is copied:
+--   * the lines of innings that still exist and have no lines in the new table yet; innings the new version
+--     has already rewritten keep their newer lines;
+--   * position follows the order MySQL returns the old rows in, normally the order they were written, since the
+--     old tables had no order column;
+--   * the new tables are keyed by (innings, player name), so when an innings lists a name twice only the first
+--     line is copied (InningsRowRepo does the same for new scorecards and logs it).
+-- Lines of innings that no longer exist are dropped with the old tables at the end.
+
+START TRANSACTION;
+
+INSERT INTO innings_batting (innings_id, batsman_name, position, runs_scored, balls_faced, fours, sixes,
+                             strike_rate, dismissal_info)
+SELECT innings_innings_id, batsman_name, line, runs_scored, balls_faced, fours, sixes, strike_rate, dismissal_info
+FROM (
+    SELECT d.*,
+           ROW_NUMBER() OVER (PARTITION BY d.innings_innings_id) AS line,
+           ROW_NUMBER() OVER (PARTITION BY d.innings_innings_id, d.batsman_name) AS name_rank
+    FROM innings_batting_details d
+    JOIN innings i ON i.innings_id = d.innings_innings_id
+    WHERE d.batsman_name IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM innings_batting b WHERE b.innings_id = d.innings_innings_id)
+) old
+WHERE name_rank = 1;
+
+INSERT INTO innings_bowling (innings_id, bowler_name, position, over_bowled, runs_scored, wickets_taken,
+                             economy_rate)
+SELECT innings_innings_id, bowler_name, line, over_bowled, runs_scored, wickets_taken, economy_rate
+FROM (
+    SELECT d.*,
+           ROW_NUMBER() OVER (PARTITION BY d.innings_innings_id) AS line,
+           ROW_NUMBER() OVER (PARTITION BY d.innings_innings_id, d.bowler_name) AS name_rank
+    FROM innings_bowling_details d
+    JOIN innings i ON i.innings_id = d.innings_innings_id
+    WHERE d.bowler_name IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM innings_bowling b WHERE b.innings_id = d.innings_innings_id)
+) old
+WHERE name_rank = 1;
+
+COMMIT;
+
+-- DDL commits on its own, so the old tables go only once the copy is committed
+DROP TABLE innings_batting_details;
+DROP TABLE innings_bowling_details;
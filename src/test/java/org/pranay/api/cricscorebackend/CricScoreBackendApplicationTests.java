@@ -3,7 +3,7 @@ package org.pranay.api.cricscorebackend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "live.poll.enabled=false")
 class CricScoreBackendApplicationTests {
 
     @Test
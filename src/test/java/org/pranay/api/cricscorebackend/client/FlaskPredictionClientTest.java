@@ -0,0 +1,195 @@
+package org.pranay.api.cricscorebackend.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlaskPredictionClientTest {
+
+    private static final Map<String, Object> MATCH_DATA = Map.of("team1", "India", "team2", "Australia");
+    private static final String PREDICTION =
+            "{\"likely_winner\":\"India\",\"win_probability\":0.62,\"predicted_final_score\":287}";
+
+    private HttpServer server;
+    private final AtomicInteger predictCalls = new AtomicInteger();
+    private final AtomicInteger healthCalls = new AtomicInteger();
+    private volatile int predictStatus = 200;
+    private volatile long predictDelayMillis = 0;
+    private volatile int healthStatus = 200;
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict", exchange -> {
+            predictCalls.incrementAndGet();
+            sleep(predictDelayMillis);
+            respond(exchange, predictStatus, PREDICTION);
+        });
+        server.createContext("/health", exchange -> {
+            healthCalls.incrementAndGet();
+            respond(exchange, healthStatus, "ok");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndThenFailsFast() {
+        predictStatus = 500;
+        FlaskPredictionClient client = client(baseUrl(), 2, 1000);
+
+        client.predict(MATCH_DATA);
+        client.predict(MATCH_DATA);
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        ResponseEntity<String> rejected = client.predict(MATCH_DATA);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(2, predictCalls.get(), "open breaker must not reach the service");
+    }
+
+    @Test
+    void slowResponsesCountAsFailures() {
+        predictDelayMillis = 500;
+        FlaskPredictionClient client = client(baseUrl(), 2, 1000);
+
+        long start = System.nanoTime();
+        client.predict(MATCH_DATA);
+        client.predict(MATCH_DATA);
+        client.predict(MATCH_DATA);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertEquals(2, predictCalls.get());
+        assertTrue(elapsedMillis < 1000, "third call should fail fast, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void outageOpensBreakerWithoutRepeatedConnects() {
+        server.stop(0);
+        FlaskPredictionClient client = client(baseUrl(), 1, 1000);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.predict(MATCH_DATA).getStatusCode());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.predict(MATCH_DATA).getStatusCode());
+        assertFalse(client.isAvailable());
+    }
+
+    @Test
+    void halfOpenProbeClosesBreakerOnceServiceRecovers() {
+        predictStatus = 503;
+        FlaskPredictionClient client = client(baseUrl(), 1, 1000);
+        client.predict(MATCH_DATA);
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        predictStatus = 200;
+        clock.addAndGet(Duration.ofMillis(1500).toNanos());
+        ResponseEntity<String> probe = client.predict(MATCH_DATA);
+
+        assertEquals(HttpStatus.OK, probe.getStatusCode());
+        assertEquals(PREDICTION, probe.getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void failedProbeReopensBreaker() {
+        predictStatus = 500;
+        FlaskPredictionClient client = client(baseUrl(), 1, 1000);
+        client.predict(MATCH_DATA);
+
+        clock.addAndGet(Duration.ofMillis(1500).toNanos());
+        client.predict(MATCH_DATA);
+
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertEquals(2, predictCalls.get());
+    }
+
+    @Test
+    void healthStateIsCachedAndDrivesBreaker() {
+        FlaskPredictionClient client = client(baseUrl(), 3, 60000);
+
+        healthStatus = 503;
+        client.refreshHealth();
+        assertFalse(client.isAvailable());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.predict(MATCH_DATA).getStatusCode());
+        assertEquals(0, predictCalls.get());
+
+        // recovery is picked up by the next health check without waiting out the open period
+        healthStatus = 200;
+        client.refreshHealth();
+        assertTrue(client.isAvailable());
+        assertEquals(HttpStatus.OK, client.predict(MATCH_DATA).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void disabledClientNeitherPollsNorCalls() {
+        // prediction.engine=native with prediction.flask.fallback=false
+        FlaskPredictionClient client = client(baseUrl(), 2, 1000, false);
+        client.refreshHealth();
+        assertEquals(0, healthCalls.get());
+        assertFalse(client.isAvailable());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.predict(MATCH_DATA).getStatusCode());
+        assertEquals(0, predictCalls.get());
+    }
+
+    private FlaskPredictionClient client(String baseUrl, int failureThreshold, long openMillis) {
+        return client(baseUrl, failureThreshold, openMillis, true);
+    }
+
+    private FlaskPredictionClient client(String baseUrl, int failureThreshold, long openMillis, boolean enabled) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(200);
+        requestFactory.setReadTimeout(200);
+        CircuitBreaker breaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMillis), clock::get);
+        return new FlaskPredictionClient(new RestTemplate(requestFactory), new SimpleMeterRegistry(), baseUrl, breaker,
+                enabled);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.pranay.api.cricscorebackend.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.config.AppConfig;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageFetcherTest {
+
+    private static final String PAGE = "<html><body>Bengaluru • M Chinnaswamy Stadium — 245/6</body></html>";
+    private static final String LAST_MODIFIED = "Sat, 12 Oct 2024 10:15:00 GMT";
+
+    private HttpServer server;
+    private final Set<InetSocketAddress> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long delayMillis = 0;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private PageFetcher fetcher;
+    private SimpleMeterRegistry registry;
+
+    // /live stub: honours If-None-Match when it sends ETags, gzips when asked
+    private volatile String livePage = PAGE;
+    private volatile String etag;
+    private volatile boolean gzip;
+    private final List<Headers> liveRequests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress());
+            sleep(delayMillis);
+            // no charset in the content type, as some cricbuzz responses do
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/live", exchange -> {
+            liveRequests.add(exchange.getRequestHeaders());
+            String currentEtag = etag;
+            if (currentEtag != null) {
+                exchange.getResponseHeaders().add("ETag", currentEtag);
+                exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+                if (currentEtag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+            byte[] body = livePage.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        AppConfig config = new AppConfig();
+        connectionManager = config.httpConnectionManager(4, 2, 500, 300, 60, new SimpleMeterRegistry());
+        httpClient = config.httpClient(connectionManager, 200, 300, 30);
+        registry = new SimpleMeterRegistry();
+        fetcher = new PageFetcher(config.restTemplate(new RestTemplateBuilder(), httpClient), registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void reusesPooledConnection() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(PAGE, fetcher.fetch(url()));
+        }
+        assertEquals(1, clientPorts.size(), "all fetches should share one keep-alive connection");
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    void slowTargetTimesOut() {
+        delayMillis = 2000;
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> fetcher.fetch(url()));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 1500, "read timeout should cut the call short, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void notModifiedResponseSkipsParse() {
+        etag = "\"v1\"";
+        assertEquals(Optional.of(PAGE), fetcher.fetchIfChanged(liveUrl()));
+        assertEquals(Optional.empty(), fetcher.fetchIfChanged(liveUrl()));
+
+        Headers conditional = liveRequests.get(1);
+        assertEquals("\"v1\"", conditional.getFirst("If-None-Match"));
+        assertEquals(LAST_MODIFIED, conditional.getFirst("If-Modified-Since"));
+        assertEquals(1, avoided("not-modified"));
+
+        etag = "\"v2\"";
+        livePage = PAGE.replace("245/6", "251/6");
+        assertEquals(Optional.of(livePage), fetcher.fetchIfChanged(liveUrl()));
+    }
+
+    @Test
+    void identicalBodyWithoutValidatorsSkipsParse() {
+        assertTrue(fetcher.fetchIfChanged(liveUrl()).isPresent());
+        assertTrue(fetcher.fetchIfChanged(liveUrl()).isEmpty());
+        assertNull(liveRequests.get(1).getFirst("If-None-Match"));
+        assertEquals(1, avoided("same-body"));
+
+        livePage = PAGE.replace("245/6", "246/6");
+        assertEquals(Optional.of(livePage), fetcher.fetchIfChanged(liveUrl()));
+    }
+
+    @Test
+    void forgottenPageIsReturnedAgain() {
+        etag = "\"v1\"";
+        fetcher.fetchIfChanged(liveUrl());
+        fetcher.forget(liveUrl());
+
+        assertEquals(Optional.of(PAGE), fetcher.fetchIfChanged(liveUrl()));
+        assertNull(liveRequests.get(1).getFirst("If-None-Match"));
+    }
+
+    @Test
+    void gzipBodyIsDecodedAndCompressedBytesCounted() throws IOException {
+        gzip = true;
+        livePage = PAGE.repeat(50);
+
+        assertEquals(Optional.of(livePage), fetcher.fetchIfChanged(liveUrl()));
+        assertEquals("gzip", liveRequests.get(0).getFirst("Accept-Encoding"));
+        double bytes = registry.get("page.fetch.bytes").counter().count();
+        assertEquals(gzip(livePage.getBytes(StandardCharsets.UTF_8)).length, bytes);
+        assertTrue(bytes < livePage.length() / 10.0);
+    }
+
+    private double avoided(String reason) {
+        return registry.get("page.fetch.parses.avoided").tag("reason", reason).counter().count();
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/page";
+    }
+
+    private String liveUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/live";
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.pranay.api.cricscorebackend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchCursorTest {
+
+    @Test
+    void roundTripsThroughUrlSafeText() {
+        MatchSummary last = new MatchSummary(48213, "India vs Australia,", null, null, null, null, null, null,
+                "/live-cricket-scores/101234/ind-vs-aus", null, "ODI", new Date(1728728100123L));
+
+        String encoded = MatchCursor.after(last).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+        assertEquals(new MatchCursor(1728728100123L, 48213), MatchCursor.decode(encoded));
+    }
+
+    @Test
+    void rejectsAnythingElse() {
+        assertThrows(IllegalArgumentException.class, () -> MatchCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> MatchCursor.decode("MTcyODcyODEwMDEyMw")); // no id
+        assertThrows(IllegalArgumentException.class, () -> MatchCursor.decode("YWJjOmRlZg")); // "abc:def"
+    }
+}
@@ -0,0 +1,114 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveScoresExtractorTest {
+
+    private static final String LIVE_SCORES_URL = "https://www.cricbuzz.com/cricket-match/live-scores";
+
+    static String fixture(String name) throws IOException {
+        try (InputStream in = LiveScoresExtractorTest.class.getResourceAsStream("/cricbuzz/" + name)) {
+            assertNotNull(in, "missing fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void extractsLiveMatchesFromSavedPage() throws IOException {
+        List<Match> matches = new LiveScoresExtractor(new SimpleMeterRegistry())
+                .extract(fixture("live-scores.html"), LIVE_SCORES_URL);
+
+        // completed and upcoming cards have no live link and are skipped
+        assertEquals(9, matches.size());
+        Match odi = matches.get(0);
+        assertEquals("India vs Australia,", odi.getTeamHeading());
+        assertEquals("2nd ODI • Indore, Holkar Cricket Stadium", odi.getMatchNumberVenue());
+        assertEquals("IND", odi.getBattingTeam());
+        assertEquals("245-6 (42.3 Ovs)", odi.getBattingTeamScore());
+        assertEquals("AUS", odi.getBowlingTeam());
+        assertEquals("", odi.getBowlingTeamScore());
+        assertEquals("India opt to bat", odi.getLiveText());
+        assertEquals("/live-cricket-scores/101234/ind-vs-aus-2nd-odi-australia-tour-of-india-2024", odi.getMatchLink());
+        assertEquals("ODI", odi.getMatchFormat());
+        assertEquals(matchStatus.LIVE, odi.getStatus());
+
+        Match test = matches.get(1);
+        assertEquals("TEST", test.getMatchFormat());
+        assertEquals("310 & 150-3 (40 Ovs)", test.getBattingTeamScore());
+        assertEquals("T20", matches.get(2).getMatchFormat());
+    }
+
+    @Test
+    void cardsMatchSelectorsOverTheFullDocument() throws IOException {
+        String html = fixture("live-scores.html");
+
+        List<LiveMatchCard> expected = new ArrayList<>();
+        for (Element card : Jsoup.parse(html, LIVE_SCORES_URL).select("div.cb-mtch-lst.cb-tms-itm")) {
+            String link = card.select("a.cb-lv-scrs-well.cb-lv-scrs-well-live").attr("href");
+            if (link.isEmpty()) {
+                continue;
+            }
+            String heading = card.select("h3.cb-lv-scr-mtch-hdr").select("a").text();
+            String venue = card.select("span").text();
+            expected.add(new LiveMatchCard(heading, venue,
+                    card.select("div.cb-hmscg-bat-txt").select("div.cb-hmscg-tm-nm").text(),
+                    card.select("div.cb-hmscg-bat-txt").select("div.cb-hmscg-tm-nm+div").text(),
+                    card.select("div.cb-hmscg-bwl-txt").select("div.cb-hmscg-tm-nm").text(),
+                    card.select("div.cb-hmscg-bwl-txt").select("div.cb-hmscg-tm-nm+div").text(),
+                    card.select("div.cb-text-live").text(), card.select("div.cb-text-complete").text(),
+                    link, LiveScoresExtractor.determineMatchFormat(heading, venue)));
+        }
+
+        assertEquals(expected, LiveScoresExtractor.extractCards(html, LIVE_SCORES_URL));
+    }
+
+    @Test
+    void cardScanIgnoresClassNamesOutsideCardTags() {
+        String html = "<html><script>var c = '<div class=\"cb-mtch-lst cb-tms-itm\">';</script>"
+                + "<div class=\"cb-mtch-lst-header\">not a card</div>"
+                + "<div class=\"cb-col cb-mtch-lst cb-tms-itm\"><!-- </div> -->"
+                + "<h3 class=\"cb-lv-scr-mtch-hdr\"><a href=\"/m\">A vs B,</a></h3>"
+                + "<div><div class=\"cb-hmscg-bat-txt\"><div class=\"cb-hmscg-tm-nm\">A</div><div>12-1 (3 Ovs)</div></div></div>"
+                + "<a class=\"cb-lv-scrs-well cb-lv-scrs-well-live\" href=\"/live-cricket-scores/1/a-vs-b\">Live</a>"
+                + "</div><div class=\"cb-divider\">footer</div></html>";
+
+        int start = LiveScoresExtractor.nextCard(html, 0);
+        assertEquals(html.indexOf("<div class=\"cb-col"), start);
+        assertEquals(html.indexOf("<div class=\"cb-divider"), LiveScoresExtractor.cardEnd(html, start));
+        assertEquals(-1, LiveScoresExtractor.nextCard(html, LiveScoresExtractor.cardEnd(html, start)));
+
+        List<LiveMatchCard> cards = LiveScoresExtractor.extractCards(html, LIVE_SCORES_URL);
+        assertEquals(1, cards.size());
+        assertEquals("12-1 (3 Ovs)", cards.get(0).battingScore());
+        assertEquals("/live-cricket-scores/1/a-vs-b", cards.get(0).matchLink());
+    }
+
+    @Test
+    void recordsParseTimeAndAllocationPerPage() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LiveScoresExtractor extractor = new LiveScoresExtractor(registry);
+        String html = fixture("live-scores.html");
+
+        extractor.extract(html, LIVE_SCORES_URL);
+        extractor.extract(html, LIVE_SCORES_URL);
+
+        assertEquals(2, registry.get("live-scores.parse.time").timer().count());
+        assertTrue(registry.get("live-scores.parse.time").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(2, registry.get("live-scores.parse.allocated").summary().count());
+        assertTrue(registry.get("live-scores.parse.allocated").summary().max() > 0);
+    }
+}
@@ -0,0 +1,73 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreParserTest {
+
+    private final ParsedScore parsed = new ParsedScore();
+
+    @Test
+    void parsesInningsInProgress() {
+        assertTrue(ScoreParser.parse("245-6 (42.3 Ovs)", parsed));
+        assertEquals(1, parsed.inningsCount());
+        assertEquals(245, parsed.runs(0));
+        assertEquals(6, parsed.wickets(0));
+        assertEquals(42 * 6 + 3, parsed.balls(0));
+        assertEquals(42.3, parsed.overs(0), 1e-9);
+        assertFalse(parsed.declared(0));
+    }
+
+    @Test
+    void parsesMultipleInningsWithDeclarationAndFollowOn() {
+        assertTrue(ScoreParser.parse("310 & 150-3 d", parsed));
+        assertEquals(2, parsed.inningsCount());
+        assertEquals(310, parsed.runs(0));
+        assertEquals(10, parsed.wickets(0), "no wicket count means all out");
+        assertEquals(-1, parsed.balls(0));
+        assertTrue(parsed.declared(1));
+        assertFalse(parsed.declared(0));
+        assertFalse(parsed.followOn());
+
+        assertTrue(ScoreParser.parse("180 & 220/7 (60 Ovs) f/o", parsed));
+        assertTrue(parsed.followOn());
+        assertEquals(7, parsed.wickets(1));
+        assertEquals(360, parsed.balls(1));
+        assertEquals(1, parsed.lastInnings());
+    }
+
+    @Test
+    void skipsSegmentsWithoutAScore() {
+        assertFalse(ScoreParser.parse("", parsed));
+        assertFalse(ScoreParser.parse(null, parsed));
+        assertFalse(ScoreParser.parse("Yet to bat", parsed));
+        assertTrue(ScoreParser.parse("Yet to bat & 12-0 (2 Ovs)", parsed));
+        assertEquals(1, parsed.inningsCount());
+        assertEquals(12, parsed.runs(0));
+        // a later parse does not see the earlier result
+        ScoreParser.parse("99-1 (10.1 Ovs)", parsed);
+        assertEquals(61, parsed.balls(0));
+    }
+
+    @Test
+    void parsingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] scores = {"245-6 (42.3 Ovs)", "310 & 150-3 d", "180 & 220/7 (60 Ovs) f/o"};
+        for (int i = 0; i < 20_000; i++) {
+            ScoreParser.parse(scores[i % scores.length], parsed);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int checksum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            ScoreParser.parse(scores[i % scores.length], parsed);
+            checksum += parsed.runs(0);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(checksum > 0);
+        // leaves room for the measurement itself, far below one object per parse
+        assertTrue(allocated < 10_000, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,73 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.entities.Innings;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScorecardParserTest {
+
+    @Test
+    void parsesBattingAndBowlingFromSavedScorecard() throws IOException {
+        // innings markup inside the script and the comment is not part of the scorecard
+        List<ScorecardInnings> innings = ScorecardParser.parse(LiveScoresExtractorTest.fixture("scorecard.html"));
+
+        assertEquals(1, innings.size());
+        ScorecardInnings india = innings.get(0);
+        assertEquals("India", india.teamName());
+        assertEquals(245, india.runs());
+        assertEquals(6, india.wickets());
+        assertEquals("42.3", india.overs());
+        assertEquals(16, india.extras());
+        assertTrue(india.fallOfWickets().startsWith("78-1 (Shubman Gill, 15.2), 120-2"), india.fallOfWickets());
+
+        // yet-to-bat, extras and total rows are not batters
+        assertEquals(8, india.batting().size());
+        assertEquals(new ScorecardInnings.BattingRow("Rohit Sharma", "c Carey b Starc", 56, 61, 7, 2, 91.80),
+                india.batting().get(0));
+        assertEquals("KL Rahul", india.batting().get(4).name());
+        assertEquals("not out", india.batting().get(7).dismissal());
+        assertEquals(india.runs() - india.extras(),
+                india.batting().stream().mapToInt(ScorecardInnings.BattingRow::runs).sum());
+        assertEquals(255, india.batting().stream().mapToInt(ScorecardInnings.BattingRow::balls).sum());
+
+        // powerplay rows are not bowlers
+        assertEquals(5, india.bowling().size());
+        assertEquals(new ScorecardInnings.BowlingRow("Pat Cummins", "8.3", 0, 54, 1, 1, 3, 6.35),
+                india.bowling().get(2));
+        assertEquals(india.wickets() - 1, // one run out
+                india.bowling().stream().mapToInt(ScorecardInnings.BowlingRow::wickets).sum());
+    }
+
+    @Test
+    void mapsToInningsEntity() throws IOException {
+        Innings innings = ScorecardParser.parse(LiveScoresExtractorTest.fixture("scorecard.html")).get(0).toInnings();
+
+        assertEquals("India", innings.getTeamName());
+        assertEquals(245, innings.getRunsScored());
+        assertEquals("42.3", innings.getOverBowled());
+        assertEquals(92, innings.getBattingDetails().get(0).getStrikeRate());
+        assertEquals(8, innings.getBattingDetails().get(7).getPosition(), "rows keep their place on the card");
+        assertEquals("c Carey b Starc", innings.getBattingDetails().get(0).getDismissalInfo());
+        assertEquals(6.22, innings.getBowlingDetails().get(0).getEconomyRate(), 1e-9);
+    }
+
+    @Test
+    void allOutAndNotStartedInnings() {
+        String html = "<div id=\"innings_1\"><div class=\"cb-col cb-col-100 cb-scrd-hdr-rw\">"
+                + "<span>Australia 2nd Innings</span><span class=\"pull-right\">179 (48.2 Ov)</span></div></div>"
+                + "<div id=\"innings_2\"><div class=\"cb-col cb-col-100 cb-scrd-hdr-rw\"></div></div>";
+
+        List<ScorecardInnings> innings = ScorecardParser.parse(html);
+
+        assertEquals(1, innings.size());
+        assertEquals("Australia", innings.get(0).teamName());
+        assertEquals(179, innings.get(0).runs());
+        assertEquals(10, innings.get(0).wickets());
+        assertEquals("48.2", innings.get(0).overs());
+        assertTrue(innings.get(0).batting().isEmpty());
+    }
+}
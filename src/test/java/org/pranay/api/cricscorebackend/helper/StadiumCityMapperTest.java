@@ -0,0 +1,66 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.config.VenueMappingConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StadiumCityMapperTest {
+
+    @Test
+    void longestNameWinsRegardlessOfOrder() {
+        assertEquals("Dhaka", StadiumCityMapper.getCityFromVenue("2nd ODI • at Shere Bangla National Stadium, Mirpur"));
+        assertEquals("Karachi", StadiumCityMapper.getCityFromVenue("1st Test • National Stadium"));
+
+        Map<String, String> venues = new LinkedHashMap<>();
+        venues.put("Oval", "Somewhere");
+        venues.put("Kensington Oval", "Bridgetown");
+        VenueIndex forward = VenueIndex.build(venues);
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("Kensington Oval", "Bridgetown");
+        reversed.put("Oval", "Somewhere");
+        VenueIndex backward = VenueIndex.build(reversed);
+        assertEquals("Bridgetown", forward.findCity("at Kensington Oval, Barbados"));
+        assertEquals("Bridgetown", backward.findCity("at Kensington Oval, Barbados"));
+        // equal lengths: the name that starts first
+        assertEquals("A", VenueIndex.build(Map.of("Alpha Park", "A", "Betas Park", "B"))
+                .findCity("Alpha Park or Betas Park"));
+        assertEquals("B", VenueIndex.build(Map.of("Alpha Park", "A", "Betas Park", "B"))
+                .findCity("Betas Park or Alpha Park"));
+    }
+
+    @Test
+    void ignoresCasePunctuationAndPartialWords() {
+        VenueIndex index = VenueIndex.build(Map.of("R Premadasa Stadium", "Colombo", "Eden Park", "Auckland"));
+        assertEquals("Colombo", index.findCity("3rd ODI • R.Premadasa  STADIUM, Colombo"));
+        assertNull(index.findCity("Gardens of Eden Parkside"));
+        assertEquals("Auckland", index.findCity("Eden Park"));
+    }
+
+    @Test
+    void fallsBackToLastPartOfVenue() {
+        assertEquals("Nowhereville", StadiumCityMapper.getCityFromVenue("1st T20I • at Some Ground, Nowhereville (North)"));
+        assertEquals("Unknown Park", StadiumCityMapper.getCityFromVenue("at Unknown Park"));
+        assertEquals("", StadiumCityMapper.getCityFromVenue(null));
+    }
+
+    @Test
+    void seedsVenuesFromMatchData() throws Exception {
+        Path dataDir = Path.of("CricPred/data");
+        assumeTrue(Files.exists(dataDir.resolve("ODI_Match_info.csv")));
+        Map<String, String> venues = VenueMappingConfig.venuesFromMatchInfo(dataDir);
+        assertEquals("Indore", venues.get("Holkar Cricket Stadium"));
+        assertEquals("Indore", venues.get("Indore"));
+
+        StadiumCityMapper.addVenues(venues);
+        assertEquals("Indore", StadiumCityMapper.getCityFromVenue("3rd ODI • at Holkar Cricket Stadium"));
+        // the hardcoded mapping keeps priority
+        assertEquals("Bangalore", StadiumCityMapper.getCityFromVenue("1st ODI • at M Chinnaswamy Stadium, Bengaluru"));
+    }
+}
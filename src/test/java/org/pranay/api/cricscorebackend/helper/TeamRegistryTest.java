@@ -0,0 +1,91 @@
+package org.pranay.api.cricscorebackend.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.config.TeamRegistryConfig;
+import org.pranay.api.cricscorebackend.services.TeamNameStandardizer;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TeamRegistryTest {
+
+    private final TeamRegistry registry = TeamRegistry.of(mapping());
+
+    @Test
+    void codesAliasesAndNamesShareOneId() {
+        int india = registry.idOf("India");
+        assertEquals(0, india);
+        assertEquals(india, registry.idOf("IND"));
+        assertEquals(india, registry.idOf(" ind "));
+        assertEquals(india, registry.idOf(new StringBuilder("INDIA")));
+        assertEquals(registry.idOf("UAE"), registry.idOf("U.A.E"));
+        assertEquals(registry.idOf("South Africa"), registry.idOf("RSA"));
+        assertEquals(TeamRegistry.UNKNOWN, registry.idOf("Indians"));
+        assertEquals(TeamRegistry.UNKNOWN, registry.idOf(null));
+        assertSame("India", registry.canonicalName("ind"));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void sameTeamFallsBackToNamesForUnknownTeams() {
+        assertTrue(registry.sameTeam("IND", "India"));
+        assertFalse(registry.sameTeam("IND", "RSA"));
+        assertFalse(registry.sameTeam("IND", "Kent"));
+        assertTrue(registry.sameTeam("Kent", " kent"));
+    }
+
+    @Test
+    void extendingKeepsExistingIds() {
+        TeamRegistry extended = registry.withTeams(List.of("Scotland", "Netherlands", "india", " "));
+        assertEquals(5, extended.size());
+        assertEquals(registry.idOf("IND"), extended.idOf("IND"));
+        assertEquals(3, extended.idOf("Netherlands"));
+        assertEquals(4, extended.idOf("scotland"));
+        assertSame(extended, extended.withTeams(Set.of("India")));
+    }
+
+    @Test
+    void lookupsDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] names = {"IND", "South Africa", "u.a.e", "Kent"};
+        int sum = 0;
+        for (int i = 0; i < 20_000; i++) {
+            sum += registry.idOf(names[i % names.length]);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            sum += registry.idOf(names[i % names.length]);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(sum > 0);
+        assertTrue(allocated < 10_000, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void registryCoversTeamsInMatchData() throws Exception {
+        Path dataDir = Path.of("CricPred/data");
+        assumeTrue(Files.exists(dataDir.resolve("ODI_Match_info.csv")));
+        TeamNameStandardizer.addTeams(TeamRegistryConfig.teamsFromMatchInfo(dataDir));
+        TeamRegistry teams = TeamNameStandardizer.registry();
+        assertNotEquals(TeamRegistry.UNKNOWN, teams.idOf("Bermuda"));
+        assertEquals("Papua New Guinea", TeamNameStandardizer.standardizeTeamName("png"));
+        assertEquals("Australia", TeamNameStandardizer.standardizeTeamName("AUS"));
+    }
+
+    private static Map<String, String> mapping() {
+        Map<String, String> mapping = new LinkedHashMap<>();
+        mapping.put("IND", "India");
+        mapping.put("SA", "South Africa");
+        mapping.put("RSA", "South Africa");
+        mapping.put("UAE", "United Arab Emirates");
+        return mapping;
+    }
+}
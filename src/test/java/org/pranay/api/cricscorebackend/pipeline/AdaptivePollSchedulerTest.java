@@ -0,0 +1,183 @@
+package org.pranay.api.cricscorebackend.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.dto.MatchPage;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.pipeline.AdaptivePollScheduler.Cadence;
+import org.pranay.api.cricscorebackend.services.LiveScoreSnapshot;
+import org.pranay.api.cricscorebackend.services.MatchService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private volatile List<Match> page = List.of();
+    private volatile long scrapeMillis = 0;
+    private volatile double random = 0.5; // no jitter
+    private final AdaptivePollScheduler scheduler = scheduler();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void classifiesMatchState() {
+        assertEquals(Cadence.STOPPED, AdaptivePollScheduler.classify(
+                match("/m/1", "ODI", "280-7 (50 Ovs)", "India won by 5 wkts", matchStatus.COMPLETED)));
+        assertEquals(Cadence.SLOW, AdaptivePollScheduler.classify(
+                match("/m/2", "TEST", "310 & 150-3 (40 Ovs)", "Day 2: Stumps - England lead by 120 runs", matchStatus.LIVE)));
+        assertEquals(Cadence.SLOW, AdaptivePollScheduler.classify(
+                match("/m/3", "ODI", "290-8 (50 Ovs)", "Innings Break", matchStatus.LIVE)));
+        assertEquals(Cadence.FAST, AdaptivePollScheduler.classify(
+                match("/m/4", "ODI", "245-6 (42.3 Ovs)", "India opt to bat", matchStatus.LIVE)));
+        assertEquals(Cadence.FAST, AdaptivePollScheduler.classify(
+                match("/m/5", "T20", "141-5 (14.3 Ovs)", "West Indies need 12 runs in 33 balls", matchStatus.LIVE)));
+        assertEquals(Cadence.NORMAL, AdaptivePollScheduler.classify(
+                match("/m/6", "T20", "88-2 (10 Ovs)", "West Indies need 90 runs in 60 balls", matchStatus.LIVE)));
+        // "team" must not read as a tea break
+        assertEquals(Cadence.NORMAL, AdaptivePollScheduler.classify(
+                match("/m/7", "ODI", "120-2 (20 Ovs)", "Team changes for both sides", matchStatus.LIVE)));
+    }
+
+    @Test
+    void pollsAtTheFastestLiveMatchInterval() {
+        page = List.of(
+                match("/m/1", "TEST", "310 & 150-3 (40 Ovs)", "Lunch", matchStatus.LIVE),
+                match("/m/2", "ODI", "120-2 (20 Ovs)", "", matchStatus.LIVE));
+        assertEquals(30_000, scheduler.pollOnce());
+
+        page = List.of(page.get(0), match("/m/2", "ODI", "250-6 (45 Ovs)", "", matchStatus.LIVE));
+        assertEquals(10_000, scheduler.pollOnce());
+        assertEquals(10_000, registry.get("polling.interval").gauge().value());
+    }
+
+    @Test
+    void completedMatchesStopPolling() {
+        page = List.of(match("/m/1", "ODI", "280-7 (50 Ovs)", "India won by 5 wkts", matchStatus.COMPLETED));
+
+        assertEquals(120_000, scheduler.pollOnce(), "only the idle rate, for new matches to appear");
+        assertEquals(Cadence.STOPPED, scheduler.getPolls().get(0).cadence());
+        assertEquals(1, registry.get("polling.matches").tag("cadence", "stopped").gauge().value());
+    }
+
+    @Test
+    void exposesEffectivePollRatePerMatch() {
+        page = List.of(
+                match("/m/1", "ODI", "250-6 (45 Ovs)", "", matchStatus.LIVE),
+                match("/m/2", "TEST", "150-3 (40 Ovs)", "Tea", matchStatus.LIVE));
+        scheduler.pollOnce();
+        clock.addAndGet(10_000);
+        scheduler.pollOnce();
+
+        List<AdaptivePollScheduler.MatchPoll> polls = scheduler.getPolls();
+        assertEquals("/m/1", polls.get(0).matchLink());
+        assertEquals(Cadence.FAST, polls.get(0).cadence());
+        assertEquals(6.0, polls.get(0).pollsPerMinute(), 1e-9);
+        assertEquals(Cadence.SLOW, polls.get(1).cadence());
+        assertEquals(120_000, polls.get(1).targetIntervalMillis());
+
+        // matches that left the page are dropped
+        page = List.of(page.get(0));
+        scheduler.pollOnce();
+        assertEquals(1, scheduler.getPolls().size());
+    }
+
+    @Test
+    void overrunSchedulesNextPollAfterMinimumGap() {
+        page = List.of(match("/m/1", "ODI", "250-6 (45 Ovs)", "", matchStatus.LIVE));
+        scrapeMillis = 4_000;
+        assertEquals(6_000, scheduler.pollOnce(), "the interval counts from the start of the poll");
+
+        scrapeMillis = 15_000;
+        assertEquals(2_000, scheduler.pollOnce());
+        assertEquals(1, registry.get("polling.overruns").counter().count());
+    }
+
+    @Test
+    void jitterStaysWithinConfiguredFraction() {
+        page = List.of(match("/m/1", "ODI", "120-2 (20 Ovs)", "", matchStatus.LIVE));
+        random = 0.0;
+        assertEquals(27_000, scheduler.pollOnce());
+        random = 0.999999;
+        long delay = scheduler.pollOnce();
+        assertTrue(delay > 32_900 && delay <= 33_000, "delay " + delay);
+    }
+
+    @Test
+    void disabledSchedulerNeverPolls() throws InterruptedException {
+        AtomicInteger refreshes = new AtomicInteger();
+        AdaptivePollScheduler disabled = new AdaptivePollScheduler(new StubMatchService() {
+            @Override
+            public LiveScoreSnapshot refreshLiveSnapshot() {
+                refreshes.incrementAndGet();
+                return LiveScoreSnapshot.EMPTY;
+            }
+        }, new SimpleMeterRegistry(), 10, 30, 120, 120, 2_000, 0.1, false);
+        try {
+            disabled.start();
+            Thread.sleep(200);
+            assertEquals(0, refreshes.get());
+        } finally {
+            disabled.shutdown();
+        }
+    }
+
+    private AdaptivePollScheduler scheduler() {
+        MatchService matchService = new StubMatchService() {
+            @Override
+            public LiveScoreSnapshot refreshLiveSnapshot() {
+                clock.addAndGet(scrapeMillis);
+                return new LiveScoreSnapshot(1, Instant.EPOCH, page);
+            }
+        };
+        return new AdaptivePollScheduler(matchService, registry, 10_000, 30_000, 120_000, 120_000, 2_000, 0.1,
+                clock::get, () -> random);
+    }
+
+    private static Match match(String link, String format, String battingScore, String liveText, matchStatus status) {
+        Match match = new Match();
+        match.setMatchLink(link);
+        match.setMatchFormat(format);
+        match.setBattingTeamScore(battingScore);
+        match.setLiveText(liveText);
+        match.setStatus(status);
+        return match;
+    }
+
+    private abstract static class StubMatchService implements MatchService {
+        @Override
+        public MatchPage getMatches(matchStatus status, String format, String cursor, int limit) {
+            return new MatchPage(List.of(), null);
+        }
+
+        @Override
+        public List<Match> getLiveMatchScores() {
+            return List.of();
+        }
+
+        @Override
+        public LiveScoreSnapshot getLiveSnapshot() {
+            return LiveScoreSnapshot.EMPTY;
+        }
+
+        @Override
+        public Match getMatchById(int matchId) {
+            return null;
+        }
+
+        @Override
+        public void saveMatch(Match match) {
+        }
+    }
+}
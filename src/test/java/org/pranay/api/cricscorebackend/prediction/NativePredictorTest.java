@@ -0,0 +1,65 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.dto.Prediction;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.services.PredictionService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A live match as the scraper stores it, through PredictionService.extractMatchData and the native predictor
+class NativePredictorTest {
+
+    private static OdiModel model;
+    private final PredictionService predictionService = new PredictionService(null, null, "native");
+
+    @BeforeAll
+    static void train() throws IOException {
+        model = OdiModel.train(OdiMatchRecord.load(Path.of("CricPred/data")));
+    }
+
+    @Test
+    void chasingSideGetsTheTargetFromTheBowlingScore() {
+        Match match = match("India", "140-2 (40 Ovs)", "Australia", "150-9 (50 Ovs)");
+
+        Map<String, Object> data = predictionService.extractMatchData(match);
+        assertEquals(151, data.get("target"));
+
+        Prediction prediction = new NativePredictor(model).predict(data).orElseThrow();
+        OdiModel.Estimate chase = model.estimate(new OdiModel.InningsState("India", "Australia", "Mumbai",
+                140, 2, 240, 151, true));
+        assertEquals(chase.battingWinProbability(), prediction.winProbability(), 1e-9);
+        assertEquals("India", prediction.likelyWinner());
+        // 140-2 after 40 overs would project well past 151 in a first innings; the chase stops at the target
+        assertEquals(151, prediction.predictedScore());
+    }
+
+    @Test
+    void firstInningsHasNoTarget() {
+        Match match = match("India", "140-2 (40 Ovs)", "Australia", "");
+
+        Map<String, Object> data = predictionService.extractMatchData(match);
+        assertFalse(data.containsKey("target"));
+
+        Prediction prediction = new NativePredictor(model).predict(data).orElseThrow();
+        assertTrue(prediction.predictedScore() > 151, "predicted " + prediction.predictedScore());
+    }
+
+    private static Match match(String battingTeam, String battingScore, String bowlingTeam, String bowlingScore) {
+        Match match = new Match();
+        match.setTeamHeading(battingTeam + " vs " + bowlingTeam + ",");
+        match.setMatchNumberVenue("2nd ODI • Wankhede Stadium, Mumbai");
+        match.setBattingTeam(battingTeam);
+        match.setBattingTeamScore(battingScore);
+        match.setBowlingTeam(bowlingTeam);
+        match.setBowlingTeamScore(bowlingScore);
+        match.setLiveText(battingTeam + " opt to bat");
+        match.setMatchFormat("ODI");
+        return match;
+    }
+}
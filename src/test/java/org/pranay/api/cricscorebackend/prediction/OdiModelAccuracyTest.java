@@ -0,0 +1,176 @@
+package org.pranay.api.cricscorebackend.prediction;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Accuracy of the in-process ODI model on matches it was not trained on (match id % 5 == 0), against the
+// actual results and against the Python model. CricPred/model/export_predictions.py writes the Python model's
+// predictions for the same held-out states to the test fixture cricpred/python_predictions.csv; without that
+// file only the Python score projection heuristic is compared.
+class OdiModelAccuracyTest {
+    private static final Logger logger = LoggerFactory.getLogger(OdiModelAccuracyTest.class);
+
+    private static final Path DATA_DIR = Path.of("CricPred/data");
+    private static final String PYTHON_PREDICTIONS = "/cricpred/python_predictions.csv";
+
+    // How far the native model may sit from the Python one on the same states. The Python model was trained on
+    // the held-out matches too, so it gets a small accuracy margin.
+    private static final double MIN_WINNER_AGREEMENT = 0.80;
+    private static final double MAX_MEAN_PROBABILITY_GAP = 0.15;
+    private static final double MAX_MEAN_SCORE_GAP = 25;
+    private static final double ACCURACY_MARGIN = 0.03;
+
+    private static List<OdiMatchRecord> heldOut;
+    private static OdiModel model;
+
+    @BeforeAll
+    static void train() throws IOException {
+        List<OdiMatchRecord> training = new ArrayList<>();
+        heldOut = new ArrayList<>();
+        for (OdiMatchRecord match : OdiMatchRecord.load(DATA_DIR)) {
+            (isHeldOut(match) ? heldOut : training).add(match);
+        }
+        model = OdiModel.train(training);
+    }
+
+    static boolean isHeldOut(OdiMatchRecord match) {
+        return match.id() % 5 == 0;
+    }
+
+    @Test
+    void beatsPythonProjectionAndPredictsMostResults() {
+        int states = 0;
+        int correct = 0;
+        int lateStates = 0;
+        int lateCorrect = 0;
+        double squaredError = 0;
+        double projectionSquaredError = 0;
+        for (OdiMatchRecord match : heldOut) {
+            if (!match.hasCleanResult()) {
+                continue;
+            }
+            for (OdiModel.LabelledState labelled : OdiModel.trainingStates(match)) {
+                OdiModel.InningsState state = labelled.state();
+                OdiModel.Estimate estimate = model.estimate(state);
+                boolean right = (estimate.battingWinProbability() >= 0.5) == labelled.battingSideWon();
+                states++;
+                correct += right ? 1 : 0;
+                if (state.balls() >= 40 * 6) {
+                    lateStates++;
+                    lateCorrect += right ? 1 : 0;
+                }
+                if (!state.isChase()) {
+                    squaredError += square(estimate.predictedFinalScore() - labelled.finalScore());
+                    projectionSquaredError += square(OdiModel.projectScore(state.runs(), state.balls(),
+                            state.wickets()) - labelled.finalScore());
+                }
+            }
+        }
+        int firstInnings = countFirstInnings();
+        double accuracy = (double) correct / states;
+        double lateAccuracy = (double) lateCorrect / lateStates;
+        double rmse = Math.sqrt(squaredError / firstInnings);
+        double projectionRmse = Math.sqrt(projectionSquaredError / firstInnings);
+
+        logger.info("held-out matches={} states={}", heldOut.size(), states);
+        logger.info("win accuracy: all overs {}, overs 40+ {}", format(accuracy, 3), format(lateAccuracy, 3));
+        logger.info("first innings final score RMSE: native {}, python projection heuristic {}",
+                format(rmse, 1), format(projectionRmse, 1));
+
+        assertTrue(accuracy > 0.72, "win accuracy " + accuracy);
+        assertTrue(lateAccuracy > 0.75, "late innings win accuracy " + lateAccuracy);
+        assertTrue(rmse < projectionRmse, "score RMSE " + rmse + " vs heuristic " + projectionRmse);
+        assertTrue(rmse < 45, "score RMSE " + rmse);
+    }
+
+    @Test
+    void comparesWithPythonModelOutputs() throws IOException {
+        InputStream in = OdiModelAccuracyTest.class.getResourceAsStream(PYTHON_PREDICTIONS);
+        assumeTrue(in != null, "No " + PYTHON_PREDICTIONS + "; run CricPred/model/export_predictions.py to compare");
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        Map<Long, OdiMatchRecord> byId = new HashMap<>();
+        heldOut.forEach(match -> byId.put(match.id(), match));
+
+        int rows = 0;
+        int agree = 0;
+        int pythonCorrect = 0;
+        int nativeCorrect = 0;
+        double probabilityGap = 0;
+        double scoreGap = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            // match_id,over,runs,wickets,batting_first_win_probability,predicted_final_score
+            List<String> fields = OdiMatchRecord.split(line);
+            OdiMatchRecord match = byId.get(Long.parseLong(fields.get(0)));
+            if (match == null || !match.hasCleanResult()) {
+                continue;
+            }
+            // the Python model is asked about the side batting first, as its team1
+            OdiModel.InningsState state = new OdiModel.InningsState(match.battingFirst(), match.battingSecond(),
+                    match.city(), Integer.parseInt(fields.get(2)), Integer.parseInt(fields.get(3)),
+                    Integer.parseInt(fields.get(1)) * 6, 0, match.tossWinner().equals(match.battingFirst()));
+            OdiModel.Estimate estimate = model.estimate(state);
+            double pythonProbability = Double.parseDouble(fields.get(4));
+            boolean team1Won = match.winner().equals(match.battingFirst());
+
+            rows++;
+            agree += (pythonProbability >= 0.5) == (estimate.battingWinProbability() >= 0.5) ? 1 : 0;
+            pythonCorrect += (pythonProbability >= 0.5) == team1Won ? 1 : 0;
+            nativeCorrect += (estimate.battingWinProbability() >= 0.5) == team1Won ? 1 : 0;
+            probabilityGap += Math.abs(pythonProbability - estimate.battingWinProbability());
+            scoreGap += Math.abs(Double.parseDouble(fields.get(5)) - estimate.predictedFinalScore());
+        }
+        assertTrue(rows > 0, "no held-out states in " + PYTHON_PREDICTIONS);
+        double agreement = (double) agree / rows;
+        double meanProbabilityGap = probabilityGap / rows;
+        double meanScoreGap = scoreGap / rows;
+        double pythonAccuracy = (double) pythonCorrect / rows;
+        double nativeAccuracy = (double) nativeCorrect / rows;
+        logger.info("python comparison over {} states: winner agreement {}, mean |p diff| {}, " +
+                        "mean |score diff| {}, accuracy python {} native {}", rows, format(agreement, 3),
+                format(meanProbabilityGap, 3), format(meanScoreGap, 1), format(pythonAccuracy, 3),
+                format(nativeAccuracy, 3));
+
+        assertTrue(agreement >= MIN_WINNER_AGREEMENT, "winner agreement " + agreement);
+        assertTrue(meanProbabilityGap <= MAX_MEAN_PROBABILITY_GAP, "mean |p diff| " + meanProbabilityGap);
+        assertTrue(meanScoreGap <= MAX_MEAN_SCORE_GAP, "mean |score diff| " + meanScoreGap);
+        assertTrue(nativeAccuracy >= pythonAccuracy - ACCURACY_MARGIN,
+                "native accuracy " + nativeAccuracy + " vs python " + pythonAccuracy);
+    }
+
+    private static int countFirstInnings() {
+        int count = 0;
+        for (OdiMatchRecord match : heldOut) {
+            if (match.hasCleanResult()) {
+                count += (int) OdiModel.trainingStates(match).stream().filter(s -> !s.state().isChase()).count();
+            }
+        }
+        return count;
+    }
+
+    private static String format(double value, int decimals) {
+        return String.format("%." + decimals + "f", value);
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
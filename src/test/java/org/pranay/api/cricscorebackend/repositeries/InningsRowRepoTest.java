@@ -0,0 +1,174 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.entities.BatsmanPerformance;
+import org.pranay.api.cricscorebackend.entities.BowlerPerformance;
+import org.pranay.api.cricscorebackend.entities.Innings;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.Scorecard;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// InningsRowRepo and the innings trimming in ScorecardStore against innings_batting / innings_bowling in H2
+// (MySQL mode)
+class InningsRowRepoTest {
+
+    private static final int INNINGS_ID = 7;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private InningsRowRepo repo;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(DriverManager.getConnection(
+                "jdbc:h2:mem:innings-rows;MODE=MySQL;DATABASE_TO_LOWER=TRUE"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE innings_batting (innings_id INT NOT NULL, " +
+                "batsman_name VARCHAR(255) NOT NULL, position INT, runs_scored INT, balls_faced INT, fours INT, " +
+                "sixes INT, strike_rate INT, dismissal_info VARCHAR(255), PRIMARY KEY (innings_id, batsman_name))");
+        jdbcTemplate.execute("CREATE TABLE innings_bowling (innings_id INT NOT NULL, " +
+                "bowler_name VARCHAR(255) NOT NULL, position INT, over_bowled VARCHAR(255), runs_scored INT, " +
+                "wickets_taken INT, economy_rate DOUBLE, PRIMARY KEY (innings_id, bowler_name))");
+        repo = new InningsRowRepo(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void firstSyncWritesEveryRow() {
+        assertEquals(5, repo.syncRows(INNINGS_ID, batting(), bowling()));
+        assertEquals(3, count("innings_batting", INNINGS_ID));
+        assertEquals(2, count("innings_bowling", INNINGS_ID));
+    }
+
+    @Test
+    void identicalCardWritesNothing() {
+        repo.syncRows(INNINGS_ID, batting(), bowling());
+
+        assertEquals(0, repo.syncRows(INNINGS_ID, batting(), bowling()));
+    }
+
+    @Test
+    void onlyTheChangedBatterIsWritten() {
+        repo.syncRows(INNINGS_ID, batting(), bowling());
+        List<BatsmanPerformance> batting = batting();
+        batting.get(2).setRunsScored(13);
+        batting.get(2).setBallsFaced(9);
+
+        assertEquals(1, repo.syncRows(INNINGS_ID, batting, bowling()));
+        assertEquals(13, jdbcTemplate.queryForObject("SELECT runs_scored FROM innings_batting " +
+                "WHERE innings_id = ? AND batsman_name = 'Virat Kohli'", Integer.class, INNINGS_ID));
+    }
+
+    @Test
+    void renamedPlayerReplacesTheOldRow() {
+        repo.syncRows(INNINGS_ID, batting(), bowling());
+        List<BowlerPerformance> bowling = bowling();
+        bowling.get(1).setBowlerName("Adam Zampa");
+
+        // one upsert for the new name, one delete for the old one
+        assertEquals(2, repo.syncRows(INNINGS_ID, batting(), bowling));
+        assertEquals(List.of("Adam Zampa", "Mitchell Starc"), jdbcTemplate.queryForList(
+                "SELECT bowler_name FROM innings_bowling WHERE innings_id = ? ORDER BY bowler_name",
+                String.class, INNINGS_ID));
+    }
+
+    @Test
+    void sameNamedPlayersShareOneRow() {
+        List<BatsmanPerformance> batting = batting();
+        batting.add(new BatsmanPerformance(0, "Virat Kohli", 4, 3, 5, 0, 0, 60, "not out"));
+
+        assertEquals(5, repo.syncRows(INNINGS_ID, batting, bowling()));
+        assertEquals(3, count("innings_batting", INNINGS_ID));
+        // the first line under the name is the one kept, and keeping it again writes nothing
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT runs_scored FROM innings_batting " +
+                "WHERE innings_id = ? AND batsman_name = 'Virat Kohli'", Integer.class, INNINGS_ID));
+        assertEquals(0, repo.syncRows(INNINGS_ID, batting, bowling()));
+    }
+
+    @Test
+    void trimmedInningsLosesItsRows() {
+        Scorecard scorecard = new Scorecard();
+        ScorecardStore store = new ScorecardStore(scorecardRepo(scorecard), matchRepo(), repo);
+        store.replaceInnings(1, List.of(innings(), innings()));
+        int first = scorecard.getInningsList().get(0).getInningsId();
+        int second = scorecard.getInningsList().get(1).getInningsId();
+        assertEquals(3, count("innings_batting", second));
+
+        // the second innings is gone from the card, e.g. it was scraped before the first one ended
+        store.replaceInnings(1, List.of(innings()));
+
+        assertEquals(1, scorecard.getInningsList().size());
+        assertEquals(3, count("innings_batting", first));
+        assertEquals(0, count("innings_batting", second));
+        assertEquals(0, count("innings_bowling", second));
+    }
+
+    private int count(String table, int inningsId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE innings_id = ?",
+                Integer.class, inningsId);
+    }
+
+    private static Innings innings() {
+        Innings innings = new Innings();
+        innings.setTeamName("India");
+        innings.setBattingDetails(batting());
+        innings.setBowlingDetails(bowling());
+        return innings;
+    }
+
+    private static List<BatsmanPerformance> batting() {
+        return new ArrayList<>(List.of(
+                new BatsmanPerformance(0, "Rohit Sharma", 1, 41, 30, 5, 2, 136, "c Smith b Starc"),
+                new BatsmanPerformance(0, "Shubman Gill", 2, 22, 25, 3, 0, 88, "batting"),
+                new BatsmanPerformance(0, "Virat Kohli", 3, 10, 7, 1, 0, 142, "batting")));
+    }
+
+    private static List<BowlerPerformance> bowling() {
+        return new ArrayList<>(List.of(
+                new BowlerPerformance(0, "Mitchell Starc", 1, "6", 30, 1, 5.0),
+                new BowlerPerformance(0, "Pat Cummins", 2, "4.2", 43, 0, 9.9)));
+    }
+
+    // holds the one scorecard and, like saveAndFlush, gives new innings an id
+    private static ScorecardRepo scorecardRepo(Scorecard scorecard) {
+        int[] nextId = {1};
+        return (ScorecardRepo) Proxy.newProxyInstance(ScorecardRepo.class.getClassLoader(),
+                new Class<?>[]{ScorecardRepo.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByMatch" -> Optional.of(scorecard);
+                    case "saveAndFlush" -> {
+                        scorecard.getInningsList().stream()
+                                .filter(innings -> innings.getInningsId() == 0)
+                                .forEach(innings -> innings.setInningsId(nextId[0]++));
+                        yield scorecard;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static MatchRepo matchRepo() {
+        return (MatchRepo) Proxy.newProxyInstance(MatchRepo.class.getClassLoader(), new Class<?>[]{MatchRepo.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getReferenceById")) {
+                        return new Match();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchLinkKeyCheckTest {
+
+    @Test
+    void passesWithTheUniqueKey() throws SQLException {
+        SingleConnectionDataSource dataSource = database("with-key");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cric_matches (match_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "match_link VARCHAR(255), CONSTRAINT uk_cric_matches_match_link UNIQUE (match_link))");
+
+        assertDoesNotThrow(() -> new MatchLinkKeyCheck(jdbcTemplate).run(null));
+        dataSource.destroy();
+    }
+
+    @Test
+    void stopsStartupWithoutIt() throws SQLException {
+        SingleConnectionDataSource dataSource = database("without-key");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // what ddl-auto leaves behind when duplicate links kept it from adding the key
+        jdbcTemplate.execute("CREATE TABLE cric_matches (match_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "match_link VARCHAR(255))");
+        jdbcTemplate.execute("CREATE INDEX idx_match_link ON cric_matches (match_link)");
+        jdbcTemplate.update("INSERT INTO cric_matches (match_link) VALUES ('/a'), ('/a')");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new MatchLinkKeyCheck(jdbcTemplate).run(null));
+        assertTrue(e.getMessage().contains("db/dedupe_match_link.sql"), e.getMessage());
+        dataSource.destroy();
+    }
+
+    private static SingleConnectionDataSource database(String name) throws SQLException {
+        return new SingleConnectionDataSource(DriverManager.getConnection(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE"), true);
+    }
+}
@@ -0,0 +1,160 @@
+package org.pranay.api.cricscorebackend.repositeries;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.dto.MatchPage;
+import org.pranay.api.cricscorebackend.dto.MatchSummary;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.services.impl.MatchServiceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Walks every page of MatchServiceImpl.getMatches over cric_matches in H2 (MySQL mode), where most rows share
+// their date with others so the cursor has to break ties on match_id
+class MatchPageRepoTest {
+
+    private static final String[] FORMATS = {"ODI", "T20", "TEST"};
+    private static final int ROWS = 41;
+    private static final int PAGE_SIZE = 4;
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static MatchServiceImpl service;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:match-pages;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE");
+        dataSource = new SingleConnectionDataSource(connection, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cric_matches (" +
+                "match_id INT AUTO_INCREMENT PRIMARY KEY, team_heading VARCHAR(255), " +
+                "match_number_venue VARCHAR(255), batting_team VARCHAR(255), batting_team_score VARCHAR(255), " +
+                "bowling_team VARCHAR(255), bowling_team_score VARCHAR(255), live_text VARCHAR(255), " +
+                "text_complete VARCHAR(255), match_link VARCHAR(255), status TINYINT, match_type VARCHAR(255), " +
+                "date TIMESTAMP, toss_winner VARCHAR(255), toss_decision VARCHAR(255), match_format VARCHAR(255), " +
+                "CONSTRAINT uk_cric_matches_match_link UNIQUE (match_link))");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_date_id ON cric_matches (date, match_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_status_date_id ON cric_matches (status, date, match_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_cric_matches_format_date_id ON cric_matches (match_format, date, match_id)");
+
+        // five dates for 41 rows, inserted out of date order so match_id does not follow the date
+        long start = 1_700_000_000_000L;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{"A" + i + " vs B" + i, "/live-cricket-scores/" + i + "/a-vs-b",
+                    i % 4 == 0 ? matchStatus.LIVE.ordinal() : matchStatus.COMPLETED.ordinal(),
+                    FORMATS[i % FORMATS.length], new Timestamp(start + (i * 7 % 5) * 3_600_000L)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cric_matches (team_heading, match_link, status, match_format, date) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+
+        service = new MatchServiceImpl(null, null, null, null);
+        ReflectionTestUtils.setField(service, "matchPageRepo", new MatchPageRepo(jdbcTemplate));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void pagesCoverEveryMatchNewestFirst() {
+        assertPagesMatch(null, null);
+    }
+
+    @Test
+    void pagesCoverEveryMatchOfAStatus() {
+        assertPagesMatch(matchStatus.LIVE, null);
+        assertPagesMatch(matchStatus.COMPLETED, null);
+    }
+
+    @Test
+    void pagesCoverEveryMatchOfAFormat() {
+        // the format is matched case-insensitively
+        assertPagesMatch(null, "odi");
+        assertPagesMatch(null, "T20");
+    }
+
+    @Test
+    void pagesCoverEveryMatchOfAStatusAndFormat() {
+        assertPagesMatch(matchStatus.COMPLETED, "TEST");
+        assertPagesMatch(matchStatus.LIVE, "ODI");
+    }
+
+    @Test
+    void liveUpdateBetweenPagesDoesNotMoveRows() {
+        List<Integer> before = expected(null, null).stream().map(MatchSummary::matchId).toList();
+        MatchPage first = service.getMatches(null, null, null, PAGE_SIZE);
+
+        // a scrape cycle rewrites a match further down the list, stamped with the time of the scrape
+        MatchSummary deep = expected(null, null).get(ROWS - 3);
+        Match update = deep.toMatch();
+        update.setBattingTeamScore("245-6 (42.3 Ovs)");
+        update.setTextComplete("");
+        update.setDate(new Date());
+        new MatchUpsertRepo(jdbcTemplate).upsertAll(List.of(update));
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cric_matches", Integer.class));
+
+        List<Integer> walked = new ArrayList<>(first.matches().stream().map(MatchSummary::matchId).toList());
+        String cursor = first.nextCursor();
+        while (cursor != null) {
+            MatchPage page = service.getMatches(null, null, cursor, PAGE_SIZE);
+            page.matches().forEach(match -> walked.add(match.matchId()));
+            cursor = page.nextCursor();
+        }
+        assertEquals(before, walked);
+        assertEquals("245-6 (42.3 Ovs)", jdbcTemplate.queryForObject(
+                "SELECT batting_team_score FROM cric_matches WHERE match_id = ?", String.class, deep.matchId()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        MatchPage page = service.getMatches(null, "NONE", null, PAGE_SIZE);
+        assertTrue(page.matches().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    private static void assertPagesMatch(matchStatus status, String format) {
+        List<MatchSummary> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            MatchPage page = service.getMatches(status, format, cursor, PAGE_SIZE);
+            assertFalse(page.matches().isEmpty(), "empty page before the end");
+            assertTrue(page.matches().size() <= PAGE_SIZE);
+            walked.addAll(page.matches());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<Integer> expected = expected(status, format).stream().map(MatchSummary::matchId).toList();
+        assertEquals(expected, walked.stream().map(MatchSummary::matchId).toList());
+    }
+
+    // every stored row, filtered and sorted in Java
+    private static List<MatchSummary> expected(matchStatus status, String format) {
+        return jdbcTemplate.query("SELECT match_id, match_link, status, match_format, date FROM cric_matches",
+                        (rs, rowNum) -> new MatchSummary(rs.getInt("match_id"), null, null, null, null, null, null,
+                                null, rs.getString("match_link"), matchStatus.values()[rs.getInt("status")],
+                                rs.getString("match_format"), rs.getTimestamp("date")))
+                .stream()
+                .filter(match -> status == null || match.status() == status)
+                .filter(match -> format == null || match.matchFormat().equalsIgnoreCase(format))
+                .sorted(Comparator.comparing(MatchSummary::date).reversed()
+                        .thenComparing(Comparator.comparingInt(MatchSummary::matchId).reversed()))
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.config.CacheConfig;
+import org.pranay.api.cricscorebackend.controllers.ChartController;
+import org.pranay.api.cricscorebackend.dto.ChartDataDTO;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore.MatchHistory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ChartServiceTest {
+
+    private ChartService chartService;
+
+    @BeforeEach
+    void setUp() {
+        chartService = new ChartService(new CacheConfig().cacheManager(1 << 20, 5),
+                new ScoreHistoryStore(new SimpleMeterRegistry(), 60, 60, 100, 1 << 20));
+    }
+
+    @Test
+    void rendersOncePerScoreVersion() {
+        chartService.updateMatchScore(match("245-6 (42.3 Ovs)"));
+        ChartService.RenderedChart first = chartService.getRunsProgressionChart("7");
+        ChartService.RenderedChart again = chartService.getRunsProgressionChart("7");
+        assertSame(first.png(), again.png(), "second request should be served from the cache");
+        assertEquals(first.etag(), again.etag());
+
+        // a scrape with the same score keeps the version
+        chartService.updateMatchScore(match("245-6 (42.3 Ovs)"));
+        assertSame(first.png(), chartService.getRunsProgressionChart("7").png());
+
+        chartService.updateMatchScore(match("251-6 (43.1 Ovs)"));
+        ChartService.RenderedChart updated = chartService.getRunsProgressionChart("7");
+        assertNotSame(first.png(), updated.png());
+        assertNotEquals(first.etag(), updated.etag());
+    }
+
+    @Test
+    void repeatViewerGetsNotModified() throws Exception {
+        ChartController controller = new ChartController();
+        ReflectionTestUtils.setField(controller, "chartService", chartService);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        chartService.updateMatchScore(match("245-6 (42.3 Ovs)"));
+
+        MvcResult first = mvc.perform(get("/match/charts/runs-progression/7"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(first.getResponse().getContentAsByteArray().length > 0);
+
+        mvc.perform(get("/match/charts/runs-progression/7").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        chartService.updateMatchScore(match("251-6 (43.1 Ovs)"));
+        mvc.perform(get("/match/charts/runs-progression/7").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void chartDataServesSeriesWithConditionalGet() throws Exception {
+        ChartController controller = new ChartController();
+        ReflectionTestUtils.setField(controller, "chartService", chartService);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        chartService.updateMatchScore(match("8-0 (1 Ovs)"));
+        chartService.updateMatchScore(match("20-1 (2 Ovs)"));
+
+        MvcResult first = mvc.perform(get("/match/charts/7/data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.innings[0].team").value("IND"))
+                .andExpect(jsonPath("$.innings[0].worm[1]").value(20))
+                .andExpect(jsonPath("$.innings[0].manhattan[1]").value(12))
+                .andExpect(jsonPath("$.innings[0].runRate[1]").value(10.0))
+                .andExpect(jsonPath("$.svg").doesNotExist())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        mvc.perform(get("/match/charts/7/data").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // the SVG variant is a separate representation
+        MvcResult withSvg = mvc.perform(get("/match/charts/7/data?svg=true").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.svg").value(startsWith("<svg")))
+                .andReturn();
+        assertNotEquals(etag, withSvg.getResponse().getHeader("ETag"));
+
+        chartService.updateMatchScore(match("27-1 (3 Ovs)"));
+        mvc.perform(get("/match/charts/7/data").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.innings[0].overs.length()").value(3));
+    }
+
+    @Test
+    void chartDataIsBuiltFromOneHistoryRead() {
+        // a scrape lands right after the service has read the match's history
+        boolean[] scrapePending = {false};
+        ChartService[] service = new ChartService[1];
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60, 60, 100, 1 << 20) {
+            @Override
+            public Optional<MatchHistory> get(String matchId) {
+                Optional<MatchHistory> history = super.get(matchId);
+                if (scrapePending[0]) {
+                    scrapePending[0] = false;
+                    service[0].updateMatchScore(match("20-1 (2 Ovs)"));
+                }
+                return history;
+            }
+        };
+        service[0] = new ChartService(new CacheConfig().cacheManager(1 << 20, 5), store);
+        service[0].updateMatchScore(match("8-0 (1 Ovs)"));
+
+        scrapePending[0] = true;
+        ChartDataDTO data = service[0].getChartData("7", false);
+        assertEquals(1, data.getVersion());
+        assertEquals(8, data.getInnings().get(0).getRuns());
+        assertArrayEquals(new int[]{8}, data.getInnings().get(0).getWorm());
+
+        assertEquals(2, service[0].getChartData("7", false).getVersion());
+    }
+
+        private static Match match(String battingScore) {
+        Match match = new Match();
+        match.setMatchId(7);
+        match.setBattingTeam("IND");
+        match.setBattingTeamScore(battingScore);
+        match.setBowlingTeam("AUS");
+        match.setBowlingTeamScore("");
+        return match;
+    }
+}
@@ -0,0 +1,125 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore.InningsScore;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InningsTimeSeriesTest {
+
+    @Test
+    void keepsLatestScorePerOver() {
+        InningsTimeSeries series = new InningsTimeSeries(0);
+        assertTrue(series.record(3, 4, 0, 30_000));   // 0.3
+        assertTrue(series.record(6, 9, 0, 60_000));   // 1.0 ends over 1
+        assertTrue(series.record(8, 10, 1, 90_000));  // 1.2
+        assertTrue(series.record(12, 18, 1, 150_000)); // 2.0
+        assertFalse(series.record(12, 18, 1, 180_000), "unchanged score is not a new sample");
+        assertFalse(series.record(5, 7, 0, 200_000), "late reading for an earlier over is ignored");
+
+        InningsTimeSeries.Samples samples = series.snapshot();
+        assertArrayEquals(new int[]{1, 2}, samples.overs());
+        assertArrayEquals(new int[]{9, 18}, samples.worm());
+        assertArrayEquals(new int[]{9, 9}, samples.manhattan());
+        assertArrayEquals(new int[]{0, 1}, samples.wickets());
+        assertArrayEquals(new double[]{9.0, 9.0}, samples.runRate(), 1e-9);
+        assertArrayEquals(new long[]{60_000, 150_000}, samples.timestamps());
+    }
+
+    @Test
+    void ringBufferDropsOldestOvers() {
+        InningsTimeSeries series = new InningsTimeSeries(4, 0);
+        for (int over = 1; over <= 6; over++) {
+            series.record(over * 6, over * 5, 0, over * 1000L);
+        }
+        InningsTimeSeries.Samples samples = series.snapshot();
+        assertArrayEquals(new int[]{3, 4, 5, 6}, samples.overs());
+        assertArrayEquals(new int[]{15, 5, 5, 5}, samples.manhattan());
+    }
+
+    @Test
+    void fullOdiMatchStaysWithinAFewKilobytes() {
+        AtomicClock clock = new AtomicClock();
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 100,
+                Long.MAX_VALUE, clock::now);
+        // one scrape every 30 seconds, a ball roughly every 40 seconds, over both innings
+        for (int innings = 1; innings <= 2; innings++) {
+            String team = innings == 1 ? "IND" : "AUS";
+            for (int ball = 1; ball <= 300; ball++) {
+                clock.millis += 30_000;
+                store.update("1", "ODI", List.of(new InningsScore(1, ball * 5 / 6, ball / 40, ball, false, false,
+                        team, TeamRegistry.UNKNOWN, clock.millis)), false);
+            }
+        }
+
+        ScoreHistoryStore.MatchHistory history = store.get("1").orElseThrow();
+        InningsTimeSeries.Samples first = history.seriesFor(history.innings().get(0)).orElseThrow().snapshot();
+        assertEquals(50, first.size());
+        assertEquals(250, first.worm()[49]);
+        assertTrue(store.estimatedBytes() < 8 * 1024, "match took " + store.estimatedBytes() + " bytes");
+    }
+
+    @Test
+    void markShowsTheSeriesAsItWas() {
+        InningsTimeSeries series = new InningsTimeSeries(4, 0);
+        series.record(6, 9, 0, 60_000);   // 1.0
+        series.record(8, 12, 0, 80_000);  // 1.2
+        InningsTimeSeries.Mark mark = series.mark();
+
+        series.record(10, 15, 1, 100_000); // same over, written in place
+        series.record(18, 30, 1, 180_000); // 3.0, a new over
+        InningsTimeSeries.Samples then = series.snapshot(mark);
+        assertArrayEquals(new int[]{1, 2}, then.overs());
+        assertArrayEquals(new int[]{9, 12}, then.worm());
+        assertArrayEquals(new int[]{0, 0}, then.wickets());
+        assertArrayEquals(new long[]{60_000, 80_000}, then.timestamps());
+        assertArrayEquals(new int[]{9, 15, 30}, series.snapshot().worm());
+
+        // two more overs fill the ring and overwrite over 1: it is gone from the marked view as well
+        series.record(24, 36, 1, 240_000);
+        series.record(30, 44, 1, 300_000);
+        then = series.snapshot(mark);
+        assertArrayEquals(new int[]{2}, then.overs());
+        assertArrayEquals(new int[]{12}, then.worm());
+    }
+
+    @Test
+    void capacityFollowsTheFormat() {
+        assertEquals(24, InningsTimeSeries.capacityFor("T20"));
+        assertEquals(56, InningsTimeSeries.capacityFor("odi"));
+        assertEquals(InningsTimeSeries.DEFAULT_CAPACITY, InningsTimeSeries.capacityFor("TEST"));
+        assertEquals(InningsTimeSeries.DEFAULT_CAPACITY, InningsTimeSeries.capacityFor(null));
+    }
+
+    @Test
+    void longTestInningsKeepsEveryOver() {
+        AtomicClock clock = new AtomicClock();
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 100,
+                Long.MAX_VALUE, clock::now);
+        // 330 overs, longer than the old fixed 256-over buffer
+        for (int over = 1; over <= 330; over++) {
+            clock.millis += 240_000;
+            store.update("1", "TEST", List.of(new InningsScore(1, over * 3, over / 40, over * 6, false, false,
+                    "ENG", TeamRegistry.UNKNOWN, clock.millis)), false);
+        }
+
+        ScoreHistoryStore.MatchHistory history = store.get("1").orElseThrow();
+        InningsTimeSeries series = history.seriesFor(history.innings().get(0)).orElseThrow();
+        InningsTimeSeries.Samples samples = series.snapshot();
+        assertEquals(330, samples.size());
+        assertEquals(1, samples.overs()[0]);
+        assertEquals(990, samples.worm()[329]);
+    }
+
+    private static final class AtomicClock {
+        volatile long millis;
+
+        long now() {
+            return millis;
+        }
+    }
+}
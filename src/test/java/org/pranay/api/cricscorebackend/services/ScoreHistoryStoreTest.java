@@ -0,0 +1,224 @@
+package org.pranay.api.cricscorebackend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.helper.TeamRegistry;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore.InningsScore;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore.MatchHistory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistoryStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void concurrentWritersAndReadersSeeConsistentSnapshots() throws Exception {
+        int matches = 8;
+        int writers = 4;
+        int readers = 8;
+        int ballsPerWriter = 5_000;
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 1_000,
+                Long.MAX_VALUE, clock::get);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        AtomicLong reads = new AtomicLong();
+
+        List<Future<?>> writerTasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            writerTasks.add(pool.submit(() -> {
+                await(start);
+                for (int run = 1; run <= ballsPerWriter; run++) {
+                    String matchId = String.valueOf(run % matches);
+                    // each writer owns one team's innings in every match; its runs only go up
+                    store.update(matchId, "ODI", List.of(score("T" + writer, 1, run)), false);
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            pool.submit(() -> {
+                await(start);
+                Map<String, Long> lastVersion = new HashMap<>();
+                Map<String, Integer> lastRuns = new HashMap<>();
+                while (writing.get()) {
+                    for (int m = 0; m < matches; m++) {
+                        String matchId = String.valueOf(m);
+                        Optional<MatchHistory> snapshot = store.get(matchId);
+                        if (snapshot.isEmpty()) {
+                            continue;
+                        }
+                        MatchHistory history = snapshot.get();
+                        reads.incrementAndGet();
+                        if (history.version() < lastVersion.getOrDefault(matchId, 0L)) {
+                            violations.add("version went backwards for match " + matchId);
+                        }
+                        lastVersion.put(matchId, history.version());
+                        if (history.innings().size() > writers) {
+                            violations.add("duplicate innings in match " + matchId + ": " + history.innings());
+                        }
+                        for (InningsScore innings : history.innings()) {
+                            String key = matchId + "/" + innings.teamName();
+                            if (innings.runs() < lastRuns.getOrDefault(key, 0)) {
+                                violations.add("runs went backwards for " + key);
+                            }
+                            lastRuns.put(key, innings.runs());
+                        }
+                        try {
+                            history.innings().add(score("X", 9, 0));
+                            violations.add("snapshot is mutable");
+                        } catch (UnsupportedOperationException expected) {
+                            // snapshots are immutable
+                        }
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        for (Future<?> task : writerTasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(violations.isEmpty(), () -> violations.stream().limit(5).toList().toString());
+        assertTrue(reads.get() > 0);
+        for (int m = 0; m < matches; m++) {
+            MatchHistory history = store.get(String.valueOf(m)).orElseThrow();
+            assertEquals(writers, history.innings().size());
+            for (InningsScore innings : history.innings()) {
+                // the last run each writer sent for this match
+                assertEquals(lastRunFor(m, matches, ballsPerWriter), innings.runs());
+            }
+        }
+        long expectedBytes = 0;
+        for (int m = 0; m < matches; m++) {
+            expectedBytes += store.get(String.valueOf(m)).orElseThrow().estimatedBytes();
+        }
+        assertEquals(expectedBytes, store.estimatedBytes(), "size accounting drifted under contention");
+    }
+
+    @Test
+    void unchangedScoresKeepTheVersion() {
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 10,
+                Long.MAX_VALUE, clock::get);
+        assertTrue(store.update("1", "ODI", List.of(score("IND", 1, 120)), false).changed());
+        assertFalse(store.update("1", "ODI", List.of(score("IND", 1, 120)), false).changed());
+        assertEquals(1, store.version("1"));
+        assertTrue(store.update("1", "ODI", List.of(score("IND", 1, 124)), false).changed());
+        assertEquals(2, store.version("1"));
+    }
+
+    @Test
+    void completedMatchesExpireAfterRetentionAndIdleOnesAfterIdleWindow() {
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 1_000, 5_000, 10,
+                Long.MAX_VALUE, clock::get);
+        store.update("done", "ODI", List.of(score("IND", 1, 300)), true);
+        store.update("live", "ODI", List.of(score("AUS", 1, 80)), false);
+
+        clock.addAndGet(2_000);
+        store.evictExpired();
+        assertTrue(store.get("done").isEmpty());
+        assertTrue(store.get("live").isPresent());
+
+        clock.addAndGet(4_000);
+        store.evictExpired();
+        assertTrue(store.get("live").isEmpty());
+        assertEquals(0, store.estimatedBytes());
+    }
+
+    @Test
+    void capEvictsCompletedMatchesBeforeLiveOnes() {
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 3,
+                Long.MAX_VALUE, clock::get);
+        store.update("live-1", "ODI", List.of(score("IND", 1, 10)), false);
+        clock.incrementAndGet();
+        store.update("done", "ODI", List.of(score("ENG", 1, 10)), true);
+        clock.incrementAndGet();
+        store.update("live-2", "ODI", List.of(score("AUS", 1, 10)), false);
+        clock.incrementAndGet();
+        store.update("live-3", "ODI", List.of(score("NZ", 1, 10)), false);
+
+        assertEquals(3, store.size());
+        assertTrue(store.get("done").isEmpty());
+
+        clock.incrementAndGet();
+        store.update("live-4", "ODI", List.of(score("SA", 1, 10)), false);
+        assertEquals(3, store.size());
+        assertTrue(store.get("live-1").isEmpty(), "least recently updated live match goes next");
+    }
+
+    @Test
+    void byteCapBoundsMemory() {
+        long cap = 4_096;
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 10_000,
+                cap, clock::get);
+        for (int m = 0; m < 1_000; m++) {
+            clock.incrementAndGet();
+            store.update("match-" + m, "ODI", List.of(score("IND", 1, m), score("AUS", 1, m)), false);
+            assertTrue(store.estimatedBytes() <= cap, "over the byte cap after " + m + " matches");
+        }
+        assertTrue(store.get("match-999").isPresent());
+        assertTrue(store.get("match-0").isEmpty());
+    }
+
+    @Test
+    void renamedTeamKeepsItsSeries() {
+        ScoreHistoryStore store = new ScoreHistoryStore(new SimpleMeterRegistry(), 60_000, 60_000, 10,
+                Long.MAX_VALUE, clock::get);
+        int teamId = 7;
+        store.update("1", "T20", List.of(new InningsScore(1, 40, 1, 36, false, false, "India", teamId, 0)), false);
+        // the page switched to the short name between scrapes; the registry maps both to the same team
+        store.update("1", "T20", List.of(new InningsScore(1, 52, 1, 42, false, false, "IND", teamId, 0)), false);
+
+        MatchHistory history = store.get("1").orElseThrow();
+        assertEquals(1, history.innings().size());
+        assertEquals(1, history.timeSeries().size());
+        assertArrayEquals(new int[]{40, 52},
+                history.seriesFor(history.innings().get(0)).orElseThrow().snapshot().worm());
+
+        // unknown teams still fall back to the name
+        store.update("1", "T20", List.of(new InningsScore(1, 10, 0, 12, false, false, "Team A",
+                TeamRegistry.UNKNOWN, 0), new InningsScore(1, 12, 0, 12, false, false, "Team B",
+                TeamRegistry.UNKNOWN, 0)), false);
+        assertEquals(3, store.get("1").orElseThrow().timeSeries().size());
+    }
+
+    private static int lastRunFor(int match, int matches, int balls) {
+        int last = balls;
+        while (last % matches != match) {
+            last--;
+        }
+        return last;
+    }
+
+    private static InningsScore score(String team, int innings, int runs) {
+        return new InningsScore(innings, runs, 0, -1, false, false, team, TeamRegistry.UNKNOWN, 0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
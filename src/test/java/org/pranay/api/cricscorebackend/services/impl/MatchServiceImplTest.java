@@ -0,0 +1,202 @@
+package org.pranay.api.cricscorebackend.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.client.PageFetcher;
+import org.pranay.api.cricscorebackend.config.CacheConfig;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.pranay.api.cricscorebackend.pipeline.LiveScorePipeline;
+import org.pranay.api.cricscorebackend.repositeries.MatchUpsertRepo;
+import org.pranay.api.cricscorebackend.services.ChartService;
+import org.pranay.api.cricscorebackend.services.LiveScoreSnapshot;
+import org.pranay.api.cricscorebackend.services.MatchChangeDetector;
+import org.pranay.api.cricscorebackend.services.PredictionIntegrationService;
+import org.pranay.api.cricscorebackend.services.ScoreHistoryStore;
+import org.pranay.api.cricscorebackend.services.ScorecardService;
+import org.pranay.api.cricscorebackend.websocket.LiveScoreFeed;
+import org.pranay.api.cricscorebackend.websocket.WebSocketHandler;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The persist / broadcast / predict hand-off of one scrape cycle, with the database and Flask stubbed out
+class MatchServiceImplTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LiveScorePipeline pipeline = new LiveScorePipeline(registry, 1, 2, 1, 2, 1, 10, 1, 10, 1, 10);
+    private final List<List<String>> written = new CopyOnWriteArrayList<>();
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+    private final AtomicInteger scrapes = new AtomicInteger();
+    private volatile boolean failUpsert;
+    private MatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // stores the links it is given and hands out ids in insertion order
+        MatchUpsertRepo upsertRepo = new MatchUpsertRepo(new JdbcTemplate()) {
+            private final Map<String, Integer> ids = new HashMap<>();
+
+            @Override
+            public void upsertAll(List<Match> matches) {
+                if (failUpsert) {
+                    failUpsert = false;
+                    throw new IllegalStateException("database down");
+                }
+                matches.forEach(match -> ids.putIfAbsent(match.getMatchLink(), ids.size() + 1));
+                written.add(matches.stream().map(Match::getMatchLink).toList());
+            }
+
+            @Override
+            public Map<String, Integer> findIdsByMatchLinks(Collection<String> matchLinks) {
+                Map<String, Integer> found = new HashMap<>();
+                matchLinks.forEach(link -> found.put(link, ids.get(link)));
+                return found;
+            }
+        };
+        ChartService chartService = new ChartService(new CacheConfig().cacheManager(1 << 20, 5),
+                new ScoreHistoryStore(registry, 60, 60, 100, 1 << 20)) {
+            @Override
+            public void updateMatchScore(Match match) {
+            }
+        };
+        PredictionIntegrationService predictions = new PredictionIntegrationService(null, null, 1, 1, 100) {
+            @Override
+            public void processPredictionForMatch(Match match) {
+            }
+        };
+
+        WebSocketHandler webSocketHandler = new WebSocketHandler(new LiveScoreFeed(new ObjectMapper()), registry,
+                1, 8, 1 << 16, 1000, 3) {
+            @Override
+            public void sendMessageToAll(TextMessage message) {
+                frames.add(message.getPayload());
+            }
+        };
+
+        service = new MatchServiceImpl(webSocketHandler, null, null, null);
+        ReflectionTestUtils.setField(service, "matchUpsertRepo", upsertRepo);
+        ReflectionTestUtils.setField(service, "chartService", chartService);
+        ReflectionTestUtils.setField(service, "predictionIntegrationService", predictions);
+        ReflectionTestUtils.setField(service, "liveScorePipeline", pipeline);
+        ReflectionTestUtils.setField(service, "matchChangeDetector", new MatchChangeDetector(registry));
+        // the live page never changes, so a refresh only counts the scrape
+        ReflectionTestUtils.setField(service, "pageFetcher", new PageFetcher(new RestTemplate(), registry) {
+            @Override
+            public Optional<String> fetchIfChanged(String url) {
+                scrapes.incrementAndGet();
+                return Optional.empty();
+            }
+        });
+        ReflectionTestUtils.setField(service, "scorecardService", new ScorecardService() {
+            @Override
+            public CompletableFuture<Integer> ingestScorecards(List<Match> matches) {
+                return CompletableFuture.completedFuture(0);
+            }
+
+            @Override
+            public void retainMatches(Set<String> matchLinks) {
+            }
+
+            @Override
+            public CompletableFuture<Integer> retryPending() {
+                return CompletableFuture.completedFuture(0);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void failedWriteIsRetriedNextCycle() {
+        failUpsert = true;
+        service.dispatchMatches(List.of(match("/live-cricket-scores/1/a-vs-b", "120-3 (20 Ovs)")));
+        await(() -> registry.get("pipeline.stage.failed").tag("stage", "persist").counter().count() == 1);
+        assertTrue(written.isEmpty());
+
+        // same score as the failed cycle: only the forgotten fingerprint gets it written
+        service.dispatchMatches(List.of(match("/live-cricket-scores/1/a-vs-b", "120-3 (20 Ovs)")));
+        await(() -> written.size() == 1);
+        assertEquals(List.of("/live-cricket-scores/1/a-vs-b"), written.get(0));
+    }
+
+    @Test
+    void newMatchIsPublishedWithItsPersistedId() {
+        Match match = match("/live-cricket-scores/1/a-vs-b", "120-3 (20 Ovs)");
+        service.dispatchMatches(List.of(match));
+        await(() -> frames.size() == 1);
+        assertTrue(frames.get(0).contains("\"matchId\":1"), frames.get(0));
+        // the scraped match itself is left as parsed for the stages that read it
+        assertEquals(0, match.getMatchId());
+
+        // once known, the next change goes out without waiting for the write
+        failUpsert = true;
+        Match next = match("/live-cricket-scores/1/a-vs-b", "124-3 (20.2 Ovs)");
+        next.setMatchId(1);
+        service.dispatchMatches(List.of(next));
+        await(() -> frames.size() == 2);
+        assertTrue(frames.get(1).contains("124-3 (20.2 Ovs)"), frames.get(1));
+        assertFalse(frames.get(1).contains("matchId"), frames.get(1));
+    }
+
+    @Test
+    void forcedRefreshesInARowScrapeOnce() {
+        ReflectionTestUtils.setField(service, "refreshMinIntervalMs", 60_000L);
+
+        LiveScoreSnapshot first = service.refreshLiveSnapshot();
+        LiveScoreSnapshot second = service.refreshLiveSnapshot();
+
+        assertEquals(1, scrapes.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void refreshScrapesAgainOnceTheMinimumIntervalHasPassed() {
+        ReflectionTestUtils.setField(service, "refreshMinIntervalMs", 0L);
+
+        service.refreshLiveSnapshot();
+        service.refreshLiveSnapshot();
+
+        assertEquals(2, scrapes.get());
+    }
+
+    private static Match match(String link, String score) {
+        Match match = new Match();
+        match.setMatchLink(link);
+        match.setTeamHeading("India vs Australia,");
+        match.setBattingTeam("India");
+        match.setBattingTeamScore(score);
+        match.setLiveText("India opt to bat");
+        match.setTextComplete("");
+        match.setStatus(matchStatus.LIVE);
+        return match;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.onSpinWait();
+        }
+    }
+}
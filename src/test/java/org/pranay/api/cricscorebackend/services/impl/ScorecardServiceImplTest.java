@@ -0,0 +1,272 @@
+package org.pranay.api.cricscorebackend.services.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.client.PageFetcher;
+import org.pranay.api.cricscorebackend.entities.Innings;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.repositeries.ScorecardStore;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScorecardServiceImplTest {
+
+    private static final int CONCURRENCY = 2;
+    private static final int MAX_PENDING_ATTEMPTS = 3;
+
+    private HttpServer server;
+    private ScorecardServiceImpl service;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<Integer, List<Innings>> stored = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean failStore;
+    // bumped to make the scorecard page change, e.g. when it catches up with the live score
+    private volatile int revision;
+    private ScorecardStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] page = fixture();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // every scorecard is the saved page, served slowly with an ETag per match
+        server.createContext("/live-cricket-scorecard/", exchange -> {
+            requests.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                String etag = "\"" + exchange.getRequestURI().getPath().hashCode() + "-" + revision + "\"";
+                exchange.getResponseHeaders().add("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+                byte[] body = (new String(page, StandardCharsets.UTF_8) + "<!-- " + revision + " -->")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+
+        store = new ScorecardStore(null, null, null) {
+            @Override
+            public int replaceInnings(int matchId, List<Innings> innings) {
+                if (failStore) {
+                    throw new IllegalStateException("database down");
+                }
+                stored.put(matchId, innings);
+                return innings.get(0).getBattingDetails().size() + innings.get(0).getBowlingDetails().size();
+            }
+        };
+        service = service(CONCURRENCY, 50);
+    }
+
+    private ScorecardServiceImpl service(int concurrency, int queueCapacity) {
+        return new ScorecardServiceImpl(new PageFetcher(new RestTemplate(), registry), store, registry,
+                baseUrl(), concurrency, queueCapacity,
+                MAX_PENDING_ATTEMPTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void ingestsEveryMatchWithBoundedConcurrency() throws Exception {
+        List<Match> matches = IntStream.rangeClosed(1, 6)
+                .mapToObj(id -> match(id, "/live-cricket-scores/" + id + "/a-vs-b"))
+                .toList();
+
+        assertEquals(6, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+
+        assertEquals(6, stored.size());
+        assertEquals(245, stored.get(3).get(0).getRunsScored());
+        assertEquals(8, stored.get(3).get(0).getBattingDetails().size());
+        assertTrue(maxInFlight.get() <= CONCURRENCY, "max in flight " + maxInFlight.get());
+        assertEquals(6, registry.get("scorecard.ingested").tag("result", "stored").counter().count());
+        assertEquals(13, registry.get("scorecard.rows.written").summary().max());
+    }
+
+    @Test
+    void unchangedScorecardIsNotStoredAgain() throws Exception {
+        List<Match> matches = List.of(match(1, "/live-cricket-scores/1/a-vs-b"));
+        assertEquals(1, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        stored.clear();
+
+        assertEquals(0, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        assertTrue(stored.isEmpty());
+        assertEquals(1, registry.get("scorecard.ingested").tag("result", "unchanged").counter().count());
+    }
+
+    @Test
+    void scorecardOfAMatchThatLeftTheLivePageIsForgotten() throws Exception {
+        List<Match> matches = List.of(match(1, "/live-cricket-scores/1/a-vs-b"));
+        assertEquals(1, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+
+        // still live: the page version is kept and the next fetch is conditional
+        service.retainMatches(Set.of("/live-cricket-scores/1/a-vs-b", "/live-cricket-scores/2/c-vs-d"));
+        assertEquals(0, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+
+        // gone from the live page: the version is dropped, so the page is fetched in full and stored again
+        service.retainMatches(Set.of("/live-cricket-scores/2/c-vs-d"));
+        stored.clear();
+        assertEquals(1, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void skipsUnpersistedMatchesAndRetriesFailedStores() throws Exception {
+        // no id yet, or not a live-scores link: nothing is fetched
+        assertEquals(0, service.ingestScorecards(List.of(match(0, "/live-cricket-scores/1/a-vs-b"),
+                match(2, "/cricket-match/live-scores"))).get(10, TimeUnit.SECONDS));
+        assertEquals(0, requests.get());
+
+        failStore = true;
+        List<Match> matches = List.of(match(1, "/live-cricket-scores/1/a-vs-b"));
+        assertEquals(0, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("scorecard.ingested").tag("result", "failed").counter().count());
+
+        // the failed page was forgotten, so the same scorecard is parsed and stored once the store is back
+        failStore = false;
+        assertEquals(1, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void failedStoreIsRetriedWithoutANewLiveChange() throws Exception {
+        failStore = true;
+        assertEquals(0, service.ingestScorecards(List.of(match(1, "/live-cricket-scores/1/a-vs-b")))
+                .get(10, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("scorecard.pending").gauge().value());
+
+        failStore = false;
+        assertEquals(1, service.retryPending().get(10, TimeUnit.SECONDS));
+        assertEquals(1, stored.size());
+
+        // stored: nothing is left to retry
+        int fetched = requests.get();
+        assertEquals(0, service.retryPending().get(10, TimeUnit.SECONDS));
+        assertEquals(fetched, requests.get());
+        assertEquals(0.0, registry.get("scorecard.pending").gauge().value());
+    }
+
+    @Test
+    void scorecardLaggingTheLiveScoreIsRetriedUntilItChanges() throws Exception {
+        List<Match> matches = List.of(match(1, "/live-cricket-scores/1/a-vs-b"));
+        assertEquals(1, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        stored.clear();
+
+        // the live score moved but the scorecard page has not been updated yet
+        assertEquals(0, service.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+        assertEquals(0, service.retryPending().get(10, TimeUnit.SECONDS));
+
+        revision++;
+        assertEquals(1, service.retryPending().get(10, TimeUnit.SECONDS));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void pendingScorecardIsDroppedAfterMaxAttempts() throws Exception {
+        failStore = true;
+        service.ingestScorecards(List.of(match(1, "/live-cricket-scores/1/a-vs-b"))).get(10, TimeUnit.SECONDS);
+        for (int i = 1; i < MAX_PENDING_ATTEMPTS; i++) {
+            service.retryPending().get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(MAX_PENDING_ATTEMPTS, requests.get());
+
+        // waits for the next live change instead
+        assertEquals(0, service.retryPending().get(10, TimeUnit.SECONDS));
+        assertEquals(MAX_PENDING_ATTEMPTS, requests.get());
+    }
+
+    @Test
+    void pendingScorecardOfAMatchThatLeftTheLivePageIsDropped() throws Exception {
+        failStore = true;
+        service.ingestScorecards(List.of(match(1, "/live-cricket-scores/1/a-vs-b"))).get(10, TimeUnit.SECONDS);
+
+        service.retainMatches(Set.of("/live-cricket-scores/2/c-vs-d"));
+        failStore = false;
+        assertEquals(0, service.retryPending().get(10, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectedScorecardIsNotTrackedAndIsRetried() throws Exception {
+        // one worker and one queue slot: the third match is rejected
+        ScorecardServiceImpl small = service(1, 1);
+        try {
+            List<Match> matches = IntStream.rangeClosed(1, 3)
+                    .mapToObj(id -> match(id, "/live-cricket-scores/" + id + "/a-vs-b"))
+                    .toList();
+            assertEquals(2, small.ingestScorecards(matches).get(10, TimeUnit.SECONDS));
+            Set<String> tracked = (Set<String>) ReflectionTestUtils.getField(small, "tracked");
+            assertEquals(2, tracked.size());
+            assertFalse(tracked.contains(ScorecardServiceImpl.scorecardUrl(baseUrl(), "/live-cricket-scores/3/a-vs-b")));
+
+            assertEquals(1, small.retryPending().get(10, TimeUnit.SECONDS));
+            assertEquals(3, stored.size());
+            assertEquals(3, tracked.size());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void buildsScorecardUrlFromMatchLink() {
+        assertEquals("https://www.cricbuzz.com/live-cricket-scorecard/101234/ind-vs-aus-2nd-odi",
+                ScorecardServiceImpl.scorecardUrl("https://www.cricbuzz.com",
+                        "/live-cricket-scores/101234/ind-vs-aus-2nd-odi"));
+        assertNull(ScorecardServiceImpl.scorecardUrl("https://www.cricbuzz.com", null));
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static Match match(int id, String link) {
+        Match match = new Match();
+        match.setMatchId(id);
+        match.setMatchLink(link);
+        return match;
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = ScorecardServiceImplTest.class.getResourceAsStream("/cricbuzz/scorecard.html")) {
+            assertNotNull(in, "missing fixture scorecard.html");
+            return in.readAllBytes();
+        }
+    }
+}
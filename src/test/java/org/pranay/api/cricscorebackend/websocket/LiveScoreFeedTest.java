@@ -0,0 +1,183 @@
+package org.pranay.api.cricscorebackend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pranay.api.cricscorebackend.entities.Match;
+import org.pranay.api.cricscorebackend.entities.matchStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The frames a connected session sees as WebSocketHandler publishes matches through LiveScoreFeed
+class LiveScoreFeedTest {
+
+    private static final String FIRST = "/live-cricket-scores/1/ind-vs-aus";
+    private static final String SECOND = "/live-cricket-scores/2/eng-vs-nz";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LiveScoreFeed feed = new LiveScoreFeed(objectMapper);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private WebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new WebSocketHandler(feed, new SimpleMeterRegistry(), 1, 64, 1 << 16, 1000, 3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        handler.shutdown();
+    }
+
+    @Test
+    void connectingSessionGetsSnapshotOfEveryMatch() throws IOException {
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)"));
+        handler.publishMatch(match(FIRST, "124-3 (20.4 Ovs)"));
+        handler.publishMatch(match(SECOND, "45-0 (6 Ovs)"));
+
+        connect();
+        await(() -> received.size() == 1);
+
+        JsonNode snapshot = frame(0);
+        assertEquals(LiveScoreMessage.SNAPSHOT, snapshot.get("type").asText());
+        assertEquals(2, snapshot.get("matches").size());
+        JsonNode first = stateOf(snapshot, FIRST);
+        assertEquals(2, first.get("seq").asLong());
+        assertEquals("124-3 (20.4 Ovs)", first.get("fields").get("battingTeamScore").asText());
+        assertEquals(1, stateOf(snapshot, SECOND).get("seq").asLong());
+    }
+
+    @Test
+    void deltasCarryOnlyChangedFieldsWithIncreasingSeq() throws IOException {
+        connect();
+        await(() -> received.size() == 1);
+
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)"));
+        handler.publishMatch(match(SECOND, "45-0 (6 Ovs)"));
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)")); // unchanged: no frame
+        handler.publishMatch(match(FIRST, "124-3 (20.4 Ovs)"));
+        await(() -> received.size() == 4);
+
+        JsonNode added = frame(1);
+        assertEquals(LiveScoreMessage.DELTA, added.get("type").asText());
+        assertEquals(FIRST, added.get("matchKey").asText());
+        assertEquals(1, added.get("seq").asLong());
+        assertEquals("India vs Australia", added.get("fields").get("teamHeading").asText());
+
+        assertEquals(SECOND, frame(2).get("matchKey").asText());
+        assertEquals(1, frame(2).get("seq").asLong());
+
+        JsonNode changed = frame(3);
+        assertEquals(FIRST, changed.get("matchKey").asText());
+        assertEquals(2, changed.get("seq").asLong());
+        List<String> fields = new ArrayList<>();
+        changed.get("fields").fieldNames().forEachRemaining(fields::add);
+        assertEquals(List.of("battingTeamScore"), fields);
+        assertEquals("124-3 (20.4 Ovs)", changed.get("fields").get("battingTeamScore").asText());
+    }
+
+    @Test
+    void matchThatLeavesThePageIsRemoved() throws IOException {
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)"));
+        handler.publishMatch(match(FIRST, "124-3 (20.4 Ovs)"));
+        handler.publishMatch(match(SECOND, "45-0 (6 Ovs)"));
+        connect();
+        await(() -> received.size() == 1);
+
+        handler.retainMatches(Set.of(SECOND));
+        handler.retainMatches(Set.of(SECOND)); // already gone: nothing more is sent
+        handler.publishMatch(match(SECOND, "49-0 (6.3 Ovs)"));
+        await(() -> received.size() == 3);
+
+        JsonNode removed = frame(1);
+        assertEquals(LiveScoreMessage.REMOVE, removed.get("type").asText());
+        assertEquals(FIRST, removed.get("matchKey").asText());
+        assertEquals(3, removed.get("seq").asLong());
+        assertEquals(LiveScoreMessage.DELTA, frame(2).get("type").asText());
+
+        JsonNode snapshot = objectMapper.readTree(feed.snapshot().getPayload());
+        assertEquals(1, snapshot.get("matches").size());
+        assertEquals(SECOND, snapshot.get("matches").get(0).get("matchKey").asText());
+    }
+
+    @Test
+    void snapshotIsEncodedOncePerVersion() {
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)"));
+        TextMessage snapshot = feed.snapshot();
+        assertSame(snapshot, feed.snapshot());
+
+        // an unchanged match leaves the version alone
+        handler.publishMatch(match(FIRST, "120-3 (20 Ovs)"));
+        assertSame(snapshot, feed.snapshot());
+
+        handler.publishMatch(match(FIRST, "124-3 (20.4 Ovs)"));
+        TextMessage updated = feed.snapshot();
+        assertNotSame(snapshot, updated);
+        assertTrue(updated.getPayload().contains("124-3 (20.4 Ovs)"), updated.getPayload());
+
+        handler.retainMatches(Set.of());
+        assertNotSame(updated, feed.snapshot());
+    }
+
+    private void connect() {
+        handler.afterConnectionEstablished(session("s1"));
+    }
+
+    private JsonNode frame(int index) throws IOException {
+        return objectMapper.readTree(received.get(index));
+    }
+
+    private static JsonNode stateOf(JsonNode snapshot, String matchKey) {
+        for (JsonNode state : snapshot.get("matches")) {
+            if (state.get("matchKey").asText().equals(matchKey)) {
+                return state;
+            }
+        }
+        return fail("no state for " + matchKey);
+    }
+
+    // records every frame sent to it
+    private WebSocketSession session(String id) {
+        return (WebSocketSession) Proxy.newProxyInstance(WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> id;
+                    case "isOpen" -> true;
+                    case "sendMessage" -> {
+                        received.add(((TextMessage) args[0]).getPayload());
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Match match(String link, String score) {
+        Match match = new Match();
+        match.setMatchLink(link);
+        match.setTeamHeading(link.equals(FIRST) ? "India vs Australia" : "England vs New Zealand");
+        match.setBattingTeam(link.equals(FIRST) ? "India" : "England");
+        match.setBattingTeamScore(score);
+        match.setStatus(matchStatus.LIVE);
+        return match;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.onSpinWait();
+        }
+    }
+}
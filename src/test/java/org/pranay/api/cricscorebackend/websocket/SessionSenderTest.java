@@ -0,0 +1,145 @@
+package org.pranay.api.cricscorebackend.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// SessionSender against a session whose sends the test lets through one at a time
+class SessionSenderTest {
+
+    private static final String SNAPSHOT = "snapshot";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger conflations = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+    private final AtomicReference<CloseStatus> closedWith = new AtomicReference<>();
+    // one permit per send the session may complete; null lets every send through
+    private Semaphore sends;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullQueueConflatesWithoutBlockingThePublisher() {
+        sends = new Semaphore(0);
+        SessionSender sender = sender(2, 10);
+        sender.requestSnapshot();
+        await(() -> sends.hasQueuedThreads()); // the snapshot send is stuck on the client
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            IntStream.rangeClosed(1, 50).forEach(i -> sender.enqueue(new TextMessage("delta " + i)));
+        });
+        assertEquals(1, conflations.get());
+        assertEquals(1, sender.getQueueDepth()); // everything pending folded into one snapshot
+
+        sends.release(2);
+        await(() -> received.size() == 2);
+        assertEquals(List.of(SNAPSHOT, SNAPSHOT), received);
+        await(() -> sender.getQueueDepth() == 0);
+        assertNull(closedWith.get());
+    }
+
+    @Test
+    void sessionThatNeverCatchesUpIsClosedAfterMaxConflations() {
+        sends = new Semaphore(0);
+        SessionSender sender = sender(1, 2);
+        sender.requestSnapshot();
+        await(() -> sends.hasQueuedThreads());
+
+        for (int round = 1; round <= 2; round++) {
+            sender.enqueue(new TextMessage("delta a" + round));
+            sender.enqueue(new TextMessage("delta b" + round)); // overflows: conflated
+            assertEquals(round, conflations.get());
+            // the send in progress finishes and the drain moves on to the conflated snapshot, still stuck
+            sends.release();
+            await(() -> sender.getQueueDepth() == 0 && sends.hasQueuedThreads());
+        }
+        assertNull(closedWith.get());
+
+        sender.enqueue(new TextMessage("delta a3"));
+        sender.enqueue(new TextMessage("delta b3"));
+        assertEquals(CloseStatus.SESSION_NOT_RELIABLE, closedWith.get());
+        assertEquals(1, evictions.get());
+        assertEquals(2, conflations.get());
+
+        // closed: later frames are dropped
+        sender.enqueue(new TextMessage("delta c"));
+        assertEquals(0, sender.getQueueDepth());
+    }
+
+    @Test
+    void healthySessionReceivesFramesInOrder() {
+        SessionSender sender = sender(8, 3);
+        sender.requestSnapshot();
+        // deltas published before the snapshot is built are covered by it, so start once it is out
+        await(() -> received.size() == 1);
+        for (int i = 1; i <= 200; i++) {
+            sender.enqueue(new TextMessage("delta " + i));
+            if (i % 4 == 0) {
+                // a client keeping up: the queue never fills
+                int sent = i;
+                await(() -> received.size() == sent + 1);
+            }
+        }
+
+        assertEquals(201, received.size());
+        assertEquals(SNAPSHOT, received.get(0));
+        for (int i = 1; i <= 200; i++) {
+            assertEquals("delta " + i, received.get(i));
+        }
+        assertEquals(0, conflations.get());
+        assertNull(closedWith.get());
+    }
+
+    private SessionSender sender(int queueCapacity, int maxConflations) {
+        return new SessionSender(session(), executor, () -> new TextMessage(SNAPSHOT), queueCapacity, 1 << 16,
+                1000, maxConflations, s -> conflations.incrementAndGet(), s -> evictions.incrementAndGet());
+    }
+
+    private WebSocketSession session() {
+        return (WebSocketSession) Proxy.newProxyInstance(WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> "s1";
+                    case "isOpen" -> closedWith.get() == null;
+                    case "sendMessage" -> {
+                        if (sends != null) {
+                            sends.acquire();
+                        }
+                        received.add(((TextMessage) args[0]).getPayload());
+                        yield null;
+                    }
+                    case "close" -> {
+                        closedWith.set((CloseStatus) args[0]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.onSpinWait();
+        }
+    }
+}